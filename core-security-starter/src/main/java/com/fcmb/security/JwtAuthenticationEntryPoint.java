@@ -1,7 +1,8 @@
 package com.fcmb.security;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fcmb.security.dto.ErrorResponse;
+import com.fcmb.security.jfr.AccessRejectionEvent;
+import com.fcmb.security.json.JsonWriters;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -17,7 +18,7 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
 
-    private final ObjectMapper objectMapper;
+    private final JsonWriters jsonWriters;
 
     @Override
     public void commence(HttpServletRequest request,
@@ -25,6 +26,8 @@ public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
                         AuthenticationException authException) throws IOException {
         
         log.error("Unauthorized access attempt to: {} - {}", request.getRequestURI(), authException.getMessage());
+        AccessRejectionEvent.emit(HttpStatus.UNAUTHORIZED.value(), AccessRejectionEvent.ENTRY_POINT,
+                authException, request.getMethod());
 
         ErrorResponse errorResponse = ErrorResponse.of(
                 HttpStatus.UNAUTHORIZED.value(),
@@ -35,6 +38,8 @@ public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
 
         response.setStatus(HttpStatus.UNAUTHORIZED.value());
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-        response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+        byte[] body = jsonWriters.errorResponse().writeValueAsBytes(errorResponse);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
     }
 }
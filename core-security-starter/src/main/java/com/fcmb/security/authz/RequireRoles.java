@@ -0,0 +1,23 @@
+package com.fcmb.security.authz;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Plain role check resolved when the bean is created, as a cheaper alternative to
+// @PreAuthorize("hasRole(...)"). Roles may be given with or without the ROLE_ prefix.
+// On a type it applies to every method that does not carry its own annotation.
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Documented
+public @interface RequireRoles {
+
+    String[] value();
+
+    // false: any one of the roles is enough (hasAnyRole); true: all of them are required
+    boolean all() default false;
+}
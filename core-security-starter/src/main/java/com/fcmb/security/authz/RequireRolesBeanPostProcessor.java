@@ -0,0 +1,30 @@
+package com.fcmb.security.authz;
+
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+
+// Proxies beans with @RequireRoles on the type or a method; other beans are returned untouched.
+// Beans that are already proxies (e.g. @Transactional) get the check added as their first advisor.
+public class RequireRolesBeanPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    private final RequireRolesInterceptor interceptor = new RequireRolesInterceptor();
+
+    public RequireRolesBeanPostProcessor() {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(RequireRoles.class, true))
+                .union(AnnotationMatchingPointcut.forMethodAnnotation(RequireRoles.class));
+        this.advisor = new DefaultPointcutAdvisor(pointcut, interceptor);
+        setBeforeExistingAdvisors(true);
+        setProxyTargetClass(true);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (isEligible(bean, beanName)) {
+            interceptor.register(AopUtils.getTargetClass(bean));
+        }
+        return super.postProcessAfterInitialization(bean, beanName);
+    }
+}
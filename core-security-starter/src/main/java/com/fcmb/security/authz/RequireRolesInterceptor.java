@@ -0,0 +1,87 @@
+package com.fcmb.security.authz;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Throws the same exceptions as method security, so denials reach the same 403 (and 401) handling
+final class RequireRolesInterceptor implements MethodInterceptor {
+
+    private static final Requirement NONE = new Requirement(0, false, "");
+
+    private final RoleBits roleBits = new RoleBits();
+    private final Map<Method, Requirement> requirements = new ConcurrentHashMap<>();
+
+    // Called for each advised bean as it is created, so calls only pay for a map lookup and a mask test
+    void register(Class<?> targetClass) {
+        RequireRoles typeLevel = AnnotatedElementUtils.findMergedAnnotation(targetClass, RequireRoles.class);
+        for (Method method : ReflectionUtils.getUniqueDeclaredMethods(targetClass, ReflectionUtils.USER_DECLARED_METHODS)) {
+            requirements.put(method, resolve(method, typeLevel));
+        }
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Requirement requirement = requirements.get(invocation.getMethod());
+        if (requirement == null) {
+            // Interface methods of JDK proxies; resolved once against the implementation
+            requirement = requirements.computeIfAbsent(invocation.getMethod(), method -> {
+                Class<?> targetClass = AopUtils.getTargetClass(invocation.getThis());
+                Method specific = AopUtils.getMostSpecificMethod(method, targetClass);
+                return resolve(specific, AnnotatedElementUtils.findMergedAnnotation(targetClass, RequireRoles.class));
+            });
+        }
+        if (requirement != NONE) {
+            check(requirement);
+        }
+        return invocation.proceed();
+    }
+
+    private void check(Requirement requirement) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new AuthenticationCredentialsNotFoundException(
+                    "An Authentication object was not found in the SecurityContext");
+        }
+        if (!(authentication instanceof AnonymousAuthenticationToken) && authentication.isAuthenticated()) {
+            long granted = roleBits.maskOf(authentication.getAuthorities()) & requirement.mask();
+            if (requirement.all() ? granted == requirement.mask() : granted != 0) {
+                return;
+            }
+        }
+        throw new AccessDeniedException("Access Denied: requires " + requirement.description());
+    }
+
+    private Requirement resolve(Method method, RequireRoles typeLevel) {
+        RequireRoles annotation = AnnotatedElementUtils.findMergedAnnotation(method, RequireRoles.class);
+        if (annotation == null) {
+            annotation = typeLevel;
+        }
+        if (annotation == null) {
+            return NONE;
+        }
+        if (annotation.value().length == 0) {
+            throw new IllegalStateException("@RequireRoles on " + method + " names no roles");
+        }
+        long mask = 0;
+        for (String role : annotation.value()) {
+            mask |= roleBits.register(role);
+        }
+        String description = (annotation.all() ? "all of " : "any of ") + String.join(", ", annotation.value());
+        return new Requirement(mask, annotation.all(), description);
+    }
+
+    private record Requirement(long mask, boolean all, String description) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.fcmb.security.authz;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Assigns one bit to every role named in a @RequireRoles annotation. Authorities no annotation
+// mentions get no bit, since they cannot satisfy any requirement.
+final class RoleBits {
+
+    static final String ROLE_PREFIX = "ROLE_";
+    private static final int MAX_ROLES = Long.SIZE;
+
+    private final Map<String, Long> bits = new ConcurrentHashMap<>();
+
+    synchronized long register(String role) {
+        String authority = role.startsWith(ROLE_PREFIX) ? role : ROLE_PREFIX + role;
+        Long bit = bits.get(authority);
+        if (bit == null) {
+            if (bits.size() == MAX_ROLES) {
+                throw new IllegalStateException("@RequireRoles supports at most " + MAX_ROLES + " distinct roles");
+            }
+            bit = 1L << bits.size();
+            bits.put(authority, bit);
+        }
+        return bit;
+    }
+
+    long maskOf(Collection<? extends GrantedAuthority> authorities) {
+        long mask = 0;
+        for (GrantedAuthority authority : authorities) {
+            Long bit = bits.get(authority.getAuthority());
+            if (bit != null) {
+                mask |= bit;
+            }
+        }
+        return mask;
+    }
+}
@@ -1,17 +1,60 @@
 package com.fcmb.security.config;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fcmb.security.JwtAuthenticationEntryPoint;
+import com.fcmb.security.authz.RequireRolesBeanPostProcessor;
+import com.fcmb.security.credential.CredentialVerificationCache;
+import com.fcmb.security.directory.MappedUserDirectory;
+import com.fcmb.security.directory.UserDirectoryRefresher;
+import com.fcmb.security.directory.UserDirectorySource;
 import com.fcmb.security.filter.JwtAuthenticationFilter;
+import com.fcmb.security.filter.ReferenceTokenAuthenticationFilter;
 import com.fcmb.security.handler.GlobalExceptionHandler;
 import com.fcmb.security.handler.JwtAccessDeniedHandler;
+import com.fcmb.security.introspection.TokenIntrospectionController;
+import com.fcmb.security.introspection.TokenIntrospectionService;
+import com.fcmb.security.json.JsonWriters;
 import com.fcmb.security.jwt.JwtUtil;
+import com.fcmb.security.jwt.core.JwtIssuerDefinition;
+import com.fcmb.security.limit.AimdLimit;
+import com.fcmb.security.limit.ConcurrencyLimitFilter;
+import com.fcmb.security.limit.ConcurrencyLimiter;
+import com.fcmb.security.limit.ConcurrencyLimiterMetrics;
+import com.fcmb.security.observation.AuthObservations;
+import com.fcmb.security.observation.ObservedPasswordEncoder;
+import com.fcmb.security.observation.ServerTimingFilter;
+import com.fcmb.security.outbound.OutboundIdentity;
+import com.fcmb.security.outbound.OutboundTokenManager;
+import com.fcmb.security.outbound.OutboundTokenMetrics;
+import com.fcmb.security.quota.QuotaFilter;
+import com.fcmb.security.quota.QuotaRegistry;
+import com.fcmb.security.quota.QuotaTier;
+import com.fcmb.security.replica.ReadYourWrites;
+import com.fcmb.security.replica.ReplicaRoutingPostProcessor;
+import com.fcmb.security.session.MappedSessionStore;
+import com.fcmb.security.session.ReferenceTokenService;
+import com.fcmb.security.warmup.WarmupMetrics;
+import com.fcmb.security.warmup.WarmupRunner;
+import com.fcmb.security.web.JwtPrincipalArgumentResolver;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.servlet.Filter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -21,8 +64,22 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.DefaultSecurityFilterChain;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.context.request.async.WebAsyncManagerIntegrationFilter;
+import org.springframework.security.web.savedrequest.NullRequestCache;
+import org.springframework.security.web.savedrequest.RequestCache;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 
 @Slf4j
@@ -30,6 +87,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @EnableWebSecurity
 @EnableMethodSecurity(securedEnabled = true, jsr250Enabled = true)
 @EnableConfigurationProperties(SecurityProperties.class)
+@ImportRuntimeHints(CoreSecurityRuntimeHints.class)
 @RequiredArgsConstructor
 public class CoreSecurityAutoConfiguration {
 
@@ -37,41 +95,213 @@ public class CoreSecurityAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public PasswordEncoder passwordEncoder() {
+    public AuthObservations authObservations(ObjectProvider<ObservationRegistry> observationRegistry) {
+        SecurityProperties.Observation observation = securityProperties.getObservation();
+        if (!observation.isEnabled() && !observation.isServerTiming()) {
+            return AuthObservations.DISABLED;
+        }
+        log.info("Initializing authentication phase observations (tracing: {}, Server-Timing: {})",
+                observation.isEnabled(), observation.isServerTiming());
+        ObservationRegistry registry = observation.isEnabled()
+                ? observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP)
+                : ObservationRegistry.NOOP;
+        return new AuthObservations(registry, observation.isServerTiming());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public PasswordEncoder passwordEncoder(AuthObservations authObservations) {
         log.info("Initializing BCrypt password encoder");
-        return new BCryptPasswordEncoder();
+        // Always observed so the JFR login event can time the password check; next to BCrypt the
+        // wrapper's cost does not register
+        return new ObservedPasswordEncoder(new BCryptPasswordEncoder(), authObservations);
+    }
+
+    // Static so the post-processor is registered before the beans it inspects are created
+    @Bean
+    @ConditionalOnMissingBean
+    public static RequireRolesBeanPostProcessor requireRolesBeanPostProcessor() {
+        log.info("Initializing @RequireRoles post-processor");
+        return new RequireRolesBeanPostProcessor();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "security.jwt.observation", name = "server-timing", havingValue = "true")
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter() {
+        log.info("Initializing Server-Timing filter");
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(new ServerTimingFilter());
+        // Ahead of the security filter chain, so its phases are collected
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public JwtUtil jwtUtil() {
+    public JwtUtil jwtUtil(AuthObservations authObservations) {
         log.info("Initializing JWT utility with issuer: {}", securityProperties.getIssuer());
-        return new JwtUtil(
-                securityProperties.getSecretKey(),
-                securityProperties.getExpirationMs(),
-                securityProperties.getIssuer()
-        );
+
+        JwtIssuerDefinition primary = JwtIssuerDefinition.builder()
+                .issuer(securityProperties.getIssuer())
+                .secretKey(securityProperties.getSecretKey())
+                .expirationMs(securityProperties.getExpirationMs())
+                .build();
+
+        List<JwtIssuerDefinition> trustedIssuers = securityProperties.getIssuers().stream()
+                .map(issuer -> JwtIssuerDefinition.builder()
+                        .issuer(issuer.getIssuer())
+                        .secretKey(issuer.getSecretKey())
+                        .clockSkewSeconds(issuer.getClockSkewSeconds())
+                        .maxTokenAgeMs(issuer.getMaxTokenAgeMs())
+                        .userIdClaim(issuer.getUserIdClaim())
+                        .usernameClaim(issuer.getUsernameClaim())
+                        .rolesClaim(issuer.getRolesClaim())
+                        .build())
+                .toList();
+        if (!trustedIssuers.isEmpty()) {
+            log.info("Trusting {} additional JWT issuer(s)", trustedIssuers.size());
+        }
+
+        return new JwtUtil(primary, trustedIssuers, authObservations);
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public JwtAuthenticationFilter jwtAuthenticationFilter(JwtUtil jwtUtil) {
+    public JwtAuthenticationFilter jwtAuthenticationFilter(JwtUtil jwtUtil, AuthObservations authObservations) {
         log.info("Initializing JWT authentication filter");
-        return new JwtAuthenticationFilter(jwtUtil, securityProperties);
+        return new JwtAuthenticationFilter(jwtUtil, securityProperties, authObservations);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "security.jwt.reference-token", name = "enabled", havingValue = "true")
+    public ReferenceTokenService referenceTokenService() throws IOException {
+        SecurityProperties.ReferenceToken referenceToken = securityProperties.getReferenceToken();
+        log.info("Initializing reference token store at {} with capacity {}",
+                referenceToken.getStorePath(), referenceToken.getCapacity());
+
+        MappedSessionStore store = MappedSessionStore.open(Path.of(referenceToken.getStorePath()),
+                referenceToken.getCapacity(), referenceToken.getWheelSize(), referenceToken.getTickMs());
+        long ttlMs = referenceToken.getTtlMs() > 0 ? referenceToken.getTtlMs() : securityProperties.getExpirationMs();
+        return new ReferenceTokenService(store, ttlMs, referenceToken.getTickMs());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "security.jwt.user-directory", name = "enabled", havingValue = "true")
+    public MappedUserDirectory mappedUserDirectory() {
+        log.info("Initializing user directory at {}", securityProperties.getUserDirectory().getPath());
+        return MappedUserDirectory.open(Path.of(securityProperties.getUserDirectory().getPath()));
     }
 
+    // The application supplies the UserDirectorySource that streams its accounts
     @Bean
     @ConditionalOnMissingBean
-    public JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint(ObjectMapper objectMapper) {
+    @ConditionalOnProperty(prefix = "security.jwt.user-directory", name = "enabled", havingValue = "true")
+    public UserDirectoryRefresher userDirectoryRefresher(MappedUserDirectory mappedUserDirectory,
+                                                         UserDirectorySource userDirectorySource) {
+        log.info("Initializing user directory rebuilds every {}", securityProperties.getUserDirectory().getRebuildInterval());
+        return new UserDirectoryRefresher(mappedUserDirectory, userDirectorySource,
+                securityProperties.getUserDirectory().getRebuildInterval());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(LazyConnectionDataSourceProxy.class)
+    @ConditionalOnProperty(prefix = "security.jwt.read-replica", name = "enabled", havingValue = "true")
+    static class ReadReplicaConfiguration {
+
+        // Static and bound straight from the environment, so it is in place before the DataSource is created
+        @Bean
+        @ConditionalOnMissingBean
+        public static ReplicaRoutingPostProcessor replicaRoutingPostProcessor(Environment environment) {
+            SecurityProperties.ReadReplica readReplica = Binder.get(environment)
+                    .bind("security.jwt.read-replica", SecurityProperties.ReadReplica.class)
+                    .orElseGet(SecurityProperties.ReadReplica::new);
+            log.info("Initializing read replica routing ({} replica(s))", readReplica.getReplicas().size());
+            return new ReplicaRoutingPostProcessor(readReplica);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public ReadYourWrites readYourWrites(SecurityProperties securityProperties) {
+            log.info("Initializing read-your-writes tracking ({} window)",
+                    securityProperties.getReadReplica().getReadYourWritesWindow());
+            return new ReadYourWrites(securityProperties.getReadReplica().getReadYourWritesWindow());
+        }
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "security.jwt.reference-token", name = "enabled", havingValue = "true")
+    public ReferenceTokenAuthenticationFilter referenceTokenAuthenticationFilter(ReferenceTokenService referenceTokenService) {
+        log.info("Initializing reference token authentication filter");
+        return new ReferenceTokenAuthenticationFilter(referenceTokenService, securityProperties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "security.jwt.credential-cache", name = "enabled", havingValue = "true")
+    public CredentialVerificationCache credentialVerificationCache() {
+        SecurityProperties.CredentialCache credentialCache = securityProperties.getCredentialCache();
+        log.info("Initializing credential verification cache with TTL {} ms and {} entries",
+                credentialCache.getTtlMs(), credentialCache.getMaxEntries());
+
+        byte[] secret;
+        if (credentialCache.getSecret() != null && !credentialCache.getSecret().isEmpty()) {
+            secret = credentialCache.getSecret().getBytes(StandardCharsets.UTF_8);
+        } else {
+            // Entries do not outlive the process, so neither needs the key
+            secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+        }
+        return new CredentialVerificationCache(secret, credentialCache.getTtlMs(), credentialCache.getMaxEntries());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "security.jwt.introspection", name = "enabled", havingValue = "true")
+    public TokenIntrospectionService tokenIntrospectionService(JwtUtil jwtUtil) {
+        SecurityProperties.Introspection introspection = securityProperties.getIntrospection();
+        log.info("Initializing token introspection with parallelism {}", introspection.getParallelism());
+        return new TokenIntrospectionService(jwtUtil, introspection.getParallelism(), introspection.getMaxBatchSize());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "security.jwt.introspection", name = "enabled", havingValue = "true")
+    public TokenIntrospectionController tokenIntrospectionController(TokenIntrospectionService tokenIntrospectionService) {
+        log.info("Initializing token introspection endpoint at {}", TokenIntrospectionController.PATH);
+        return new TokenIntrospectionController(tokenIntrospectionService);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JwtPrincipalArgumentResolver jwtPrincipalArgumentResolver() {
+        log.info("Initializing JWT principal argument resolver");
+        return new JwtPrincipalArgumentResolver();
+    }
+
+    @Bean
+    public WebMvcConfigurer coreSecurityWebMvcConfigurer(JwtPrincipalArgumentResolver jwtPrincipalArgumentResolver) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+                resolvers.add(jwtPrincipalArgumentResolver);
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint(JsonWriters jsonWriters) {
         log.info("Initializing JWT authentication entry point");
-        return new JwtAuthenticationEntryPoint(objectMapper);
+        return new JwtAuthenticationEntryPoint(jsonWriters);
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public JwtAccessDeniedHandler jwtAccessDeniedHandler(ObjectMapper objectMapper) {
+    public JwtAccessDeniedHandler jwtAccessDeniedHandler(JsonWriters jsonWriters) {
         log.info("Initializing JWT access denied handler");
-        return new JwtAccessDeniedHandler(objectMapper);
+        return new JwtAccessDeniedHandler(jsonWriters);
     }
 
     @Bean
@@ -81,6 +311,111 @@ public class CoreSecurityAutoConfiguration {
         return new GlobalExceptionHandler();
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "security.jwt.warmup", name = "enabled", havingValue = "true")
+    public WarmupRunner warmupRunner(JwtUtil jwtUtil, PasswordEncoder passwordEncoder, JsonWriters jsonWriters,
+                                     ApplicationContext applicationContext) {
+        log.info("Initializing warm-up runner");
+        return new WarmupRunner(jwtUtil, passwordEncoder, jsonWriters, securityProperties, applicationContext);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    @ConditionalOnProperty(prefix = "security.jwt.warmup", name = "enabled", havingValue = "true")
+    static class WarmupMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public WarmupMetrics warmupMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+            return new WarmupMetrics(meterRegistry);
+        }
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "security.jwt.concurrency-limit", name = "enabled", havingValue = "true")
+    public ConcurrencyLimiter concurrencyLimiter() {
+        SecurityProperties.ConcurrencyLimit concurrencyLimit = securityProperties.getConcurrencyLimit();
+        log.info("Initializing ConcurrencyLimiter (initial limit {}, partitions {})",
+                concurrencyLimit.getInitialLimit(), concurrencyLimit.getPartitions());
+        AimdLimit limit = new AimdLimit(concurrencyLimit.getInitialLimit(), concurrencyLimit.getMinLimit(),
+                concurrencyLimit.getMaxLimit(), concurrencyLimit.getBackoffRatio(),
+                concurrencyLimit.getLatencyThresholdMs());
+        return new ConcurrencyLimiter(limit, concurrencyLimit.getPartitions());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "security.jwt.concurrency-limit", name = "enabled", havingValue = "true")
+    public ConcurrencyLimitFilter concurrencyLimitFilter(ConcurrencyLimiter concurrencyLimiter, JsonWriters jsonWriters) {
+        log.info("Initializing ConcurrencyLimitFilter");
+        SecurityProperties.ConcurrencyLimit concurrencyLimit = securityProperties.getConcurrencyLimit();
+        return new ConcurrencyLimitFilter(concurrencyLimiter, List.copyOf(concurrencyLimit.getPartitions().keySet()),
+                concurrencyLimit.getRetryAfterSeconds(), jsonWriters);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    @ConditionalOnProperty(prefix = "security.jwt.concurrency-limit", name = "enabled", havingValue = "true")
+    static class ConcurrencyLimiterMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public ConcurrencyLimiterMetrics concurrencyLimiterMetrics(ConcurrencyLimiter concurrencyLimiter) {
+            return new ConcurrencyLimiterMetrics(concurrencyLimiter);
+        }
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "security.jwt.quota", name = "enabled", havingValue = "true")
+    public QuotaRegistry quotaRegistry() {
+        SecurityProperties.Quota quota = securityProperties.getQuota();
+        log.info("Initializing QuotaRegistry (default {} per {}, tiers {})",
+                quota.getDefaultTier().getCapacity(), quota.getDefaultTier().getPeriod(), quota.getTiers().keySet());
+        Map<String, QuotaTier> tiers = new LinkedHashMap<>();
+        quota.getTiers().forEach((role, tier) ->
+                tiers.put(role, new QuotaTier(role, tier.getCapacity(), tier.getPeriod())));
+        QuotaTier defaultTier = new QuotaTier("default",
+                quota.getDefaultTier().getCapacity(), quota.getDefaultTier().getPeriod());
+        return new QuotaRegistry(quota.getStripes(), quota.getMaxKeys(), defaultTier, tiers);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "security.jwt.quota", name = "enabled", havingValue = "true")
+    public QuotaFilter quotaFilter(QuotaRegistry quotaRegistry, JsonWriters jsonWriters) {
+        log.info("Initializing QuotaFilter");
+        return new QuotaFilter(quotaRegistry, jsonWriters);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "security.jwt.outbound", name = "enabled", havingValue = "true")
+    public OutboundTokenManager outboundTokenManager(JwtUtil jwtUtil) {
+        SecurityProperties.Outbound outbound = securityProperties.getOutbound();
+        SecurityProperties.Outbound.Identity identity = outbound.getIdentity();
+        String username = identity.getUsername() != null ? identity.getUsername() : securityProperties.getIssuer();
+        log.info("Initializing outbound token manager for {} (renew after {} of the lifetime, {} entries)",
+                username, outbound.getRenewAfter(), outbound.getMaxEntries());
+        return new OutboundTokenManager(jwtUtil, new OutboundIdentity(identity.getUserId(), username, identity.getRoles()),
+                securityProperties.getHeaderName(), securityProperties.getTokenPrefix(),
+                securityProperties.getExpirationMs(), outbound.getRenewAfter(), outbound.getMaxEntries());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    @ConditionalOnProperty(prefix = "security.jwt.outbound", name = "enabled", havingValue = "true")
+    static class OutboundTokenMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public OutboundTokenMetrics outboundTokenMetrics(OutboundTokenManager outboundTokenManager) {
+            return new OutboundTokenMetrics(outboundTokenManager);
+        }
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration authConfig) throws Exception {
@@ -92,25 +427,74 @@ public class CoreSecurityAutoConfiguration {
     public SecurityFilterChain securityFilterChain(
             HttpSecurity http,
             JwtAuthenticationFilter jwtAuthenticationFilter,
+            ObjectProvider<ReferenceTokenAuthenticationFilter> referenceTokenAuthenticationFilter,
+            ObjectProvider<QuotaFilter> quotaFilter,
+            ObjectProvider<ConcurrencyLimitFilter> concurrencyLimitFilter,
             JwtAuthenticationEntryPoint authenticationEntryPoint,
             JwtAccessDeniedHandler accessDeniedHandler) throws Exception {
         
         log.info("Configuring security filter chain");
 
+        boolean minimal = securityProperties.getFilterChain().isMinimal();
+        if (minimal) {
+            disableStatefulFilters(http);
+        } else {
+            http.sessionManagement(session ->
+                    session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+        }
+
         http
                 .csrf(AbstractHttpConfigurer::disable)
-                .sessionManagement(session -> 
-                        session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/public/**", "/api/auth/**").permitAll()
-                        .anyRequest().authenticated()
-                )
+                .authorizeHttpRequests(auth -> {
+                    auth.requestMatchers("/api/public/**", "/api/auth/**").permitAll();
+                    // Liveness and readiness probes (status only unless health details are exposed)
+                    auth.requestMatchers("/actuator/health", "/actuator/health/**").permitAll();
+                    if (securityProperties.getIntrospection().isEnabled()) {
+                        auth.requestMatchers(TokenIntrospectionController.PATH)
+                                .hasAuthority(securityProperties.getIntrospection().getRequiredAuthority());
+                    }
+                    auth.anyRequest().authenticated();
+                })
                 .exceptionHandling(exception -> exception
                         .authenticationEntryPoint(authenticationEntryPoint)
                         .accessDeniedHandler(accessDeniedHandler)
                 )
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
-        return http.build();
+        referenceTokenAuthenticationFilter.ifAvailable(filter ->
+                http.addFilterBefore(filter, JwtAuthenticationFilter.class));
+        // After authentication, so both can use the caller's identity and roles. Quota goes first:
+        // a request over quota should not take a concurrency slot.
+        quotaFilter.ifAvailable(filter ->
+                http.addFilterAfter(filter, JwtAuthenticationFilter.class));
+        concurrencyLimitFilter.ifAvailable(filter ->
+                http.addFilterAfter(filter, JwtAuthenticationFilter.class));
+
+        DefaultSecurityFilterChain chain = http.build();
+        if (!minimal) {
+            return chain;
+        }
+        // HttpSecurity adds this one unconditionally; without async controllers it only costs an attribute lookup
+        List<Filter> filters = chain.getFilters().stream()
+                .filter(filter -> !(filter instanceof WebAsyncManagerIntegrationFilter))
+                .toList();
+        log.info("Using minimal security filter chain: {}",
+                filters.stream().map(filter -> filter.getClass().getSimpleName()).toList());
+        return new DefaultSecurityFilterChain(chain.getRequestMatcher(), filters);
+    }
+
+    // Every request carries its bearer token, so nothing is kept between requests: the authentication
+    // filters set the context and FilterChainProxy clears it once the request is done
+    private static void disableStatefulFilters(HttpSecurity http) throws Exception {
+        // ExceptionTranslationFilter would otherwise save rejected requests in a new HTTP session
+        http.setSharedObject(RequestCache.class, new NullRequestCache());
+        http
+                .sessionManagement(AbstractHttpConfigurer::disable)
+                .securityContext(AbstractHttpConfigurer::disable)
+                .requestCache(AbstractHttpConfigurer::disable)
+                .anonymous(AbstractHttpConfigurer::disable)
+                .logout(AbstractHttpConfigurer::disable)
+                .servletApi(AbstractHttpConfigurer::disable)
+                .headers(AbstractHttpConfigurer::disable);
     }
 }
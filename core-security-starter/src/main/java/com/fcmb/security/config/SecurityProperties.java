@@ -3,6 +3,12 @@ package com.fcmb.security.config;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Data
 @ConfigurationProperties(prefix = "security.jwt")
 public class SecurityProperties {
@@ -12,4 +18,164 @@ public class SecurityProperties {
     private String headerName;
     private String tokenPrefix;
     private boolean enableLogging;
+    private List<Issuer> issuers = new ArrayList<>();
+    private ReferenceToken referenceToken = new ReferenceToken();
+    private Introspection introspection = new Introspection();
+    private Json json = new Json();
+    private Warmup warmup = new Warmup();
+    private CredentialCache credentialCache = new CredentialCache();
+    private Observation observation = new Observation();
+    private ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+    private Quota quota = new Quota();
+    private UserDirectory userDirectory = new UserDirectory();
+    private ReadReplica readReplica = new ReadReplica();
+    private FilterChain filterChain = new FilterChain();
+    private Outbound outbound = new Outbound();
+
+    // Additional issuers whose tokens are accepted; tokens are always signed as the primary issuer above
+    @Data
+    public static class Issuer {
+        private String issuer;
+        private String secretKey;
+        private long clockSkewSeconds;
+        private long maxTokenAgeMs;
+        private String userIdClaim = "userId";
+        private String usernameClaim = "username";
+        private String rolesClaim = "roles";
+    }
+
+    // Opaque bearer handles resolved against an off-heap session store instead of self-contained JWTs
+    @Data
+    public static class ReferenceToken {
+        private boolean enabled;
+        private String storePath = "reference-tokens.dat";
+        private int capacity = 1 << 20;
+        private long ttlMs;
+        private long tickMs = 1000;
+        private int wheelSize = 512;
+    }
+
+    // Batch token checks for services that do not hold the signing keys
+    @Data
+    public static class Introspection {
+        private boolean enabled;
+        private String requiredAuthority = "ROLE_ADMIN";
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private int maxBatchSize = 1000;
+    }
+
+    @Data
+    public static class Json {
+        private boolean tuned;
+    }
+
+    // Synthetic traffic run before the application reports ready, so the first real requests hit compiled code
+    @Data
+    public static class Warmup {
+        private boolean enabled;
+        private int iterations = 2000;
+        private int passwordIterations = 8;
+        private Duration maxDuration = Duration.ofSeconds(30);
+        private String path = "/";
+    }
+
+    // Short-lived memory of successful password checks for accounts the application marks as machine accounts
+    @Data
+    public static class CredentialCache {
+        private boolean enabled;
+        private long ttlMs = 60_000;
+        private int maxEntries = 1000;
+        // HMAC key for the cached digests; a random per-process key is used when empty
+        private String secret;
+    }
+
+    // Micrometer observations around token and login phases, optionally echoed in a Server-Timing header
+    @Data
+    public static class Observation {
+        private boolean enabled;
+        private boolean serverTiming;
+    }
+
+    // Adaptive (AIMD) cap on in-flight requests, with reserved capacity for privileged roles
+    @Data
+    public static class ConcurrencyLimit {
+        private boolean enabled;
+        private int initialLimit = 100;
+        private int minLimit = 10;
+        private int maxLimit = 1000;
+        private double backoffRatio = 0.9;
+        // Requests slower than this count as congestion and shrink the limit
+        private long latencyThresholdMs = 500;
+        private long retryAfterSeconds = 1;
+        // Share of the limit reserved per role, in priority order, e.g. ROLE_ADMIN: 0.1
+        private Map<String, Double> partitions = new LinkedHashMap<>();
+    }
+
+    // Per-user request quotas keyed on the token's userId, sized by the caller's role
+    @Data
+    public static class Quota {
+        private boolean enabled;
+        private int stripes = 64;
+        private int maxKeys = 100_000;
+        private QuotaTier defaultTier = new QuotaTier();
+        // Tier per role, in priority order, e.g. ROLE_ADMIN: {capacity: 3000, period: 1m}
+        private Map<String, QuotaTier> tiers = new LinkedHashMap<>();
+    }
+
+    @Data
+    public static class QuotaTier {
+        private long capacity = 600;
+        private Duration period = Duration.ofMinutes(1);
+    }
+
+    // Memory-mapped account snapshot for UserDetailsService lookups, rebuilt on a schedule and
+    // kept current in between by change events the application records
+    @Data
+    public static class UserDirectory {
+        private boolean enabled;
+        private String path = "user-directory.snapshot";
+        private Duration rebuildInterval = Duration.ofHours(1);
+    }
+
+    // Read-only transactions on replicas; a recent write to a key pins reads of that key to the primary
+    @Data
+    public static class ReadReplica {
+        private boolean enabled;
+        private Duration readYourWritesWindow = Duration.ofSeconds(5);
+        private Duration retryInterval = Duration.ofSeconds(30);
+        private List<Replica> replicas = new ArrayList<>();
+
+        @Data
+        public static class Replica {
+            private String url;
+            private String username;
+            private String password;
+        }
+    }
+
+    // Minimal keeps only bearer-token authentication, exception translation and authorization: no
+    // session handling, context persistence, request cache, anonymous token, logout, servlet API
+    // wrapper, async integration or response security headers
+    @Data
+    public static class FilterChain {
+        private boolean minimal;
+    }
+
+    // Tokens this service signs for its own calls to other services, cached per audience and identity
+    // and renewed in the background once renew-after of their lifetime has passed
+    @Data
+    public static class Outbound {
+        private boolean enabled;
+        private double renewAfter = 0.8;
+        private int maxEntries = 1000;
+        private Identity identity = new Identity();
+
+        // Caller identity used when a client does not name one; the username defaults to the issuer
+        @Data
+        public static class Identity {
+            private Long userId;
+            private String username;
+            private List<String> roles = new ArrayList<>();
+        }
+    }
 }
@@ -0,0 +1,97 @@
+package com.fcmb.security.credential;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Remembers recent successful password checks so repeat logins can skip the password encoder.
+// Only an HMAC of username and password is kept, under a server-side key, together with a stamp
+// of the account's credential state (e.g. its entity version): a changed stamp is a miss.
+// One entry per username, strict LRU bound; callers decide which accounts may use it.
+public class CredentialVerificationCache {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final long ttlMs;
+    private final Map<String, Entry> entries;
+    private final ThreadLocal<Mac> macs;
+
+    public CredentialVerificationCache(byte[] secret, long ttlMs, int maxEntries) {
+        if (secret == null || secret.length < 32) {
+            throw new IllegalArgumentException("Credential cache secret must be at least 32 bytes");
+        }
+        if (ttlMs <= 0 || maxEntries <= 0) {
+            throw new IllegalArgumentException("Credential cache TTL and size must be positive");
+        }
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.ttlMs = ttlMs;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public boolean isVerified(String username, String password, long stamp) {
+        long now = System.currentTimeMillis();
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(username);
+            if (entry == null) {
+                return false;
+            }
+            if (entry.expiresAt() <= now || entry.stamp() != stamp) {
+                entries.remove(username);
+                return false;
+            }
+        }
+        return MessageDigest.isEqual(entry.digest(), digest(username, password));
+    }
+
+    public void recordVerified(String username, String password, long stamp) {
+        Entry entry = new Entry(digest(username, password), stamp, System.currentTimeMillis() + ttlMs);
+        synchronized (entries) {
+            entries.put(username, entry);
+        }
+    }
+
+    public void invalidate(String username) {
+        synchronized (entries) {
+            entries.remove(username);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private byte[] digest(String username, String password) {
+        Mac mac = macs.get();
+        mac.update(username.getBytes(StandardCharsets.UTF_8));
+        // Separator, so "ab" + "c" and "a" + "bc" do not collide
+        mac.update((byte) 0);
+        return mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise " + ALGORITHM, e);
+        }
+    }
+
+    private record Entry(byte[] digest, long stamp, long expiresAt) {
+    }
+}
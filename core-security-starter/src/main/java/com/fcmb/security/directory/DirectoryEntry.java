@@ -0,0 +1,24 @@
+package com.fcmb.security.directory;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+// One account in the user directory: what UserDetails needs plus the id and version tokens and caches use
+@Value
+@Builder(toBuilder = true)
+public class DirectoryEntry {
+
+    long userId;
+    long version;
+    String username;
+    String password;
+    boolean enabled;
+    // Lock as of the last rebuild or change event; null when not locked
+    Instant lockedUntil;
+    // Application-defined bits, stored and returned as is
+    int flags;
+    List<String> roles;
+}
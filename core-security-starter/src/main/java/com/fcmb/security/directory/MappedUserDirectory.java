@@ -0,0 +1,99 @@
+package com.fcmb.security.directory;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Read-mostly account lookup: a memory-mapped snapshot plus an in-memory overlay of the changes
+// streamed in since it was built. Lookups check the overlay first, so a change is visible as soon
+// as it is recorded. A rebuild swaps in a new snapshot atomically and then drops only the overlay
+// entries it already contains; changes recorded while it ran are kept.
+//
+// Changes must be recorded after they are committed, or a rebuild could read the old row and
+// still drop the change. Usernames are treated as immutable: a rename is a remove plus a put.
+@Slf4j
+public final class MappedUserDirectory {
+
+    private final Path path;
+    private final Map<String, Change> changes = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile UserDirectorySnapshot snapshot;
+
+    private MappedUserDirectory(Path path, UserDirectorySnapshot snapshot) {
+        this.path = path;
+        this.snapshot = snapshot;
+    }
+
+    // Reuses the snapshot left by a previous run when there is a compatible one, so lookups are
+    // served from it (possibly stale) until the first rebuild
+    public static MappedUserDirectory open(Path path) {
+        UserDirectorySnapshot existing = null;
+        if (Files.exists(path)) {
+            try {
+                existing = UserDirectorySnapshot.open(path);
+                log.info("Loaded user directory snapshot with {} users built at {}", existing.size(), existing.builtAt());
+            } catch (IOException e) {
+                log.warn("Ignoring unusable user directory snapshot: {}", e.getMessage());
+            }
+        }
+        return new MappedUserDirectory(path, existing);
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    public Optional<DirectoryEntry> find(String username) {
+        Change change = changes.get(username);
+        if (change != null) {
+            return Optional.ofNullable(change.entry());
+        }
+        UserDirectorySnapshot current = snapshot;
+        return current != null ? Optional.ofNullable(current.find(username)) : Optional.empty();
+    }
+
+    public void put(DirectoryEntry entry) {
+        changes.put(entry.getUsername(), new Change(sequence.incrementAndGet(), entry));
+    }
+
+    public void remove(String username) {
+        changes.put(username, new Change(sequence.incrementAndGet(), null));
+    }
+
+    public void rebuild(UserDirectorySource source) throws IOException {
+        rebuildLock.lock();
+        try {
+            long start = System.nanoTime();
+            long upTo = sequence.get();
+            UserDirectorySnapshot rebuilt = UserDirectorySnapshot.build(path, source);
+            snapshot = rebuilt;
+            // Conditional removal: an entry replaced since upTo has a new Change and stays
+            changes.entrySet().removeIf(change -> change.getValue().sequence() <= upTo);
+            log.info("Rebuilt user directory snapshot with {} users in {} ms ({} newer changes kept)",
+                    rebuilt.size(), (System.nanoTime() - start) / 1_000_000, changes.size());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public int size() {
+        UserDirectorySnapshot current = snapshot;
+        return current != null ? current.size() : 0;
+    }
+
+    public int pendingChanges() {
+        return changes.size();
+    }
+
+    private record Change(long sequence, DirectoryEntry entry) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.fcmb.security.directory;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Full rebuilds of the user directory. Started once the context is refreshed, so the source's tables
+// exist. Without a usable snapshot from a previous run the first rebuild happens in start(); otherwise
+// the old snapshot serves lookups while the first rebuild runs in the background.
+@Slf4j
+public class UserDirectoryRefresher implements SmartLifecycle {
+
+    private final MappedUserDirectory directory;
+    private final UserDirectorySource source;
+    private final Duration interval;
+
+    private ScheduledExecutorService scheduler;
+
+    public UserDirectoryRefresher(MappedUserDirectory directory, UserDirectorySource source, Duration interval) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("User directory rebuild interval must be positive");
+        }
+        this.directory = directory;
+        this.source = source;
+        this.interval = interval;
+    }
+
+    @Override
+    public synchronized void start() {
+        long initialDelayMs = 0;
+        if (!directory.isReady()) {
+            rebuild();
+            initialDelayMs = interval.toMillis();
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-directory-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::rebuild, initialDelayMs, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    // A failed rebuild keeps the current snapshot and overlay; the next run tries again
+    public void rebuild() {
+        try {
+            directory.rebuild(source);
+        } catch (IOException | RuntimeException e) {
+            log.error("User directory rebuild failed, keeping the current snapshot: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package com.fcmb.security.directory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Immutable, memory-mapped file of accounts: a header, variable-length records written in source
+// order, an open-addressing index of (username hash, record offset) slots at half load, and the
+// role names behind the per-record role bitmask. Built into a temporary file and moved into place,
+// so readers of the previous file keep a consistent mapping until they drop it.
+public final class UserDirectorySnapshot {
+
+    private static final long MAGIC = 0x46434D4255534452L;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int MAX_ROLES = Long.SIZE;
+    private static final int MAX_FIELD_BYTES = 0xFFFF;
+    private static final int WRITE_BUFFER_SIZE = 1 << 18;
+
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 8;
+    private static final int H_COUNT = 12;
+    private static final int H_SLOTS = 16;
+    private static final int H_ROLE_COUNT = 20;
+    private static final int H_INDEX = 24;
+    private static final int H_ROLES = 32;
+    private static final int H_LENGTH = 40;
+    private static final int H_BUILT_AT = 48;
+
+    private static final int R_USER_ID = 0;
+    private static final int R_VERSION = 8;
+    private static final int R_LOCKED_UNTIL = 16;
+    private static final int R_ROLE_MASK = 24;
+    private static final int R_FLAGS = 32;
+    private static final int R_USERNAME_LENGTH = 36;
+    private static final int R_PASSWORD_LENGTH = 38;
+    private static final int R_ENABLED = 40;
+    private static final int R_USERNAME = 41;
+
+    private static final long NO_VALUE = Long.MIN_VALUE;
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final int mask;
+    private final int indexOffset;
+    private final String[] roleNames;
+    private final Instant builtAt;
+    // A directory has few distinct role combinations, so lookups share their role lists
+    private final Map<Long, List<String>> rolesByMask = new ConcurrentHashMap<>();
+
+    private UserDirectorySnapshot(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.count = buffer.getInt(H_COUNT);
+        this.mask = buffer.getInt(H_SLOTS) - 1;
+        this.indexOffset = (int) buffer.getLong(H_INDEX);
+        this.builtAt = Instant.ofEpochMilli(buffer.getLong(H_BUILT_AT));
+
+        int roleCount = buffer.getInt(H_ROLE_COUNT);
+        this.roleNames = new String[roleCount];
+        int position = (int) buffer.getLong(H_ROLES);
+        for (int i = 0; i < roleCount; i++) {
+            int length = Short.toUnsignedInt(buffer.getShort(position));
+            roleNames[i] = decode(position + 2, length);
+            position += 2 + length;
+        }
+    }
+
+    public static UserDirectorySnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException(path + " is not a user directory snapshot");
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int slots = mapped.getInt(H_SLOTS);
+            long index = mapped.getLong(H_INDEX);
+            long roles = mapped.getLong(H_ROLES);
+            boolean valid = mapped.getLong(H_MAGIC) == MAGIC
+                    && mapped.getInt(H_VERSION) == FORMAT_VERSION
+                    && mapped.getLong(H_LENGTH) == size
+                    && slots > 0 && Integer.bitCount(slots) == 1
+                    && index >= HEADER_SIZE && index + (long) slots * Long.BYTES == roles && roles <= size
+                    && mapped.getInt(H_ROLE_COUNT) <= MAX_ROLES;
+            if (!valid) {
+                throw new IOException(path + " is not a compatible user directory snapshot");
+            }
+            return new UserDirectorySnapshot(mapped);
+        }
+    }
+
+    public static UserDirectorySnapshot build(Path path, UserDirectorySource source) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temporary = Files.createTempFile(parent, path.getFileName() + ".", ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            Writer writer = new Writer(channel);
+            try {
+                source.forEachEntry(writer::add);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            UserDirectorySnapshot snapshot = writer.finish();
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return snapshot;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    public DirectoryEntry find(String username) {
+        int hash = hash(username);
+        byte[] key = null;
+        int slot = hash & mask;
+        for (int probes = 0; probes <= mask; probes++, slot = (slot + 1) & mask) {
+            long value = buffer.getLong(indexOffset + slot * Long.BYTES);
+            if (value == 0) {
+                return null;
+            }
+            if ((int) (value >>> 32) != hash) {
+                continue;
+            }
+            int record = (int) value;
+            if (key == null) {
+                key = username.getBytes(StandardCharsets.UTF_8);
+            }
+            if (usernameEquals(buffer, record, key)) {
+                return read(record);
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public Instant builtAt() {
+        return builtAt;
+    }
+
+    private DirectoryEntry read(int record) {
+        int usernameLength = Short.toUnsignedInt(buffer.getShort(record + R_USERNAME_LENGTH));
+        int passwordLength = Short.toUnsignedInt(buffer.getShort(record + R_PASSWORD_LENGTH));
+        long lockedUntil = buffer.getLong(record + R_LOCKED_UNTIL);
+        return DirectoryEntry.builder()
+                .userId(buffer.getLong(record + R_USER_ID))
+                .version(buffer.getLong(record + R_VERSION))
+                .username(decode(record + R_USERNAME, usernameLength))
+                .password(decode(record + R_USERNAME + usernameLength, passwordLength))
+                .enabled(buffer.get(record + R_ENABLED) != 0)
+                .lockedUntil(lockedUntil == NO_VALUE ? null : Instant.ofEpochMilli(lockedUntil))
+                .flags(buffer.getInt(record + R_FLAGS))
+                .roles(rolesByMask.computeIfAbsent(buffer.getLong(record + R_ROLE_MASK), this::roles))
+                .build();
+    }
+
+    private List<String> roles(long roleMask) {
+        List<String> roles = new ArrayList<>(Long.bitCount(roleMask));
+        for (long remaining = roleMask; remaining != 0; remaining &= remaining - 1) {
+            roles.add(roleNames[Long.numberOfTrailingZeros(remaining)]);
+        }
+        return Collections.unmodifiableList(roles);
+    }
+
+    private String decode(int position, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static boolean usernameEquals(ByteBuffer buffer, int record, byte[] key) {
+        if (Short.toUnsignedInt(buffer.getShort(record + R_USERNAME_LENGTH)) != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (buffer.get(record + R_USERNAME + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Stable across JVMs because String.hashCode is specified; the mix spreads it over the low bits
+    private static int hash(String username) {
+        int h = username.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Writer {
+
+        private final FileChannel channel;
+        private final ByteBuffer out = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+        private final Map<String, Long> roleBits = new LinkedHashMap<>();
+        private long flushed = HEADER_SIZE;
+        private int[] hashes = new int[1024];
+        private int[] offsets = new int[1024];
+        private int count;
+
+        private Writer(FileChannel channel) throws IOException {
+            this.channel = channel;
+            channel.position(HEADER_SIZE);
+        }
+
+        private void add(DirectoryEntry entry) {
+            byte[] username = encode(entry.getUsername(), "Username");
+            byte[] password = encode(entry.getPassword(), "Password");
+            long roleMask = 0;
+            for (String role : entry.getRoles()) {
+                roleMask |= roleBit(role);
+            }
+
+            int recordSize = R_USERNAME + username.length + password.length;
+            if (out.remaining() < recordSize) {
+                flush();
+            }
+            long offset = flushed + out.position();
+            if (offset + recordSize > Integer.MAX_VALUE) {
+                throw new IllegalStateException("User directory snapshot would exceed 2 GB at " + count + " entries");
+            }
+
+            out.putLong(entry.getUserId());
+            out.putLong(entry.getVersion());
+            out.putLong(entry.getLockedUntil() != null ? entry.getLockedUntil().toEpochMilli() : NO_VALUE);
+            out.putLong(roleMask);
+            out.putInt(entry.getFlags());
+            out.putShort((short) username.length);
+            out.putShort((short) password.length);
+            out.put((byte) (entry.isEnabled() ? 1 : 0));
+            out.put(username);
+            out.put(password);
+
+            if (count == hashes.length) {
+                hashes = Arrays.copyOf(hashes, count * 2);
+                offsets = Arrays.copyOf(offsets, count * 2);
+            }
+            hashes[count] = hash(entry.getUsername());
+            offsets[count] = (int) offset;
+            count++;
+        }
+
+        private UserDirectorySnapshot finish() throws IOException {
+            flushOrThrow();
+            int slots = Integer.highestOneBit(Math.max(16, count * 2 - 1)) << 1;
+            long index = (flushed + Long.BYTES - 1) / Long.BYTES * Long.BYTES;
+            long roles = index + (long) slots * Long.BYTES;
+            long length = roles;
+            for (String role : roleBits.keySet()) {
+                length += 2 + role.getBytes(StandardCharsets.UTF_8).length;
+            }
+            if (length > Integer.MAX_VALUE) {
+                throw new IllegalStateException("User directory snapshot would exceed 2 GB at " + count + " entries");
+            }
+
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+            int slotMask = slots - 1;
+            for (int i = 0; i < count; i++) {
+                int slot = hashes[i] & slotMask;
+                while (true) {
+                    int position = (int) index + slot * Long.BYTES;
+                    long value = mapped.getLong(position);
+                    if (value == 0) {
+                        mapped.putLong(position, ((long) hashes[i] << 32) | (offsets[i] & 0xFFFFFFFFL));
+                        break;
+                    }
+                    if ((int) (value >>> 32) == hashes[i] && sameUsername(mapped, (int) value, offsets[i])) {
+                        throw new IllegalArgumentException("Duplicate username in user directory source: "
+                                + usernameAt(mapped, offsets[i]));
+                    }
+                    slot = (slot + 1) & slotMask;
+                }
+            }
+
+            int position = (int) roles;
+            for (String role : roleBits.keySet()) {
+                byte[] bytes = role.getBytes(StandardCharsets.UTF_8);
+                mapped.putShort(position, (short) bytes.length);
+                mapped.put(position + 2, bytes);
+                position += 2 + bytes.length;
+            }
+
+            mapped.putInt(H_VERSION, FORMAT_VERSION);
+            mapped.putInt(H_COUNT, count);
+            mapped.putInt(H_SLOTS, slots);
+            mapped.putInt(H_ROLE_COUNT, roleBits.size());
+            mapped.putLong(H_INDEX, index);
+            mapped.putLong(H_ROLES, roles);
+            mapped.putLong(H_LENGTH, length);
+            mapped.putLong(H_BUILT_AT, System.currentTimeMillis());
+            mapped.putLong(H_MAGIC, MAGIC);
+            mapped.force();
+            return new UserDirectorySnapshot(mapped.asReadOnlyBuffer());
+        }
+
+        private long roleBit(String role) {
+            Long bit = roleBits.get(role);
+            if (bit == null) {
+                if (roleBits.size() == MAX_ROLES) {
+                    throw new IllegalStateException("User directory supports at most " + MAX_ROLES + " distinct roles");
+                }
+                bit = 1L << roleBits.size();
+                roleBits.put(role, bit);
+            }
+            return bit;
+        }
+
+        private void flush() {
+            try {
+                flushOrThrow();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void flushOrThrow() throws IOException {
+            out.flip();
+            while (out.hasRemaining()) {
+                flushed += channel.write(out);
+            }
+            out.clear();
+        }
+
+        private static boolean sameUsername(ByteBuffer buffer, int record, int other) {
+            int length = Short.toUnsignedInt(buffer.getShort(record + R_USERNAME_LENGTH));
+            return length == Short.toUnsignedInt(buffer.getShort(other + R_USERNAME_LENGTH))
+                    && buffer.slice(record + R_USERNAME, length).equals(buffer.slice(other + R_USERNAME, length));
+        }
+
+        private static String usernameAt(ByteBuffer buffer, int record) {
+            byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort(record + R_USERNAME_LENGTH))];
+            buffer.get(record + R_USERNAME, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private static byte[] encode(String value, String name) {
+            byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > MAX_FIELD_BYTES) {
+                throw new IllegalArgumentException(name + " exceeds " + MAX_FIELD_BYTES + " bytes and cannot be stored");
+            }
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.fcmb.security.directory;
+
+import java.util.function.Consumer;
+
+// Streams every account for a full rebuild; entries are written out as they arrive, so the source
+// should stream (e.g. a JDBC row callback) rather than collect the whole table first
+@FunctionalInterface
+public interface UserDirectorySource {
+
+    void forEachEntry(Consumer<DirectoryEntry> sink);
+}
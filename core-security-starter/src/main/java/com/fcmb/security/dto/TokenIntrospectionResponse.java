@@ -0,0 +1,19 @@
+package com.fcmb.security.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenIntrospectionResponse {
+
+    private int count;
+    private int unique;
+    private List<TokenIntrospectionResult> results;
+}
@@ -0,0 +1,25 @@
+package com.fcmb.security.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fcmb.security.jwt.core.TokenStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TokenIntrospectionResult {
+
+    private TokenStatus status;
+    private String issuer;
+    private Long userId;
+    private String username;
+    private List<String> roles;
+    private Long expiresAt;
+}
@@ -1,7 +1,12 @@
 package com.fcmb.security.filter;
 
 import com.fcmb.security.config.SecurityProperties;
+import com.fcmb.security.jwt.JwtPrincipal;
 import com.fcmb.security.jwt.JwtUtil;
+import com.fcmb.security.jwt.core.JwtClaims;
+import com.fcmb.security.observation.AuthObservations;
+import com.fcmb.security.observation.AuthPhase;
+import com.fcmb.security.session.ReferenceTokenService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,6 +30,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final SecurityProperties securityProperties;
+    private final AuthObservations observations;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, SecurityProperties securityProperties) {
+        this(jwtUtil, securityProperties, AuthObservations.DISABLED);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -32,19 +42,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
         
         try {
-            String jwt = extractJwtFromRequest(request);
+            String jwt = observations.observe(AuthPhase.JWT_HEADER, () -> extractJwtFromRequest(request));
 
-            if (StringUtils.hasText(jwt) && jwtUtil.validateToken(jwt)) {
-                String username = jwtUtil.extractUsername(jwt);
-                Long userId = jwtUtil.extractUserId(jwt);
-                List<String> roles = jwtUtil.extractRoles(jwt);
+            JwtClaims claims = StringUtils.hasText(jwt) && !isHandledElsewhere(jwt)
+                    ? jwtUtil.verify(jwt).orElse(null) : null;
+            if (claims != null) {
+                String username = claims.getUsername();
+                Long userId = claims.getUserId();
 
-                List<SimpleGrantedAuthority> authorities = roles.stream()
-                        .map(SimpleGrantedAuthority::new)
-                        .collect(Collectors.toList());
+                List<SimpleGrantedAuthority> authorities = observations.observe(AuthPhase.JWT_AUTHORITIES, () ->
+                        claims.getRoles().stream()
+                                .map(SimpleGrantedAuthority::new)
+                                .collect(Collectors.toList()));
 
                 UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(username, null, authorities);
+                        new UsernamePasswordAuthenticationToken(JwtPrincipal.from(claims), null, authorities);
                 
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
@@ -62,6 +74,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // Reference tokens are resolved by ReferenceTokenAuthenticationFilter, which runs first
+    private boolean isHandledElsewhere(String token) {
+        return SecurityContextHolder.getContext().getAuthentication() != null
+                || (securityProperties.getReferenceToken().isEnabled() && ReferenceTokenService.isReferenceToken(token));
+    }
+
     private String extractJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader(securityProperties.getHeaderName());
         
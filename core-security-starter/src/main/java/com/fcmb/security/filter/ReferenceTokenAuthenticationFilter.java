@@ -0,0 +1,74 @@
+package com.fcmb.security.filter;
+
+import com.fcmb.security.config.SecurityProperties;
+import com.fcmb.security.jwt.JwtPrincipal;
+import com.fcmb.security.jwt.core.JwtClaims;
+import com.fcmb.security.session.ReferenceTokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RequiredArgsConstructor
+public class ReferenceTokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private final ReferenceTokenService referenceTokenService;
+    private final SecurityProperties securityProperties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        try {
+            String token = extractTokenFromRequest(request);
+
+            JwtClaims claims = ReferenceTokenService.isReferenceToken(token)
+                    ? referenceTokenService.resolve(token).orElse(null) : null;
+            if (claims != null) {
+                List<SimpleGrantedAuthority> authorities = claims.getRoles().stream()
+                        .map(SimpleGrantedAuthority::new)
+                        .collect(Collectors.toList());
+
+                UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(JwtPrincipal.from(claims), null, authorities);
+
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+
+                if (securityProperties.isEnableLogging()) {
+                    log.info("User '{}' (ID: {}) authenticated by reference token for {} {}",
+                            claims.getUsername(), claims.getUserId(), request.getMethod(), request.getRequestURI());
+                }
+            }
+        } catch (Exception e) {
+            log.error("Cannot set user authentication from reference token: {}", e.getMessage());
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private String extractTokenFromRequest(HttpServletRequest request) {
+        String bearerToken = request.getHeader(securityProperties.getHeaderName());
+
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith(securityProperties.getTokenPrefix())) {
+            return bearerToken.substring(securityProperties.getTokenPrefix().length());
+        }
+
+        return null;
+    }
+}
@@ -1,6 +1,7 @@
 package com.fcmb.security.handler;
 
 import com.fcmb.security.dto.ErrorResponse;
+import com.fcmb.security.jfr.AccessRejectionEvent;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -11,6 +12,7 @@ import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -41,6 +43,7 @@ public class GlobalExceptionHandler {
             AccessDeniedException ex, HttpServletRequest request) {
         
         log.error("Access denied: {}", ex.getMessage());
+        AccessRejectionEvent.emit(HttpStatus.FORBIDDEN.value(), AccessRejectionEvent.CONTROLLER, ex, request.getMethod());
         
         ErrorResponse error = ErrorResponse.of(
                 HttpStatus.FORBIDDEN.value(),
@@ -73,6 +76,23 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErrorResponse> handleResponseStatusException(
+            ResponseStatusException ex, HttpServletRequest request) {
+
+        HttpStatus status = HttpStatus.resolve(ex.getStatusCode().value());
+        String reason = status != null ? status.getReasonPhrase() : "Error";
+
+        ErrorResponse error = ErrorResponse.of(
+                ex.getStatusCode().value(),
+                reason,
+                ex.getReason() != null ? ex.getReason() : reason,
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(ex.getStatusCode()).body(error);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(
             Exception ex, HttpServletRequest request) {
@@ -1,7 +1,8 @@
 package com.fcmb.security.handler;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fcmb.security.dto.ErrorResponse;
+import com.fcmb.security.jfr.AccessRejectionEvent;
+import com.fcmb.security.json.JsonWriters;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -17,7 +18,7 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class JwtAccessDeniedHandler implements AccessDeniedHandler {
 
-    private final ObjectMapper objectMapper;
+    private final JsonWriters jsonWriters;
 
     @Override
     public void handle(HttpServletRequest request,
@@ -25,6 +26,8 @@ public class JwtAccessDeniedHandler implements AccessDeniedHandler {
                       AccessDeniedException accessDeniedException) throws IOException {
         
         log.error("Access denied to: {} - {}", request.getRequestURI(), accessDeniedException.getMessage());
+        AccessRejectionEvent.emit(HttpStatus.FORBIDDEN.value(), AccessRejectionEvent.ACCESS_DENIED_HANDLER,
+                accessDeniedException, request.getMethod());
 
         ErrorResponse errorResponse = ErrorResponse.of(
                 HttpStatus.FORBIDDEN.value(),
@@ -35,6 +38,8 @@ public class JwtAccessDeniedHandler implements AccessDeniedHandler {
 
         response.setStatus(HttpStatus.FORBIDDEN.value());
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-        response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+        byte[] body = jsonWriters.errorResponse().writeValueAsBytes(errorResponse);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
     }
 }
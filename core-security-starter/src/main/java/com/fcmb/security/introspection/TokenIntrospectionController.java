@@ -0,0 +1,23 @@
+package com.fcmb.security.introspection;
+
+import com.fcmb.security.dto.TokenIntrospectionRequest;
+import com.fcmb.security.dto.TokenIntrospectionResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class TokenIntrospectionController {
+
+    public static final String PATH = "/api/security/introspect";
+
+    private final TokenIntrospectionService tokenIntrospectionService;
+
+    @PostMapping(PATH)
+    public ResponseEntity<TokenIntrospectionResponse> introspect(@RequestBody TokenIntrospectionRequest request) {
+        return ResponseEntity.ok(tokenIntrospectionService.introspect(request.getTokens()));
+    }
+}
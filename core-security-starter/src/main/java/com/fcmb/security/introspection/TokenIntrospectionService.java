@@ -0,0 +1,141 @@
+package com.fcmb.security.introspection;
+
+import com.fcmb.security.dto.TokenIntrospectionResponse;
+import com.fcmb.security.dto.TokenIntrospectionResult;
+import com.fcmb.security.jwt.JwtUtil;
+import com.fcmb.security.jwt.core.JwtClaims;
+import com.fcmb.security.jwt.core.TokenVerification;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+public class TokenIntrospectionService implements AutoCloseable {
+
+    // Below this many distinct tokens a thread handoff costs more than the verification itself
+    private static final int MIN_TOKENS_PER_TASK = 8;
+
+    private final JwtUtil jwtUtil;
+    private final int parallelism;
+    private final int maxBatchSize;
+    private final ThreadPoolExecutor executor;
+
+    public TokenIntrospectionService(JwtUtil jwtUtil, int parallelism, int maxBatchSize) {
+        this.jwtUtil = jwtUtil;
+        this.parallelism = Math.max(1, parallelism);
+        this.maxBatchSize = maxBatchSize;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(this.parallelism, this.parallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.parallelism * 64),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "token-introspection-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public TokenIntrospectionResponse introspect(List<String> tokens) {
+        if (tokens == null || tokens.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one token is required");
+        }
+        if (tokens.size() > maxBatchSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + maxBatchSize + " tokens can be introspected per request");
+        }
+
+        // Repeated tokens are verified once and share their result
+        Map<String, Integer> positions = new LinkedHashMap<>();
+        int[] resultIndex = new int[tokens.size()];
+        for (int i = 0; i < tokens.size(); i++) {
+            Integer position = positions.putIfAbsent(tokens.get(i), positions.size());
+            resultIndex[i] = position != null ? position : positions.size() - 1;
+        }
+
+        String[] unique = positions.keySet().toArray(String[]::new);
+        TokenIntrospectionResult[] verified = verifyAll(unique);
+
+        List<TokenIntrospectionResult> results = new ArrayList<>(tokens.size());
+        for (int index : resultIndex) {
+            results.add(verified[index]);
+        }
+
+        return TokenIntrospectionResponse.builder()
+                .count(tokens.size())
+                .unique(unique.length)
+                .results(results)
+                .build();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private TokenIntrospectionResult[] verifyAll(String[] tokens) {
+        TokenIntrospectionResult[] results = new TokenIntrospectionResult[tokens.length];
+        int tasks = Math.min(parallelism, (tokens.length + MIN_TOKENS_PER_TASK - 1) / MIN_TOKENS_PER_TASK);
+        if (tasks <= 1) {
+            verifyRange(tokens, results, 0, tokens.length);
+            return results;
+        }
+
+        // Contiguous slices, the first of which runs on the request thread
+        int sliceSize = (tokens.length + tasks - 1) / tasks;
+        Future<?>[] futures = new Future<?>[tasks - 1];
+        for (int task = 1; task < tasks; task++) {
+            int from = task * sliceSize;
+            int to = Math.min(tokens.length, from + sliceSize);
+            futures[task - 1] = executor.submit(() -> verifyRange(tokens, results, from, to));
+        }
+        verifyRange(tokens, results, 0, Math.min(tokens.length, sliceSize));
+
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            Arrays.stream(futures).forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Token introspection was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Token introspection failed", e.getCause());
+        }
+        return results;
+    }
+
+    private void verifyRange(String[] tokens, TokenIntrospectionResult[] results, int from, int to) {
+        for (int i = from; i < to; i++) {
+            results[i] = toResult(jwtUtil.inspect(tokens[i]));
+        }
+    }
+
+    private static TokenIntrospectionResult toResult(TokenVerification verification) {
+        if (!verification.isActive()) {
+            return TokenIntrospectionResult.builder().status(verification.getStatus()).build();
+        }
+
+        JwtClaims claims = verification.getClaims();
+        return TokenIntrospectionResult.builder()
+                .status(verification.getStatus())
+                .issuer(claims.getIssuer())
+                .userId(claims.getUserId())
+                .username(claims.getUsername())
+                .roles(claims.getRoles())
+                .expiresAt(claims.getExpiresAt() != null ? claims.getExpiresAt().getEpochSecond() : null)
+                .build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.fcmb.security.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+@Name("com.fcmb.security.AccessRejection")
+@Label("Access Rejection")
+@Category({"FCMB Security", "Authorization"})
+@Description("A request rejected with 401 or 403. Carries no path, principal or token.")
+@StackTrace(false)
+@Setter
+public class AccessRejectionEvent extends Event {
+
+    public static final String ENTRY_POINT = "entry-point";
+    public static final String ACCESS_DENIED_HANDLER = "access-denied-handler";
+    public static final String CONTROLLER = "controller";
+
+    @Label("Status")
+    private int status;
+
+    @Label("Source")
+    @Description("Where the rejection was rendered: entry-point, access-denied-handler or controller")
+    private String source;
+
+    @Label("Reason")
+    @Description("Simple name of the exception behind the rejection")
+    private String reason;
+
+    @Label("HTTP Method")
+    private String method;
+
+    // Instant event: recorded only when enabled, so a disabled event costs one check
+    public static void emit(int status, String source, Exception cause, String method) {
+        AccessRejectionEvent event = new AccessRejectionEvent();
+        if (event.shouldCommit()) {
+            event.setStatus(status);
+            event.setSource(source);
+            event.setReason(cause.getClass().getSimpleName());
+            event.setMethod(method);
+            event.commit();
+        }
+    }
+}
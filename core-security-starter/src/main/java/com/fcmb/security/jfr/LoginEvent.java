@@ -0,0 +1,55 @@
+package com.fcmb.security.jfr;
+
+import com.fcmb.security.observation.AuthPhase;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import lombok.Setter;
+
+@Name("com.fcmb.security.Login")
+@Label("Login")
+@Category({"FCMB Security", "Authentication"})
+@Description("A username/password login with the time spent in each phase. Never carries the username.")
+@StackTrace(false)
+public class LoginEvent extends Event {
+
+    public static final String SUCCESS = "SUCCESS";
+
+    @Setter
+    @Label("Outcome")
+    @Description("SUCCESS, or the simple name of the exception the login failed with")
+    private String outcome;
+
+    @Label("Authenticate")
+    @Description("Time in the AuthenticationManager, including the user lookup and password check it runs")
+    @Timespan(Timespan.NANOSECONDS)
+    private long authenticate;
+
+    @Label("User Lookup")
+    @Timespan(Timespan.NANOSECONDS)
+    private long userLookup;
+
+    @Label("Password Check")
+    @Timespan(Timespan.NANOSECONDS)
+    private long passwordCheck;
+
+    @Label("Token Issue")
+    @Timespan(Timespan.NANOSECONDS)
+    private long tokenIssue;
+
+    // Repeated phases (e.g. two user lookups in one login) are summed
+    public void record(AuthPhase phase, long nanos) {
+        switch (phase) {
+            case LOGIN_AUTHENTICATE -> authenticate += nanos;
+            case LOGIN_USER_LOOKUP -> userLookup += nanos;
+            case LOGIN_PASSWORD -> passwordCheck += nanos;
+            case LOGIN_TOKEN -> tokenIssue += nanos;
+            default -> {
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.fcmb.security.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+@Name("com.fcmb.security.TokenIssuance")
+@Label("Token Issuance")
+@Category({"FCMB Security", "Authentication"})
+@Description("Creation of an access token. Carries the token type and role count, never the subject.")
+@StackTrace(false)
+@Setter
+public class TokenIssuanceEvent extends Event {
+
+    @Label("Token Type")
+    private String tokenType;
+
+    @Label("Issuer")
+    private String issuer;
+
+    @Label("Roles")
+    private int roleCount;
+}
@@ -0,0 +1,29 @@
+package com.fcmb.security.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+@Name("com.fcmb.security.TokenVerification")
+@Label("Token Verification")
+@Category({"FCMB Security", "Authentication"})
+@Description("Verification of a bearer token. Carries the outcome, never the token or its subject.")
+@StackTrace(false)
+@Setter
+public class TokenVerificationEvent extends Event {
+
+    @Label("Token Type")
+    private String tokenType;
+
+    @Label("Outcome")
+    @Description("TokenStatus of the verification, e.g. ACTIVE, EXPIRED or INVALID_SIGNATURE")
+    private String outcome;
+
+    @Label("Issuer")
+    @Description("Configured issuer that accepted the token; empty when it was rejected")
+    private String issuer;
+}
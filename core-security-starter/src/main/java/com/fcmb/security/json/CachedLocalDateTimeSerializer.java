@@ -0,0 +1,81 @@
+package com.fcmb.security.json;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+// Writes the same text as the default ISO_LOCAL_DATE_TIME serializer, but formats the
+// date-time part once per second and only appends the fraction for values in that second.
+// Values with a @JsonFormat override, or mappers writing timestamps, use the default serializer.
+public class CachedLocalDateTimeSerializer extends StdSerializer<LocalDateTime> implements ContextualSerializer {
+
+    private static final int MAX_FRACTION_DIGITS = 9;
+
+    private volatile CachedSecond cached = new CachedSecond(Long.MIN_VALUE, new char[0]);
+
+    public CachedLocalDateTimeSerializer() {
+        super(LocalDateTime.class);
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+            throws JsonMappingException {
+        JsonFormat.Value format = findFormatOverrides(provider, property, handledType());
+        boolean customFormat = format != null && (format.hasPattern() || format.hasShape()
+                || format.hasLocale() || format.hasTimeZone());
+        if (customFormat || provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            return LocalDateTimeSerializer.INSTANCE.createContextual(provider, property);
+        }
+        return this;
+    }
+
+    @Override
+    public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        long second = value.toLocalDate().toEpochDay() * 86_400L + value.toLocalTime().toSecondOfDay();
+        CachedSecond current = cached;
+        if (current.second() != second) {
+            // A miss costs no more than the default serializer; the prefix is kept for the next value
+            String text = DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value);
+            int fraction = text.indexOf('.');
+            cached = new CachedSecond(second, (fraction < 0 ? text : text.substring(0, fraction)).toCharArray());
+            generator.writeString(text);
+            return;
+        }
+
+        int nano = value.getNano();
+        char[] prefix = current.text();
+        if (nano == 0) {
+            generator.writeString(prefix, 0, prefix.length);
+            return;
+        }
+
+        // ISO_LOCAL_DATE_TIME prints the fraction without trailing zeros
+        int digits = MAX_FRACTION_DIGITS;
+        while (nano % 10 == 0) {
+            nano /= 10;
+            digits--;
+        }
+        char[] text = new char[prefix.length + 1 + digits];
+        System.arraycopy(prefix, 0, text, 0, prefix.length);
+        text[prefix.length] = '.';
+        for (int i = text.length - 1; i > prefix.length; i--) {
+            text[i] = (char) ('0' + nano % 10);
+            nano /= 10;
+        }
+        generator.writeString(text, 0, text.length);
+    }
+
+    private record CachedSecond(long second, char[] text) {
+    }
+}
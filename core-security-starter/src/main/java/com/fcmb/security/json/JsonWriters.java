@@ -0,0 +1,40 @@
+package com.fcmb.security.json;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fcmb.security.dto.ErrorResponse;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// ObjectWriters bound to a root type, so the root serializer is resolved once
+// instead of being looked up on every writeValue call
+public class JsonWriters {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter errorResponseWriter;
+    private final ConcurrentMap<JavaType, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public JsonWriters(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.errorResponseWriter = forType(ErrorResponse.class);
+    }
+
+    public ObjectWriter errorResponse() {
+        return errorResponseWriter;
+    }
+
+    public ObjectWriter forType(Class<?> type) {
+        return forType(objectMapper.constructType(type));
+    }
+
+    public ObjectWriter forType(JavaType type) {
+        return writers.computeIfAbsent(type, objectMapper::writerFor);
+    }
+
+    public ObjectWriter forListOf(Class<?> elementType) {
+        return forType(objectMapper.getTypeFactory().constructCollectionType(List.class, elementType));
+    }
+}
@@ -0,0 +1,34 @@
+package com.fcmb.security.jwt;
+
+import com.fcmb.security.jwt.core.JwtClaims;
+import lombok.Value;
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+import java.time.Instant;
+import java.util.List;
+
+// Authentication principal built from verified token claims, so the current user's
+// identity is available without a database lookup
+@Value
+public class JwtPrincipal implements AuthenticatedPrincipal {
+
+    Long userId;
+    String username;
+    List<String> roles;
+    String issuer;
+    Instant expiresAt;
+
+    public static JwtPrincipal from(JwtClaims claims) {
+        return new JwtPrincipal(
+                claims.getUserId(),
+                claims.getUsername(),
+                claims.getRoles() != null ? List.copyOf(claims.getRoles()) : List.of(),
+                claims.getIssuer(),
+                claims.getExpiresAt());
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -1,86 +1,154 @@
 package com.fcmb.security.jwt;
 
-import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import com.fcmb.security.jfr.TokenIssuanceEvent;
+import com.fcmb.security.jfr.TokenVerificationEvent;
+import com.fcmb.security.jwt.core.JwtClaims;
+import com.fcmb.security.jwt.core.JwtCodec;
+import com.fcmb.security.jwt.core.JwtIssuerDefinition;
+import com.fcmb.security.jwt.core.TokenStatus;
+import com.fcmb.security.jwt.core.TokenVerification;
+import com.fcmb.security.jwt.core.UntrustedIssuerException;
+import com.fcmb.security.observation.AuthObservations;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.GrantedAuthority;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
-import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
+// Spring Security adapter over jwt-core's JwtCodec: takes granted authorities, logs rejections and
+// emits JFR events. Events follow the begin/shouldCommit idiom with the event kept local, so with no
+// recording the JIT removes them.
 @Slf4j
 public class JwtUtil {
 
-    private final SecretKey secretKey;
-    private final long expirationMs;
+    private final JwtCodec codec;
     private final String issuer;
 
     public JwtUtil(String secret, long expirationMs, String issuer) {
-        this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-        this.expirationMs = expirationMs;
-        this.issuer = issuer;
+        this(JwtIssuerDefinition.builder()
+                .issuer(issuer)
+                .secretKey(secret)
+                .expirationMs(expirationMs)
+                .build(), List.of());
     }
 
-    public String generateToken(Long userId, String username, List<? extends GrantedAuthority> authorities) {
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + expirationMs);
-
-        List<String> roles = authorities.stream()
-                .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.toList());
+    public JwtUtil(JwtIssuerDefinition primary, List<JwtIssuerDefinition> trustedIssuers) {
+        this(primary, trustedIssuers, AuthObservations.DISABLED);
+    }
 
-        return Jwts.builder()
-                .subject(username)
-                .claim("userId", userId)
-                .claim("username", username)
-                .claim("roles", roles)
-                .issuer(issuer)
-                .issuedAt(now)
-                .expiration(expiryDate)
-                .signWith(secretKey)
-                .compact();
+    public JwtUtil(JwtIssuerDefinition primary, List<JwtIssuerDefinition> trustedIssuers,
+                   AuthObservations observations) {
+        this.codec = new JwtCodec(primary, trustedIssuers, observations);
+        this.issuer = primary.getIssuer();
     }
 
-    public String extractUsername(String token) {
-        return extractClaims(token).getSubject();
+    public JwtCodec getCodec() {
+        return codec;
     }
 
-    public Long extractUserId(String token) {
-        return extractClaims(token).get("userId", Long.class);
+    public String generateToken(Long userId, String username, List<? extends GrantedAuthority> authorities) {
+        return generateToken(userId, username, authorities, null);
     }
 
-    @SuppressWarnings("unchecked")
-    public List<String> extractRoles(String token) {
-        return extractClaims(token).get("roles", List.class);
+    // Token for a call to another service, named in the aud claim
+    public String generateToken(Long userId, String username, List<? extends GrantedAuthority> authorities,
+                                String audience) {
+        TokenIssuanceEvent event = new TokenIssuanceEvent();
+        event.begin();
+        List<String> roles = authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
+        String token = codec.generateToken(userId, username, roles, audience);
+        event.end();
+        if (event.shouldCommit()) {
+            event.setTokenType("jwt");
+            event.setIssuer(issuer);
+            event.setRoleCount(roles.size());
+            event.commit();
+        }
+        return token;
     }
 
+    // Verifies the token against the issuer named in its payload and maps its claims.
+    // Throws a JwtException subtype when the token is not acceptable.
+    public JwtClaims parseToken(String token) {
+        return codec.parseToken(token);
+    }
 
-    public boolean validateToken(String token) {
+    public Optional<JwtClaims> verify(String token) {
+        TokenVerificationEvent event = new TokenVerificationEvent();
+        event.begin();
+        TokenStatus status = TokenStatus.INVALID;
+        JwtClaims claims = null;
         try {
-            extractClaims(token);
-            return true;
+            claims = parseToken(token);
+            status = TokenStatus.ACTIVE;
+            return Optional.of(claims);
         } catch (MalformedJwtException e) {
+            status = TokenStatus.MALFORMED;
             log.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
+            status = TokenStatus.EXPIRED;
             log.error("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
             log.error("JWT token is unsupported: {}", e.getMessage());
+        } catch (UntrustedIssuerException e) {
+            status = TokenStatus.UNTRUSTED_ISSUER;
+            log.error("JWT token issuer is not trusted: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
+            status = TokenStatus.MALFORMED;
             log.error("JWT claims string is empty: {}", e.getMessage());
+        } catch (SignatureException e) {
+            status = TokenStatus.INVALID_SIGNATURE;
+            log.error("JWT signature is invalid: {}", e.getMessage());
         } catch (Exception e) {
             log.error("JWT validation error: {}", e.getMessage());
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                commitVerification(event, status, claims);
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Same verification as verify(), but reports why a token was rejected instead of logging it
+    public TokenVerification inspect(String token) {
+        TokenVerificationEvent event = new TokenVerificationEvent();
+        event.begin();
+        TokenVerification verification = codec.inspect(token);
+        event.end();
+        if (event.shouldCommit()) {
+            commitVerification(event, verification.getStatus(), verification.getClaims());
         }
-        return false;
+        return verification;
+    }
+
+    public String extractUsername(String token) {
+        return parseToken(token).getUsername();
+    }
+
+    public Long extractUserId(String token) {
+        return parseToken(token).getUserId();
+    }
+
+    public List<String> extractRoles(String token) {
+        return parseToken(token).getRoles();
+    }
+
+    public boolean validateToken(String token) {
+        return verify(token).isPresent();
     }
 
-    private Claims extractClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private static void commitVerification(TokenVerificationEvent event, TokenStatus status, JwtClaims claims) {
+        event.setTokenType("jwt");
+        event.setOutcome(status.name());
+        event.setIssuer(claims != null ? claims.getIssuer() : null);
+        event.commit();
     }
 }
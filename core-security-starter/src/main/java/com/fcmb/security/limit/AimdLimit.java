@@ -0,0 +1,65 @@
+package com.fcmb.security.limit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Additive-increase / multiplicative-decrease concurrency limit. A sample that was dropped or took
+// longer than the latency threshold shrinks the limit by the backoff ratio, at most once per window:
+// requests already running when the limit last shrank saw the same congestion, so their samples are
+// ignored. A successful sample while at least half the limit is in use adds 1 / limit, so a full
+// limit's worth of successes grows it by about one. Lock-free; the limit is a double kept as raw bits.
+public class AimdLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+
+    private final AtomicLong limit;
+    private final AtomicLong decreasedAt;
+
+    public AimdLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long latencyThresholdMs) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMs);
+        this.limit = new AtomicLong(Double.doubleToRawLongBits(initialLimit));
+        // No decrease yet: far enough back that every request counts as started after it
+        this.decreasedAt = new AtomicLong(System.nanoTime() - Long.MAX_VALUE / 2);
+    }
+
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(limit.get());
+    }
+
+    void onSample(long startNanos, long now, int inflight, boolean dropped) {
+        if (dropped || now - startNanos > latencyThresholdNanos) {
+            long last = decreasedAt.get();
+            if (startNanos - last >= 0 && decreasedAt.compareAndSet(last, now)) {
+                update(false);
+            }
+        } else if (inflight * 2 >= getLimit()) {
+            update(true);
+        }
+    }
+
+    private void update(boolean increase) {
+        while (true) {
+            long bits = limit.get();
+            double current = Double.longBitsToDouble(bits);
+            double next = increase
+                    ? Math.min(maxLimit, current + 1 / current)
+                    : Math.max(minLimit, current * backoffRatio);
+            // At a bound there is nothing to write, so a saturated limit costs no CAS
+            if (next == current || limit.compareAndSet(bits, Double.doubleToRawLongBits(next))) {
+                return;
+            }
+        }
+    }
+}
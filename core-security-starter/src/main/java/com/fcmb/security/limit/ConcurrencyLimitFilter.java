@@ -0,0 +1,105 @@
+package com.fcmb.security.limit;
+
+import com.fcmb.security.dto.ErrorResponse;
+import com.fcmb.security.json.JsonWriters;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+// Runs after JwtAuthenticationFilter, so the partition can be chosen from the caller's roles.
+// Rejected requests get a 503 with Retry-After before any controller work is done.
+@Slf4j
+@RequiredArgsConstructor
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final ConcurrencyLimiter limiter;
+    private final List<String> partitionRoles;
+    private final long retryAfterSeconds;
+    private final JsonWriters jsonWriters;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        ConcurrencyLimiter.Partition partition = limiter.partition(partitionFor(
+                SecurityContextHolder.getContext().getAuthentication()));
+        long start = System.nanoTime();
+        int inflight = limiter.acquire(partition);
+        if (inflight == 0) {
+            log.debug("Shedding {} {} in partition '{}' at limit {}",
+                    request.getMethod(), request.getRequestURI(), partition.getName(), limiter.getLimit());
+            reject(request, response);
+            return;
+        }
+
+        boolean dropped = false;
+        try {
+            filterChain.doFilter(request, response);
+            // Overload and timeouts reported by whatever sits behind us count as congestion, application
+            // errors do not
+            dropped = response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value()
+                    || response.getStatus() == HttpStatus.GATEWAY_TIMEOUT.value();
+        } catch (IOException | ServletException | RuntimeException e) {
+            dropped = isTimeout(e);
+            throw e;
+        } finally {
+            limiter.release(partition, start, inflight, dropped);
+        }
+    }
+
+    private static boolean isTimeout(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException || cause instanceof SocketTimeoutException
+                    || cause instanceof AsyncRequestTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String partitionFor(Authentication authentication) {
+        if (authentication == null || partitionRoles.isEmpty()) {
+            return ConcurrencyLimiter.DEFAULT_PARTITION;
+        }
+        for (String role : partitionRoles) {
+            for (GrantedAuthority authority : authentication.getAuthorities()) {
+                if (role.equals(authority.getAuthority())) {
+                    return role;
+                }
+            }
+        }
+        return ConcurrencyLimiter.DEFAULT_PARTITION;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ErrorResponse errorResponse = ErrorResponse.of(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                "The server is at capacity, please retry later",
+                request.getRequestURI()
+        );
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        byte[] body = jsonWriters.errorResponse().writeValueAsBytes(errorResponse);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
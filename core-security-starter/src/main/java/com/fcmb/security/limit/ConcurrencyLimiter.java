@@ -0,0 +1,113 @@
+package com.fcmb.security.limit;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Caps in-flight requests at an adaptive limit split into priority partitions. Each partition keeps a
+// reserved share of the limit that other partitions may not take while it is unused; capacity beyond
+// all reservations is shared. Requests that fit nowhere are rejected immediately rather than queued.
+// Admission counts on per-partition atomics: a request only races with its own partition's counter,
+// so requests of different partitions admitted at the same instant may overshoot the limit by one
+// each. Nothing takes a lock; the in-flight total seen at admission is handed back on release so the
+// AIMD sample does not walk the partitions again.
+public class ConcurrencyLimiter {
+
+    public static final String DEFAULT_PARTITION = "default";
+
+    private final AimdLimit limit;
+    private final Map<String, Partition> partitions;
+    private final Partition defaultPartition;
+
+    // Reserved shares by partition name, in priority order; the remainder goes to DEFAULT_PARTITION
+    public ConcurrencyLimiter(AimdLimit limit, Map<String, Double> reservedShares) {
+        double total = reservedShares.values().stream().mapToDouble(Double::doubleValue).sum();
+        if (total >= 1) {
+            throw new IllegalArgumentException("Reserved partition shares must add up to less than 1");
+        }
+        Map<String, Partition> byName = new LinkedHashMap<>();
+        reservedShares.forEach((name, share) -> byName.put(name, new Partition(name, share)));
+        this.defaultPartition = new Partition(DEFAULT_PARTITION, 0);
+        byName.put(DEFAULT_PARTITION, defaultPartition);
+
+        this.limit = limit;
+        this.partitions = Collections.unmodifiableMap(byName);
+    }
+
+    public Partition partition(String name) {
+        return partitions.getOrDefault(name, defaultPartition);
+    }
+
+    public Collection<Partition> partitions() {
+        return partitions.values();
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public int getInflight() {
+        int inflight = 0;
+        for (Partition partition : partitions.values()) {
+            inflight += partition.inflight.get();
+        }
+        return inflight;
+    }
+
+    // Requests in flight including this one, to be passed to release, or 0 when it was rejected
+    public int acquire(Partition partition) {
+        int currentLimit = limit.getLimit();
+        for (;;) {
+            int own = partition.inflight.get();
+            int others = 0;
+            int heldBack = 0;
+            for (Partition other : partitions.values()) {
+                if (other != partition) {
+                    int inflight = other.inflight.get();
+                    others += inflight;
+                    heldBack += Math.max(0, other.reserved(currentLimit) - inflight);
+                }
+            }
+            if (own + others + heldBack >= currentLimit) {
+                partition.rejected.increment();
+                return 0;
+            }
+            if (partition.inflight.compareAndSet(own, own + 1)) {
+                return own + others + 1;
+            }
+        }
+    }
+
+    public void release(Partition partition, long startNanos, int inflight, boolean dropped) {
+        partition.inflight.decrementAndGet();
+        limit.onSample(startNanos, System.nanoTime(), inflight, dropped);
+    }
+
+    public static final class Partition {
+
+        private final String name;
+        private final double reservedShare;
+        private final LongAdder rejected = new LongAdder();
+        private final AtomicInteger inflight = new AtomicInteger();
+
+        private Partition(String name, double reservedShare) {
+            this.name = name;
+            this.reservedShare = reservedShare;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getRejected() {
+            return rejected.sum();
+        }
+
+        private int reserved(int limit) {
+            return (int) (limit * reservedShare);
+        }
+    }
+}
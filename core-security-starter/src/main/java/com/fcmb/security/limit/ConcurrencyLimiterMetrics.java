@@ -0,0 +1,29 @@
+package com.fcmb.security.limit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class ConcurrencyLimiterMetrics implements MeterBinder {
+
+    private final ConcurrencyLimiter limiter;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("security.concurrency.limit", limiter, ConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(registry);
+        Gauge.builder("security.concurrency.inflight", limiter, ConcurrencyLimiter::getInflight)
+                .description("Requests currently admitted by the concurrency limiter")
+                .register(registry);
+        for (ConcurrencyLimiter.Partition partition : limiter.partitions()) {
+            FunctionCounter.builder("security.concurrency.rejected", partition, ConcurrencyLimiter.Partition::getRejected)
+                    .description("Requests shed with 503 by the concurrency limiter")
+                    .tag("partition", partition.getName())
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.fcmb.security.observation;
+
+import com.fcmb.security.jfr.LoginEvent;
+import com.fcmb.security.jwt.core.JwtPhase;
+import com.fcmb.security.jwt.core.JwtPhaseObserver;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+import java.util.function.Supplier;
+
+// Wraps authentication phases in Micrometer observations and, when enabled, Server-Timing entries.
+// Login phases also add up on the JFR login event while one is being recorded. With all of them off,
+// observe() is a plain call: no observation, clock read or allocation.
+public class AuthObservations implements JwtPhaseObserver {
+
+    public static final AuthObservations DISABLED = new AuthObservations(ObservationRegistry.NOOP, false);
+
+    private static final ThreadLocal<LoginEvent> CURRENT_LOGIN = new ThreadLocal<>();
+
+    private final ObservationRegistry registry;
+    private final boolean serverTiming;
+
+    public AuthObservations(ObservationRegistry registry, boolean serverTiming) {
+        this.registry = registry;
+        this.serverTiming = serverTiming;
+    }
+
+    public boolean isServerTimingEnabled() {
+        return serverTiming;
+    }
+
+    // Verification phases run inside jwt-core's JwtCodec
+    @Override
+    public <T> T observe(JwtPhase phase, Supplier<T> work) {
+        return observe(phase == JwtPhase.SIGNATURE ? AuthPhase.JWT_SIGNATURE : AuthPhase.JWT_CLAIMS, work);
+    }
+
+    public <T> T observe(AuthPhase phase, Supplier<T> work) {
+        ServerTiming timing = serverTiming ? ServerTiming.current() : null;
+        LoginEvent login = phase.isLogin() ? CURRENT_LOGIN.get() : null;
+        if (timing == null && login == null && registry.isNoop()) {
+            return work.get();
+        }
+
+        Observation observation = Observation.start(phase.getObservationName(), registry);
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } catch (RuntimeException | Error e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            if (timing != null) {
+                timing.record(phase, elapsed);
+            }
+            if (login != null) {
+                login.record(phase, elapsed);
+            }
+            observation.stop();
+        }
+    }
+
+    // Records a whole username/password login as a JFR LoginEvent when that event is enabled;
+    // the outcome is SUCCESS or the simple name of the exception the login ended with
+    public <T> T observeLogin(Supplier<T> login) {
+        LoginEvent event = new LoginEvent();
+        if (!event.isEnabled()) {
+            return login.get();
+        }
+
+        event.begin();
+        CURRENT_LOGIN.set(event);
+        String outcome = LoginEvent.SUCCESS;
+        try {
+            return login.get();
+        } catch (RuntimeException | Error e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            CURRENT_LOGIN.remove();
+            event.end();
+            if (event.shouldCommit()) {
+                event.setOutcome(outcome);
+                event.commit();
+            }
+        }
+    }
+}
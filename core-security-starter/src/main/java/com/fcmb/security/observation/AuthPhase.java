@@ -0,0 +1,37 @@
+package com.fcmb.security.observation;
+
+// Timed phases of token authentication and login: observation name and Server-Timing metric name
+public enum AuthPhase {
+
+    JWT_HEADER("security.jwt.header", "jwt-header", false),
+    JWT_SIGNATURE("security.jwt.signature", "jwt-signature", false),
+    JWT_CLAIMS("security.jwt.claims", "jwt-claims", false),
+    JWT_AUTHORITIES("security.jwt.authorities", "jwt-authorities", false),
+    LOGIN_AUTHENTICATE("security.login.authenticate", "login-authenticate", true),
+    LOGIN_USER_LOOKUP("security.login.user-lookup", "login-user-lookup", true),
+    LOGIN_PASSWORD("security.login.password", "login-password", true),
+    LOGIN_TOKEN("security.login.token", "login-token", true);
+
+    private final String observationName;
+    private final String metricName;
+    private final boolean login;
+
+    AuthPhase(String observationName, String metricName, boolean login) {
+        this.observationName = observationName;
+        this.metricName = metricName;
+        this.login = login;
+    }
+
+    // Login phases are also recorded on the JFR login event
+    public boolean isLogin() {
+        return login;
+    }
+
+    public String getObservationName() {
+        return observationName;
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+}
@@ -0,0 +1,50 @@
+package com.fcmb.security.observation;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Per-request phase durations, collected on the request thread and rendered as a Server-Timing header.
+// Repeated phases (e.g. two user lookups in one login) are summed.
+public final class ServerTiming {
+
+    public static final String HEADER = "Server-Timing";
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+    private final Map<AuthPhase, Long> durations = new EnumMap<>(AuthPhase.class);
+
+    static ServerTiming current() {
+        return CURRENT.get();
+    }
+
+    static ServerTiming begin() {
+        ServerTiming timing = new ServerTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    void record(AuthPhase phase, long nanos) {
+        durations.merge(phase, nanos, Long::sum);
+    }
+
+    public boolean isEmpty() {
+        return durations.isEmpty();
+    }
+
+    public String headerValue() {
+        StringBuilder value = new StringBuilder();
+        durations.forEach((phase, nanos) -> {
+            if (!value.isEmpty()) {
+                value.append(", ");
+            }
+            value.append(phase.getMetricName()).append(";dur=")
+                    .append(String.format(Locale.ROOT, "%.3f", nanos / 1e6));
+        });
+        return value.toString();
+    }
+}
@@ -0,0 +1,54 @@
+package com.fcmb.security.observation;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Adds the phase durations collected during the request as a Server-Timing header.
+// The header is written just before the response commits, or after the chain if it never did.
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        ServerTiming timing = ServerTiming.begin();
+        ServerTimingResponse timedResponse = new ServerTimingResponse(response, timing);
+        try {
+            filterChain.doFilter(request, timedResponse);
+        } finally {
+            ServerTiming.end();
+            timedResponse.writeHeader();
+        }
+    }
+
+    private static final class ServerTimingResponse extends OnCommittedResponseWrapper {
+
+        private final ServerTiming timing;
+        private boolean written;
+
+        ServerTimingResponse(HttpServletResponse response, ServerTiming timing) {
+            super(response);
+            this.timing = timing;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeader();
+        }
+
+        void writeHeader() {
+            HttpServletResponse response = (HttpServletResponse) getResponse();
+            if (written || response.isCommitted() || timing.isEmpty()) {
+                return;
+            }
+            written = true;
+            response.setHeader(ServerTiming.HEADER, timing.headerValue());
+        }
+    }
+}
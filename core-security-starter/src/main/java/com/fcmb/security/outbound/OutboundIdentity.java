@@ -0,0 +1,25 @@
+package com.fcmb.security.outbound;
+
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+// Who an outbound token speaks for: the claims it is signed with. Part of the cache key, so clients
+// should build it once rather than per call.
+public record OutboundIdentity(Long userId, String username, List<String> roles) {
+
+    public OutboundIdentity {
+        if (username == null || username.isBlank()) {
+            throw new IllegalArgumentException("Outbound identity needs a username");
+        }
+        roles = roles != null ? List.copyOf(roles) : List.of();
+    }
+
+    public static OutboundIdentity of(Long userId, String username, String... roles) {
+        return new OutboundIdentity(userId, username, List.of(roles));
+    }
+
+    List<SimpleGrantedAuthority> authorities() {
+        return roles.stream().map(SimpleGrantedAuthority::new).toList();
+    }
+}
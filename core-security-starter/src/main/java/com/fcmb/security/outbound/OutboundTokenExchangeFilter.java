@@ -0,0 +1,33 @@
+package com.fcmb.security.outbound;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+// WebClient filter that sends this service's cached token for one audience. Renewals run on the
+// manager's own thread, so the event loop only signs when the key has no usable token yet.
+public class OutboundTokenExchangeFilter implements ExchangeFilterFunction {
+
+    private final OutboundTokenManager manager;
+    private final String audience;
+    private final OutboundIdentity identity;
+
+    public OutboundTokenExchangeFilter(OutboundTokenManager manager, String audience) {
+        this(manager, audience, manager.getDefaultIdentity());
+    }
+
+    public OutboundTokenExchangeFilter(OutboundTokenManager manager, String audience, OutboundIdentity identity) {
+        this.manager = manager;
+        this.audience = audience;
+        this.identity = identity;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return next.exchange(ClientRequest.from(request)
+                .headers(headers -> headers.set(manager.getHeaderName(), manager.authorization(audience, identity)))
+                .build());
+    }
+}
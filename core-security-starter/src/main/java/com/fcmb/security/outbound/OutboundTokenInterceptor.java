@@ -0,0 +1,33 @@
+package com.fcmb.security.outbound;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+// RestClient / RestTemplate interceptor that sends this service's cached token for one audience
+public class OutboundTokenInterceptor implements ClientHttpRequestInterceptor {
+
+    private final OutboundTokenManager manager;
+    private final String audience;
+    private final OutboundIdentity identity;
+
+    public OutboundTokenInterceptor(OutboundTokenManager manager, String audience) {
+        this(manager, audience, manager.getDefaultIdentity());
+    }
+
+    public OutboundTokenInterceptor(OutboundTokenManager manager, String audience, OutboundIdentity identity) {
+        this.manager = manager;
+        this.audience = audience;
+        this.identity = identity;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        request.getHeaders().set(manager.getHeaderName(), manager.authorization(audience, identity));
+        return execution.execute(request, body);
+    }
+}
@@ -0,0 +1,183 @@
+package com.fcmb.security.outbound;
+
+import com.fcmb.security.jwt.JwtUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+// Signs tokens for this service's calls to other services once per (audience, identity) and hands out
+// the cached token until it is due for renewal. Past renewAfter of its lifetime the first caller to
+// notice queues a single background renewal and every caller keeps getting the current token until
+// the new one replaces it. Only a missing or nearly expired token is signed on the caller's thread,
+// and concurrent callers for the same key share that signature.
+@Slf4j
+public class OutboundTokenManager implements AutoCloseable {
+
+    // A token this close to expiry could lapse in flight, so it is signed afresh instead of sent
+    private static final long EXPIRY_MARGIN_MS = 5_000;
+
+    private final JwtUtil jwtUtil;
+    private final OutboundIdentity defaultIdentity;
+    private final String headerName;
+    private final String tokenPrefix;
+    private final long lifetimeMs;
+    private final long renewAfterMs;
+    private final long marginMs;
+    private final int maxEntries;
+    private final Map<Key, CachedToken> tokens = new ConcurrentHashMap<>();
+    private final ExecutorService renewals;
+    private final LongAdder mintedOnMiss = new LongAdder();
+    private final LongAdder mintedOnRenewal = new LongAdder();
+
+    public OutboundTokenManager(JwtUtil jwtUtil, OutboundIdentity defaultIdentity, String headerName,
+                                String tokenPrefix, long lifetimeMs, double renewAfter, int maxEntries) {
+        if (lifetimeMs <= 0 || maxEntries <= 0) {
+            throw new IllegalArgumentException("Outbound token lifetime and cache size must be positive");
+        }
+        if (renewAfter <= 0 || renewAfter >= 1) {
+            throw new IllegalArgumentException("Outbound token renew-after must be between 0 and 1");
+        }
+        this.jwtUtil = jwtUtil;
+        this.defaultIdentity = defaultIdentity;
+        this.headerName = headerName;
+        this.tokenPrefix = tokenPrefix != null ? tokenPrefix : "";
+        this.lifetimeMs = lifetimeMs;
+        this.renewAfterMs = (long) (lifetimeMs * renewAfter);
+        this.marginMs = Math.min(EXPIRY_MARGIN_MS, lifetimeMs / 10);
+        this.maxEntries = maxEntries;
+        if (renewAfterMs > lifetimeMs - 1_000 - 2 * marginMs) {
+            log.warn("Outbound token renew-after {} leaves no time to renew before expiry; renewing {} ms before the token becomes unusable instead",
+                    renewAfter, marginMs);
+        }
+        this.renewals = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbound-token-renewal");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public OutboundIdentity getDefaultIdentity() {
+        return defaultIdentity;
+    }
+
+    public String getHeaderName() {
+        return headerName;
+    }
+
+    public String token(String audience) {
+        return token(audience, defaultIdentity);
+    }
+
+    public String token(String audience, OutboundIdentity identity) {
+        return cached(audience, identity).token;
+    }
+
+    // The whole header value, prefix included; kept with the token so requests do not concatenate
+    public String authorization(String audience, OutboundIdentity identity) {
+        return cached(audience, identity).authorization;
+    }
+
+    public long getMintedOnMiss() {
+        return mintedOnMiss.sum();
+    }
+
+    public long getMintedOnRenewal() {
+        return mintedOnRenewal.sum();
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+
+    @Override
+    public void close() {
+        renewals.shutdownNow();
+    }
+
+    private CachedToken cached(String audience, OutboundIdentity identity) {
+        Key key = new Key(Objects.requireNonNull(audience, "audience"), Objects.requireNonNull(identity, "identity"));
+        long now = System.currentTimeMillis();
+        CachedToken cached = tokens.get(key);
+        if (cached == null || now >= cached.usableUntil) {
+            // Concurrent misses on one key wait for a single signature rather than each signing
+            cached = tokens.compute(key, (k, current) -> current != null && System.currentTimeMillis() < current.usableUntil
+                    ? current
+                    : mint(k, mintedOnMiss));
+            if (tokens.size() > maxEntries) {
+                evict();
+            }
+        } else if (now >= cached.renewAt && cached.renewing.compareAndSet(false, true)) {
+            renew(key, cached);
+        }
+        return cached;
+    }
+
+    private void renew(Key key, CachedToken cached) {
+        try {
+            renewals.execute(() -> {
+                try {
+                    tokens.replace(key, cached, mint(key, mintedOnRenewal));
+                } catch (RuntimeException e) {
+                    // The current token stays in use; the next caller past the renewal point retries
+                    log.warn("Renewing the outbound token for audience {} failed: {}", key.audience(), e.getMessage());
+                    cached.renewing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            cached.renewing.set(false);
+        }
+    }
+
+    private CachedToken mint(Key key, LongAdder counter) {
+        long issuedAt = System.currentTimeMillis();
+        OutboundIdentity identity = key.identity();
+        String token = jwtUtil.generateToken(identity.userId(), identity.username(), identity.authorities(),
+                key.audience());
+        counter.increment();
+        // exp is written in whole seconds, so the token may lapse up to a second before issuedAt + lifetime
+        long expiresAt = (issuedAt + lifetimeMs) / 1000 * 1000;
+        long usableUntil = expiresAt - marginMs;
+        // A renewal point past usableUntil would never be reached, so callers would sign on every expiry
+        long renewAt = Math.min(issuedAt + renewAfterMs, usableUntil - marginMs);
+        return new CachedToken(token, tokenPrefix + token, renewAt, usableUntil);
+    }
+
+    // Unusable entries go first, then the ones signed longest ago
+    private void evict() {
+        long now = System.currentTimeMillis();
+        tokens.values().removeIf(cached -> now >= cached.usableUntil);
+        while (tokens.size() > maxEntries) {
+            tokens.entrySet().stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue().renewAt))
+                    .ifPresent(entry -> tokens.remove(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    private record Key(String audience, OutboundIdentity identity) {
+    }
+
+    // Compared by identity, so a renewal only replaces the entry it was started for
+    private static final class CachedToken {
+
+        private final String token;
+        private final String authorization;
+        private final long renewAt;
+        private final long usableUntil;
+        private final AtomicBoolean renewing = new AtomicBoolean();
+
+        private CachedToken(String token, String authorization, long renewAt, long usableUntil) {
+            this.token = token;
+            this.authorization = authorization;
+            this.renewAt = renewAt;
+            this.usableUntil = usableUntil;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.fcmb.security.outbound;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class OutboundTokenMetrics implements MeterBinder {
+
+    private final OutboundTokenManager manager;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("security.outbound.tokens.minted", manager, OutboundTokenManager::getMintedOnMiss)
+                .description("Outbound tokens signed; miss on the caller's thread, renewal in the background")
+                .tag("trigger", "miss")
+                .register(registry);
+        FunctionCounter.builder("security.outbound.tokens.minted", manager, OutboundTokenManager::getMintedOnRenewal)
+                .description("Outbound tokens signed; miss on the caller's thread, renewal in the background")
+                .tag("trigger", "renewal")
+                .register(registry);
+        Gauge.builder("security.outbound.tokens.cached", manager, OutboundTokenManager::size)
+                .description("Outbound tokens currently cached")
+                .register(registry);
+    }
+}
@@ -0,0 +1,49 @@
+package com.fcmb.security.quota;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket kept as a single "theoretical arrival time" (GCRA): the instant at which the bucket
+// would be full again. Refill is implicit in comparing it with the current time, so a request is one
+// read and one CAS, and a bucket whose arrival time has passed is indistinguishable from a new one.
+// The tier is applied per request rather than stored, so a caller whose roles change keeps its debt.
+public final class QuotaBucket {
+
+    private final AtomicLong fullAt;
+
+    QuotaBucket(long now) {
+        this.fullAt = new AtomicLong(now);
+    }
+
+    // Remaining requests after this one, or -1 when this request is over quota
+    public long tryAcquire(QuotaTier tier, long now) {
+        long interval = tier.emissionIntervalNanos();
+        long period = tier.periodNanos();
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + interval;
+            long debt = next - now;
+            if (debt > period) {
+                return -1;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return (period - debt) / interval;
+            }
+        }
+    }
+
+    public long nanosUntilFull(long now) {
+        return Math.max(0, fullAt.get() - now);
+    }
+
+    public long nanosUntilNextToken(QuotaTier tier, long now) {
+        return Math.max(0, fullAt.get() + tier.emissionIntervalNanos() - tier.periodNanos() - now);
+    }
+
+    long fullAt() {
+        return fullAt.get();
+    }
+
+    boolean isIdle(long now) {
+        return fullAt.get() - now <= 0;
+    }
+}
@@ -0,0 +1,87 @@
+package com.fcmb.security.quota;
+
+import com.fcmb.security.dto.ErrorResponse;
+import com.fcmb.security.json.JsonWriters;
+import com.fcmb.security.jwt.JwtPrincipal;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Charges every authenticated request to the bucket of the token's issuer and userId; trusted issuers
+// number their users independently, so the same id from two issuers is two callers. Anonymous requests
+// pass through untouched; they are either public or rejected by the entry point anyway.
+@Slf4j
+@RequiredArgsConstructor
+public class QuotaFilter extends OncePerRequestFilter {
+
+    public static final String LIMIT_HEADER = "RateLimit-Limit";
+    public static final String REMAINING_HEADER = "RateLimit-Remaining";
+    public static final String RESET_HEADER = "RateLimit-Reset";
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final QuotaRegistry quotaRegistry;
+    private final JsonWriters jsonWriters;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof JwtPrincipal principal)
+                || principal.getUserId() == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long now = System.nanoTime();
+        QuotaTier tier = quotaRegistry.tierFor(principal.getRoles());
+        QuotaBucket bucket = quotaRegistry.bucket(principal.getIssuer(), principal.getUserId(), now);
+        long remaining = bucket.tryAcquire(tier, now);
+
+        response.setHeader(LIMIT_HEADER, Long.toString(tier.getCapacity()));
+        if (remaining >= 0) {
+            response.setHeader(REMAINING_HEADER, Long.toString(remaining));
+            response.setHeader(RESET_HEADER, Long.toString(seconds(bucket.nanosUntilFull(now))));
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfter = Math.max(1, seconds(bucket.nanosUntilNextToken(tier, now)));
+        log.debug("Quota '{}' exhausted for user {}", tier.getName(), principal.getUserId());
+        response.setHeader(REMAINING_HEADER, "0");
+        response.setHeader(RESET_HEADER, Long.toString(retryAfter));
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        reject(request, response);
+    }
+
+    private static long seconds(long nanos) {
+        return (nanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ErrorResponse errorResponse = ErrorResponse.of(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                "Request quota exceeded, please retry later",
+                request.getRequestURI()
+        );
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        byte[] body = jsonWriters.errorResponse().writeValueAsBytes(errorResponse);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
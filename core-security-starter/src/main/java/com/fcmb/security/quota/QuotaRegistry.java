@@ -0,0 +1,106 @@
+package com.fcmb.security.quota;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Buckets per issuer and user id, spread over independent stripes that are each capped at
+// maxKeys / stripes. A full stripe drops idle buckets, which never changes a decision. A bucket still
+// refilling is never dropped, since that would hand its user a fresh allowance; while no stored bucket
+// is idle, new callers get a bucket that is not kept, and the stripe is swept again once one can be.
+public class QuotaRegistry {
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final int maxKeysPerStripe;
+    private final String[] tierRoles;
+    private final QuotaTier[] roleTiers;
+    private final QuotaTier defaultTier;
+
+    // roleTiers is in priority order: the first listed role a caller has decides its tier
+    public QuotaRegistry(int stripes, int maxKeys, QuotaTier defaultTier, Map<String, QuotaTier> roleTiers) {
+        if (stripes < 1 || maxKeys < stripes) {
+            throw new IllegalArgumentException("Quota registry needs at least one stripe and one key per stripe");
+        }
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.mask = size - 1;
+        this.maxKeysPerStripe = Math.max(1, maxKeys / size);
+        this.defaultTier = defaultTier;
+        this.tierRoles = roleTiers.keySet().toArray(String[]::new);
+        this.roleTiers = roleTiers.values().toArray(QuotaTier[]::new);
+    }
+
+    public QuotaTier tierFor(List<String> roles) {
+        for (int i = 0; i < tierRoles.length; i++) {
+            if (roles.contains(tierRoles[i])) {
+                return roleTiers[i];
+            }
+        }
+        return defaultTier;
+    }
+
+    public QuotaBucket bucket(String issuer, Long userId, long now) {
+        Key key = new Key(issuer, userId);
+        Stripe stripe = stripes[spread(key.hashCode()) & mask];
+        QuotaBucket bucket = stripe.buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        QuotaBucket fresh = new QuotaBucket(now);
+        if (stripe.buckets.size() >= maxKeysPerStripe && !stripe.makeRoom(now, maxKeysPerStripe)) {
+            return fresh;
+        }
+        QuotaBucket existing = stripe.buckets.putIfAbsent(key, fresh);
+        return existing != null ? existing : fresh;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.buckets.size();
+        }
+        return size;
+    }
+
+    private static int spread(int h) {
+        return h * 0x9E3779B9 >>> 16 ^ h;
+    }
+
+    private record Key(String issuer, Long userId) {
+    }
+
+    private static final class Stripe {
+
+        private final ConcurrentHashMap<Key, QuotaBucket> buckets = new ConcurrentHashMap<>();
+
+        // After a sweep that freed nothing, the earliest time a stored bucket can be idle; arrival times
+        // only move forward, so a full stripe is not rescanned for every new caller before then
+        private boolean busy;
+        private long nextIdleAt;
+
+        synchronized boolean makeRoom(long now, int maxKeys) {
+            if (buckets.size() < maxKeys) {
+                return true;
+            }
+            if (busy && now - nextIdleAt < 0) {
+                return false;
+            }
+            buckets.values().removeIf(bucket -> bucket.isIdle(now));
+            busy = buckets.size() >= maxKeys;
+            if (busy) {
+                nextIdleAt = buckets.values().stream()
+                        .mapToLong(QuotaBucket::fullAt)
+                        .reduce((a, b) -> a - b < 0 ? a : b)
+                        .orElse(now);
+            }
+            return !busy;
+        }
+    }
+}
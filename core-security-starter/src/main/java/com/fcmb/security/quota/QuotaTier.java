@@ -0,0 +1,39 @@
+package com.fcmb.security.quota;
+
+import java.time.Duration;
+
+// A request allowance of `capacity` per `period`, enforced as a token bucket of that size
+// refilled continuously at capacity / period
+public final class QuotaTier {
+
+    private final String name;
+    private final long capacity;
+    private final long periodNanos;
+    private final long emissionIntervalNanos;
+
+    public QuotaTier(String name, long capacity, Duration period) {
+        if (capacity < 1 || period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("Quota tier " + name + " needs a positive capacity and period");
+        }
+        this.name = name;
+        this.capacity = capacity;
+        this.periodNanos = period.toNanos();
+        this.emissionIntervalNanos = Math.max(1, periodNanos / capacity);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    long periodNanos() {
+        return periodNanos;
+    }
+
+    long emissionIntervalNanos() {
+        return emissionIntervalNanos;
+    }
+}
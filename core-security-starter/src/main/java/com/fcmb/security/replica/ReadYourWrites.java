@@ -0,0 +1,85 @@
+package com.fcmb.security.replica;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Remembers which keys (e.g. a username) were written recently, so read-only transactions that
+// touch them can be pinned to the primary until the replicas have caught up. Keys are
+// application-defined; the window should be longer than the expected replication lag.
+public class ReadYourWrites {
+
+    private static final Object PRIMARY_PIN = new Object();
+    private static final int MIN_SWEEP_THRESHOLD = 1024;
+
+    private final long windowNanos;
+    private final Map<String, Long> writes = new ConcurrentHashMap<>();
+
+    private volatile int sweepThreshold = MIN_SWEEP_THRESHOLD;
+
+    public ReadYourWrites(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    // Starts the window when the surrounding transaction commits, or now when there is none
+    public void recordWrite(String key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record(key);
+            }
+        });
+    }
+
+    public boolean isRecent(String key) {
+        Long expiresAt = writes.get(key);
+        return expiresAt != null && expiresAt - System.nanoTime() > 0;
+    }
+
+    // Must run before the transaction's first query; routing is decided when the connection is first used
+    public void pinIfRecent(String key) {
+        if (isRecent(key)) {
+            pinToPrimary();
+        }
+    }
+
+    public int size() {
+        return writes.size();
+    }
+
+    // Sends the rest of the current transaction to the primary; outside a transaction reads go there anyway
+    public static void pinToPrimary() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(PRIMARY_PIN)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(PRIMARY_PIN, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(PRIMARY_PIN);
+            }
+        });
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return TransactionSynchronizationManager.hasResource(PRIMARY_PIN);
+    }
+
+    private void record(String key) {
+        long now = System.nanoTime();
+        writes.put(key, now + windowNanos);
+        // Expired keys are swept once the map doubles, so the cost stays amortized per write
+        if (writes.size() > sweepThreshold) {
+            writes.values().removeIf(expiresAt -> expiresAt - now <= 0);
+            sweepThreshold = Math.max(MIN_SWEEP_THRESHOLD, writes.size() * 2);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.fcmb.security.replica;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Picks the target of each new connection: read-only transactions round-robin over the replicas
+// that are up, everything else goes to the primary. A replica that fails to hand out a connection
+// is skipped for the retry interval. With no replica left, or when the transaction is pinned by
+// ReadYourWrites, read-only transactions use the primary as well.
+@Slf4j
+public class ReplicaRouter extends AbstractDataSource implements Closeable {
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long retryIntervalNanos;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder primaryFallbacks = new LongAdder();
+
+    public ReplicaRouter(DataSource primary, List<DataSource> replicas, Duration retryInterval) {
+        this.primary = primary;
+        for (int i = 0; i < replicas.size(); i++) {
+            this.replicas.add(new Replica("replica[" + i + "]", replicas.get(i)));
+        }
+        this.retryIntervalNanos = retryInterval.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || ReadYourWrites.isPinnedToPrimary()) {
+            return primary.getConnection();
+        }
+
+        int count = replicas.size();
+        int start = count > 0 ? Math.floorMod(next.getAndIncrement(), count) : 0;
+        long now = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            Replica replica = replicas.get((start + i) % count);
+            if (replica.downUntil - now > 0) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replica.markUp();
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException | RuntimeException e) {
+                replica.markDown(now + retryIntervalNanos, e);
+            }
+        }
+
+        primaryFallbacks.increment();
+        return primary.getConnection();
+    }
+
+    // Like the pools it fronts, connections are only handed out with the configured credentials
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Routed connections use the configured credentials");
+    }
+
+    // Lets pool metrics and health checks reach the primary pool through the wrapper
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? (T) this : primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    public int availableReplicas() {
+        long now = System.nanoTime();
+        return (int) replicas.stream().filter(replica -> replica.downUntil - now <= 0).count();
+    }
+
+    public long replicaReads() {
+        return replicaReads.sum();
+    }
+
+    // Read-only transactions that ran on the primary because no replica could serve them
+    public long primaryFallbacks() {
+        return primaryFallbacks.sum();
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            close(replica.name, replica.dataSource);
+        }
+        close("primary", primary);
+    }
+
+    private static void close(String name, DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Failed to close {} data source: {}", name, e.getMessage());
+            }
+        }
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile long downUntil = System.nanoTime();
+        private volatile boolean down;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        private void markDown(long until, Exception cause) {
+            downUntil = until;
+            if (!down) {
+                down = true;
+                log.warn("Read {} is unavailable, routing its reads elsewhere: {}", name, cause.getMessage());
+            }
+        }
+
+        private void markUp() {
+            if (down) {
+                down = false;
+                log.info("Read {} is available again", name);
+            }
+        }
+    }
+}
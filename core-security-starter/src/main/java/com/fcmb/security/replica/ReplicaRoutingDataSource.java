@@ -0,0 +1,27 @@
+package com.fcmb.security.replica;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.io.Closeable;
+
+// Hands out lazy connections that fetch their target on first use. Transaction managers open the
+// connection before they mark the transaction read-only, so routing at that point would always
+// pick the primary; by the first statement the flags are in place for the ReplicaRouter.
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private final ReplicaRouter router;
+
+    public ReplicaRoutingDataSource(ReplicaRouter router) {
+        super(router);
+        this.router = router;
+    }
+
+    public ReplicaRouter getRouter() {
+        return router;
+    }
+
+    @Override
+    public void close() {
+        router.close();
+    }
+}
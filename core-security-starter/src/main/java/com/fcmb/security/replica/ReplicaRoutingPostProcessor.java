@@ -0,0 +1,47 @@
+package com.fcmb.security.replica;
+
+import com.fcmb.security.config.SecurityProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+// Wraps the application's DataSource bean in a ReplicaRoutingDataSource, so the JPA and JDBC
+// infrastructure built on top of it route without further configuration
+@Slf4j
+@RequiredArgsConstructor
+public class ReplicaRoutingPostProcessor implements BeanPostProcessor {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    private final SecurityProperties.ReadReplica readReplica;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource primary)
+                || bean instanceof ReplicaRoutingDataSource) {
+            return bean;
+        }
+
+        List<DataSource> replicas = readReplica.getReplicas().stream()
+                .map(this::build)
+                .toList();
+        if (replicas.isEmpty()) {
+            log.warn("Read replica routing is enabled without replicas; read-only transactions use the primary");
+        } else {
+            log.info("Routing read-only transactions to {} replica(s)", replicas.size());
+        }
+        return new ReplicaRoutingDataSource(new ReplicaRouter(primary, replicas, readReplica.getRetryInterval()));
+    }
+
+    private DataSource build(SecurityProperties.ReadReplica.Replica replica) {
+        return DataSourceBuilder.create(getClass().getClassLoader())
+                .url(replica.getUrl())
+                .username(replica.getUsername())
+                .password(replica.getPassword())
+                .build();
+    }
+}
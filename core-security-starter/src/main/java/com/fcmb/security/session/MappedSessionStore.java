@@ -0,0 +1,641 @@
+package com.fcmb.security.session;
+
+import com.fcmb.security.jwt.core.JwtClaims;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Off-heap session table in a memory-mapped file: fixed 256-byte records with linear probing on the
+// 128-bit handle, lock-free reads validated by a per-record stamp (seqlock), serialised writers, and a
+// timing wheel threaded through the records for expiry. Deletes shift later records of the probe run
+// back instead of leaving tombstones, so a miss stops at the first free slot or after the longest probe
+// distance ever inserted. A clean close lets the file be reopened as is; otherwise the table and its
+// wheel are rebuilt with one pass over the records.
+@Slf4j
+public final class MappedSessionStore implements Closeable {
+
+    public static final int MAX_USERNAME_BYTES = 64;
+    public static final int MAX_ROLES_BYTES = 128;
+
+    private static final long MAGIC = 0x46434D4253455353L;
+    private static final int FORMAT_VERSION = 2;
+    private static final int RECORD_SIZE = 256;
+    private static final int SEGMENT_SHIFT = 22;
+    private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+    private static final int MAX_CAPACITY = 1 << 26;
+    private static final int MAX_WHEEL_SIZE = 1 << 16;
+    private static final int PAGE_SIZE = 4096;
+    private static final int MAX_READ_RETRIES = 64;
+
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 8;
+    private static final int H_RECORD_SIZE = 12;
+    private static final int H_CAPACITY = 16;
+    private static final int H_WHEEL_SIZE = 20;
+    private static final int H_TICK_MS = 24;
+    private static final int H_CURSOR = 32;
+    private static final int H_CLEAN = 40;
+    private static final int H_SIZE = 44;
+    private static final int H_MAX_PROBE = 48;
+    private static final int H_RELOCATIONS = 56;
+    private static final int H_WHEEL = 64;
+
+    private static final int R_STAMP = 0;
+    private static final int R_HANDLE_HI = 8;
+    private static final int R_HANDLE_LO = 16;
+    private static final int R_USER_ID = 24;
+    private static final int R_ISSUED_AT = 32;
+    private static final int R_EXPIRES_AT = 40;
+    private static final int R_WHEEL_NEXT = 48;
+    private static final int R_WHEEL_PREV = 52;
+    private static final int R_USERNAME_LENGTH = 56;
+    private static final int R_ROLES_LENGTH = 58;
+    private static final int R_USERNAME = 64;
+    private static final int R_ROLES = R_USERNAME + MAX_USERNAME_BYTES;
+
+    // Stamp layout: bits 0-1 state, bit 2 write in progress, bits 3+ sequence
+    private static final long FREE = 0;
+    private static final long LIVE = 1;
+    private static final long STATE_MASK = 3;
+    private static final long WRITING = 4;
+    private static final int SEQUENCE_SHIFT = 3;
+
+    private static final long NO_VALUE = Long.MIN_VALUE;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final FileChannel channel;
+    private final FileLock fileLock;
+    private final MappedByteBuffer header;
+    private final MappedByteBuffer[] segments;
+    private final int capacity;
+    private final int mask;
+    private final int maxLive;
+    private final int wheelSize;
+    private final long tickMs;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final byte[] moveBuffer = new byte[RECORD_SIZE - R_HANDLE_HI];
+    private long[] expiredHandles = new long[64];
+
+    private volatile boolean closed;
+
+    private MappedSessionStore(FileChannel channel, FileLock fileLock, int capacity, int wheelSize, long tickMs)
+            throws IOException {
+        this.channel = channel;
+        this.fileLock = fileLock;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.maxLive = capacity / 4 * 3;
+        this.wheelSize = wheelSize;
+        this.tickMs = tickMs;
+
+        int headerSize = headerSize(wheelSize);
+        MappedByteBuffer existing = channel.size() >= headerSize ? map(0, headerSize) : null;
+        boolean compatible = existing != null && isCompatible(existing);
+        if (!compatible) {
+            if (channel.size() > 0) {
+                log.warn("Session store file has an incompatible layout, reinitializing it");
+            }
+            channel.truncate(0);
+        }
+
+        this.header = map(0, headerSize);
+        int segmentCount = (capacity + SEGMENT_MASK) >>> SEGMENT_SHIFT;
+        this.segments = new MappedByteBuffer[segmentCount];
+        for (int s = 0; s < segmentCount; s++) {
+            long records = Math.min(capacity - ((long) s << SEGMENT_SHIFT), 1L << SEGMENT_SHIFT);
+            segments[s] = map(headerSize + ((long) s << SEGMENT_SHIFT) * RECORD_SIZE, records * RECORD_SIZE);
+        }
+
+        if (!compatible) {
+            initializeHeader();
+        } else if (header.getInt(H_CLEAN) != 1) {
+            log.warn("Session store was not closed cleanly, rebuilding it");
+            recover(System.currentTimeMillis());
+        }
+
+        header.putInt(H_CLEAN, 0);
+        header.force();
+    }
+
+    public static MappedSessionStore open(Path path, int capacity, int wheelSize, long tickMs) throws IOException {
+        if (capacity < 16 || capacity > MAX_CAPACITY || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Session store capacity must be a power of two between 16 and " + MAX_CAPACITY);
+        }
+        if (wheelSize < 1 || wheelSize > MAX_WHEEL_SIZE) {
+            throw new IllegalArgumentException("Session store wheel size must be between 1 and " + MAX_WHEEL_SIZE);
+        }
+        if (tickMs < 1) {
+            throw new IllegalArgumentException("Session store tick must be at least 1 ms");
+        }
+
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            FileLock fileLock = channel.tryLock();
+            if (fileLock == null) {
+                throw new IOException("Session store " + path + " is in use by another process");
+            }
+            return new MappedSessionStore(channel, fileLock, capacity, wheelSize, tickMs);
+        } catch (OverlappingFileLockException e) {
+            channel.close();
+            throw new IOException("Session store " + path + " is already open", e);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public JwtClaims get(long handleHi, long handleLo, long nowMillis) {
+        for (int lookup = 0; lookup < MAX_READ_RETRIES; lookup++) {
+            long relocations = (long) LONGS.getAcquire(header, H_RELOCATIONS);
+            JwtClaims claims = find(handleHi, handleLo, nowMillis, header.getInt(H_MAX_PROBE));
+            if (claims != null) {
+                return claims;
+            }
+            // A miss only stands if no record was moved back along the probe run meanwhile
+            VarHandle.acquireFence();
+            if ((relocations & 1) == 0 && (long) LONGS.getVolatile(header, H_RELOCATIONS) == relocations) {
+                return null;
+            }
+            Thread.onSpinWait();
+        }
+        writeLock.lock();
+        try {
+            return find(handleHi, handleLo, nowMillis, header.getInt(H_MAX_PROBE));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private JwtClaims find(long handleHi, long handleLo, long nowMillis, int maxProbe) {
+        int slot = home(handleHi, handleLo);
+        for (int probes = 0; probes <= maxProbe; probes++, slot = (slot + 1) & mask) {
+            MappedByteBuffer buffer = segment(slot);
+            int offset = offset(slot);
+
+            for (int attempt = 0; ; attempt++) {
+                if (attempt > MAX_READ_RETRIES) {
+                    return null;
+                }
+                long stamp = (long) LONGS.getAcquire(buffer, offset + R_STAMP);
+                if ((stamp & WRITING) != 0) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                if ((stamp & STATE_MASK) == FREE) {
+                    return null;
+                }
+
+                boolean match = buffer.getLong(offset + R_HANDLE_HI) == handleHi
+                        && buffer.getLong(offset + R_HANDLE_LO) == handleLo;
+                if (!match) {
+                    VarHandle.acquireFence();
+                    if ((long) LONGS.getVolatile(buffer, offset + R_STAMP) == stamp) {
+                        break;
+                    }
+                    continue;
+                }
+
+                long userId = buffer.getLong(offset + R_USER_ID);
+                long issuedAt = buffer.getLong(offset + R_ISSUED_AT);
+                long expiresAt = buffer.getLong(offset + R_EXPIRES_AT);
+                int usernameLength = buffer.getShort(offset + R_USERNAME_LENGTH);
+                int rolesLength = buffer.getShort(offset + R_ROLES_LENGTH);
+                if (usernameLength < 0 || usernameLength > MAX_USERNAME_BYTES
+                        || rolesLength < 0 || rolesLength > MAX_ROLES_BYTES) {
+                    continue;
+                }
+                byte[] username = new byte[usernameLength];
+                byte[] roles = new byte[rolesLength];
+                buffer.get(offset + R_USERNAME, username);
+                buffer.get(offset + R_ROLES, roles);
+
+                VarHandle.acquireFence();
+                if ((long) LONGS.getVolatile(buffer, offset + R_STAMP) != stamp) {
+                    continue;
+                }
+                if (expiresAt <= nowMillis) {
+                    return null;
+                }
+                return toClaims(userId, username, roles, issuedAt, expiresAt);
+            }
+        }
+        return null;
+    }
+
+    public void put(long handleHi, long handleLo, JwtClaims claims) {
+        byte[] username = encode(claims.getUsername(), MAX_USERNAME_BYTES, "Username");
+        byte[] roles = encode(String.join(",", claims.getRoles()), MAX_ROLES_BYTES, "Roles");
+        long expiresAt = claims.getExpiresAt().toEpochMilli();
+
+        writeLock.lock();
+        try {
+            ensureOpen();
+            if (size() >= maxLive) {
+                expire(System.currentTimeMillis());
+                if (size() >= maxLive) {
+                    throw new SessionStoreFullException("Session store is full (" + size() + " live sessions)");
+                }
+            }
+
+            // At most 75% of the slots are live, so the run always ends at a free slot
+            int target = home(handleHi, handleLo);
+            int distance = 0;
+            while ((stamp(target) & STATE_MASK) != FREE) {
+                if (handleMatches(target, handleHi, handleLo)) {
+                    unlink(target);
+                    header.putInt(H_SIZE, size() - 1);
+                    break;
+                }
+                target = (target + 1) & mask;
+                distance++;
+            }
+            if (distance > header.getInt(H_MAX_PROBE)) {
+                header.putInt(H_MAX_PROBE, distance);
+            }
+
+            MappedByteBuffer buffer = segment(target);
+            int offset = offset(target);
+            long stamp = beginWrite(target);
+            buffer.putLong(offset + R_HANDLE_HI, handleHi);
+            buffer.putLong(offset + R_HANDLE_LO, handleLo);
+            buffer.putLong(offset + R_USER_ID, claims.getUserId() != null ? claims.getUserId() : NO_VALUE);
+            buffer.putLong(offset + R_ISSUED_AT, claims.getIssuedAt() != null ? claims.getIssuedAt().toEpochMilli() : NO_VALUE);
+            buffer.putLong(offset + R_EXPIRES_AT, expiresAt);
+            buffer.putShort(offset + R_USERNAME_LENGTH, (short) username.length);
+            buffer.putShort(offset + R_ROLES_LENGTH, (short) roles.length);
+            buffer.put(offset + R_USERNAME, username);
+            buffer.put(offset + R_ROLES, roles);
+            endWrite(target, stamp, LIVE);
+
+            link(target, expiresAt);
+            header.putInt(H_SIZE, size() + 1);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public boolean remove(long handleHi, long handleLo) {
+        writeLock.lock();
+        try {
+            ensureOpen();
+            int slot = slotOf(handleHi, handleLo);
+            if (slot < 0) {
+                return false;
+            }
+            unlink(slot);
+            delete(slot);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Advances the wheel over every fully elapsed tick and frees the sessions that expired in it
+    public int expire(long nowMillis) {
+        writeLock.lock();
+        try {
+            if (closed) {
+                return 0;
+            }
+            long lastTick = nowMillis / tickMs - 1;
+            long cursor = header.getLong(H_CURSOR);
+            long from = Math.max(cursor + 1, lastTick - wheelSize + 1);
+
+            int removed = 0;
+            for (long tick = from; tick <= lastTick; tick++) {
+                // Deleting moves records between slots, so collect the bucket's expired handles first
+                int expired = 0;
+                int current = header.getInt(H_WHEEL + (int) Math.floorMod(tick, (long) wheelSize) * 4);
+                while (current != 0) {
+                    MappedByteBuffer buffer = segment(current - 1);
+                    int offset = offset(current - 1);
+                    if (buffer.getLong(offset + R_EXPIRES_AT) <= nowMillis) {
+                        if (expired * 2 == expiredHandles.length) {
+                            expiredHandles = Arrays.copyOf(expiredHandles, expiredHandles.length * 2);
+                        }
+                        expiredHandles[expired * 2] = buffer.getLong(offset + R_HANDLE_HI);
+                        expiredHandles[expired * 2 + 1] = buffer.getLong(offset + R_HANDLE_LO);
+                        expired++;
+                    }
+                    current = buffer.getInt(offset + R_WHEEL_NEXT);
+                }
+                for (int i = 0; i < expired; i++) {
+                    int slot = slotOf(expiredHandles[i * 2], expiredHandles[i * 2 + 1]);
+                    unlink(slot);
+                    delete(slot);
+                }
+                removed += expired;
+            }
+            header.putLong(H_CURSOR, Math.max(cursor, lastTick));
+            return removed;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public int size() {
+        return header.getInt(H_SIZE);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writeLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (MappedByteBuffer segment : segments) {
+                segment.force();
+            }
+            header.putInt(H_CLEAN, 1);
+            header.force();
+            fileLock.release();
+            channel.close();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void initializeHeader() {
+        header.putLong(H_MAGIC, MAGIC);
+        header.putInt(H_VERSION, FORMAT_VERSION);
+        header.putInt(H_RECORD_SIZE, RECORD_SIZE);
+        header.putInt(H_CAPACITY, capacity);
+        header.putInt(H_WHEEL_SIZE, wheelSize);
+        header.putLong(H_TICK_MS, tickMs);
+        header.putLong(H_CURSOR, System.currentTimeMillis() / tickMs - 1);
+        header.putInt(H_SIZE, 0);
+        header.putInt(H_MAX_PROBE, 0);
+        header.putLong(H_RELOCATIONS, 0);
+    }
+
+    private boolean isCompatible(MappedByteBuffer existing) {
+        return existing.getLong(H_MAGIC) == MAGIC
+                && existing.getInt(H_VERSION) == FORMAT_VERSION
+                && existing.getInt(H_RECORD_SIZE) == RECORD_SIZE
+                && existing.getInt(H_CAPACITY) == capacity
+                && existing.getInt(H_WHEEL_SIZE) == wheelSize
+                && existing.getLong(H_TICK_MS) == tickMs;
+    }
+
+    // Runs before the store is shared, so records are moved without regard for readers
+    private void recover(long nowMillis) {
+        for (int bucket = 0; bucket < wheelSize; bucket++) {
+            header.putInt(H_WHEEL + bucket * 4, 0);
+        }
+
+        // Drop torn writes and expired sessions, which leaves gaps inside probe runs. A slot
+        // that was already free ends every run through it, so the compaction below starts after one.
+        int free = -1;
+        for (int slot = 0; slot < capacity; slot++) {
+            long stamp = stamp(slot);
+            if ((stamp & (STATE_MASK | WRITING)) == FREE) {
+                free = slot;
+            } else if ((stamp & WRITING) != 0 || (stamp & STATE_MASK) != LIVE
+                    || segment(slot).getLong(offset(slot) + R_EXPIRES_AT) <= nowMillis) {
+                endWrite(slot, stamp & ~WRITING, FREE);
+            }
+        }
+        if (free < 0) {
+            log.warn("Session store file has no free slot, reinitializing it");
+            for (int slot = 0; slot < capacity; slot++) {
+                endWrite(slot, stamp(slot), FREE);
+            }
+            initializeHeader();
+            return;
+        }
+
+        // In that order each record moves to the first free slot from its home, where the runs are already
+        // compact; a copy left behind by an interrupted shift is dropped.
+        int live = 0;
+        int maxProbe = 0;
+        for (int i = 1; i <= capacity; i++) {
+            int slot = (free + i) & mask;
+            if ((stamp(slot) & STATE_MASK) != LIVE) {
+                continue;
+            }
+            long handleHi = segment(slot).getLong(offset(slot) + R_HANDLE_HI);
+            long handleLo = segment(slot).getLong(offset(slot) + R_HANDLE_LO);
+            int target = home(handleHi, handleLo);
+            while (target != slot && (stamp(target) & STATE_MASK) == LIVE
+                    && !handleMatches(target, handleHi, handleLo)) {
+                target = (target + 1) & mask;
+            }
+            if (target != slot && (stamp(target) & STATE_MASK) == LIVE) {
+                endWrite(slot, stamp(slot), FREE);
+                continue;
+            }
+            if (target != slot) {
+                copy(slot, target);
+                endWrite(slot, stamp(slot), FREE);
+            }
+            link(target, segment(target).getLong(offset(target) + R_EXPIRES_AT));
+            maxProbe = Math.max(maxProbe, (target - home(handleHi, handleLo)) & mask);
+            live++;
+        }
+        header.putInt(H_SIZE, live);
+        header.putInt(H_MAX_PROBE, maxProbe);
+        header.putLong(H_CURSOR, nowMillis / tickMs - 1);
+    }
+
+    // Backward-shift deletion: later records of the probe run whose home is not between the hole and
+    // their slot move into the hole. Until the last hole is freed the deleted slot still holds a record,
+    // so a concurrent reader never meets a free slot in the middle of a run; the relocation counter
+    // tells it to retry a miss that raced with a move.
+    private void delete(int slot) {
+        int hole = slot;
+        boolean relocating = false;
+        for (int next = (hole + 1) & mask; (stamp(next) & STATE_MASK) == LIVE; next = (next + 1) & mask) {
+            int home = home(segment(next).getLong(offset(next) + R_HANDLE_HI),
+                    segment(next).getLong(offset(next) + R_HANDLE_LO));
+            if (((next - home) & mask) < ((next - hole) & mask)) {
+                continue;
+            }
+            if (!relocating) {
+                relocating = true;
+                bumpRelocations();
+            }
+            move(next, hole);
+            hole = next;
+        }
+        endWrite(hole, stamp(hole), FREE);
+        if (relocating) {
+            bumpRelocations();
+        }
+        header.putInt(H_SIZE, size() - 1);
+    }
+
+    private void move(int from, int to) {
+        copy(from, to);
+        // The record keeps its place in its wheel bucket; its neighbours now point at the new slot
+        MappedByteBuffer buffer = segment(to);
+        int offset = offset(to);
+        int next = buffer.getInt(offset + R_WHEEL_NEXT);
+        int previous = buffer.getInt(offset + R_WHEEL_PREV);
+        if (previous == 0) {
+            header.putInt(H_WHEEL + bucket(buffer.getLong(offset + R_EXPIRES_AT)) * 4, to + 1);
+        } else {
+            segment(previous - 1).putInt(offset(previous - 1) + R_WHEEL_NEXT, to + 1);
+        }
+        if (next != 0) {
+            segment(next - 1).putInt(offset(next - 1) + R_WHEEL_PREV, to + 1);
+        }
+    }
+
+    private void copy(int from, int to) {
+        segment(from).get(offset(from) + R_HANDLE_HI, moveBuffer);
+        long stamp = beginWrite(to);
+        segment(to).put(offset(to) + R_HANDLE_HI, moveBuffer);
+        endWrite(to, stamp, LIVE);
+    }
+
+    private void bumpRelocations() {
+        LONGS.setRelease(header, H_RELOCATIONS, header.getLong(H_RELOCATIONS) + 1);
+        VarHandle.storeStoreFence();
+    }
+
+    private void link(int slot, long expiresAt) {
+        int headOffset = H_WHEEL + bucket(expiresAt) * 4;
+        int head = header.getInt(headOffset);
+        segment(slot).putInt(offset(slot) + R_WHEEL_NEXT, head);
+        segment(slot).putInt(offset(slot) + R_WHEEL_PREV, 0);
+        if (head != 0) {
+            segment(head - 1).putInt(offset(head - 1) + R_WHEEL_PREV, slot + 1);
+        }
+        header.putInt(headOffset, slot + 1);
+    }
+
+    private void unlink(int slot) {
+        MappedByteBuffer buffer = segment(slot);
+        int offset = offset(slot);
+        int next = buffer.getInt(offset + R_WHEEL_NEXT);
+        int previous = buffer.getInt(offset + R_WHEEL_PREV);
+
+        if (previous == 0) {
+            header.putInt(H_WHEEL + bucket(buffer.getLong(offset + R_EXPIRES_AT)) * 4, next);
+        } else {
+            segment(previous - 1).putInt(offset(previous - 1) + R_WHEEL_NEXT, next);
+        }
+        if (next != 0) {
+            segment(next - 1).putInt(offset(next - 1) + R_WHEEL_PREV, previous);
+        }
+    }
+
+    private long beginWrite(int slot) {
+        long stamp = stamp(slot);
+        LONGS.setVolatile(segment(slot), offset(slot) + R_STAMP, stamp | WRITING);
+        VarHandle.storeStoreFence();
+        return stamp;
+    }
+
+    private void endWrite(int slot, long previousStamp, long state) {
+        long sequence = (previousStamp >>> SEQUENCE_SHIFT) + 1;
+        LONGS.setRelease(segment(slot), offset(slot) + R_STAMP, (sequence << SEQUENCE_SHIFT) | state);
+    }
+
+    private long stamp(int slot) {
+        return (long) LONGS.getAcquire(segment(slot), offset(slot) + R_STAMP);
+    }
+
+    // Writers only: the slot holding the handle, or -1
+    private int slotOf(long handleHi, long handleLo) {
+        int slot = home(handleHi, handleLo);
+        int maxProbe = header.getInt(H_MAX_PROBE);
+        for (int probes = 0; probes <= maxProbe; probes++, slot = (slot + 1) & mask) {
+            if ((stamp(slot) & STATE_MASK) == FREE) {
+                return -1;
+            }
+            if (handleMatches(slot, handleHi, handleLo)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private boolean handleMatches(int slot, long handleHi, long handleLo) {
+        MappedByteBuffer buffer = segment(slot);
+        int offset = offset(slot);
+        return buffer.getLong(offset + R_HANDLE_HI) == handleHi && buffer.getLong(offset + R_HANDLE_LO) == handleLo;
+    }
+
+    private int home(long handleHi, long handleLo) {
+        long mixed = handleHi ^ handleLo;
+        return (int) (mixed ^ (mixed >>> 32)) & mask;
+    }
+
+    private int bucket(long expiresAt) {
+        return (int) Math.floorMod(expiresAt / tickMs, (long) wheelSize);
+    }
+
+    private MappedByteBuffer segment(int slot) {
+        return segments[slot >>> SEGMENT_SHIFT];
+    }
+
+    private static int offset(int slot) {
+        return (slot & SEGMENT_MASK) * RECORD_SIZE;
+    }
+
+    private MappedByteBuffer map(long position, long size) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+        buffer.order(ByteOrder.nativeOrder());
+        return buffer;
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Session store is closed");
+        }
+    }
+
+    private static int headerSize(int wheelSize) {
+        int size = H_WHEEL + wheelSize * 4;
+        return (size + PAGE_SIZE - 1) / PAGE_SIZE * PAGE_SIZE;
+    }
+
+    private static byte[] encode(String value, int maxBytes, String name) {
+        byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > maxBytes) {
+            throw new IllegalArgumentException(name + " exceeds " + maxBytes + " bytes and cannot be stored in a session");
+        }
+        return bytes;
+    }
+
+    private static JwtClaims toClaims(long userId, byte[] username, byte[] roles, long issuedAt, long expiresAt) {
+        String joinedRoles = new String(roles, StandardCharsets.UTF_8);
+        return JwtClaims.builder()
+                .userId(userId == NO_VALUE ? null : userId)
+                .username(new String(username, StandardCharsets.UTF_8))
+                .roles(joinedRoles.isEmpty() ? List.of() : List.of(joinedRoles.split(",")))
+                .issuedAt(issuedAt == NO_VALUE ? null : Instant.ofEpochMilli(issuedAt))
+                .expiresAt(Instant.ofEpochMilli(expiresAt))
+                .build();
+    }
+}
@@ -0,0 +1,144 @@
+package com.fcmb.security.session;
+
+import com.fcmb.security.jfr.TokenIssuanceEvent;
+import com.fcmb.security.jfr.TokenVerificationEvent;
+import com.fcmb.security.jwt.core.JwtClaims;
+import com.fcmb.security.jwt.core.TokenStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class ReferenceTokenService implements AutoCloseable {
+
+    private static final int HANDLE_BYTES = 16;
+    private static final int HANDLE_LENGTH = 22;
+
+    private final MappedSessionStore store;
+    private final long ttlMs;
+    private final SecureRandom random = new SecureRandom();
+    private final ScheduledExecutorService sweeper;
+
+    public ReferenceTokenService(MappedSessionStore store, long ttlMs, long sweepIntervalMs) {
+        if (ttlMs <= 0) {
+            throw new IllegalArgumentException("Reference token TTL must be positive");
+        }
+        this.store = store;
+        this.ttlMs = ttlMs;
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reference-token-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweep, sweepIntervalMs, sweepIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public String issue(Long userId, String username, Collection<? extends GrantedAuthority> authorities) {
+        TokenIssuanceEvent event = new TokenIssuanceEvent();
+        event.begin();
+        byte[] handle = new byte[HANDLE_BYTES];
+        random.nextBytes(handle);
+        ByteBuffer words = ByteBuffer.wrap(handle);
+
+        Instant now = Instant.now();
+        JwtClaims claims = JwtClaims.builder()
+                .userId(userId)
+                .username(username)
+                .roles(authorities.stream().map(GrantedAuthority::getAuthority).toList())
+                .issuedAt(now)
+                .expiresAt(now.plusMillis(ttlMs))
+                .build();
+        store.put(words.getLong(0), words.getLong(8), claims);
+
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(handle);
+        event.end();
+        if (event.shouldCommit()) {
+            event.setTokenType("reference");
+            event.setRoleCount(claims.getRoles().size());
+            event.commit();
+        }
+        return token;
+    }
+
+    public Optional<JwtClaims> resolve(String token) {
+        TokenVerificationEvent event = new TokenVerificationEvent();
+        event.begin();
+        ByteBuffer handle = decode(token);
+        JwtClaims claims = handle != null
+                ? store.get(handle.getLong(0), handle.getLong(8), System.currentTimeMillis()) : null;
+        event.end();
+        if (event.shouldCommit()) {
+            // Unknown, revoked and expired handles look the same to the store
+            TokenStatus status = handle == null ? TokenStatus.MALFORMED
+                    : claims == null ? TokenStatus.INVALID : TokenStatus.ACTIVE;
+            event.setTokenType("reference");
+            event.setOutcome(status.name());
+            event.commit();
+        }
+        return Optional.ofNullable(claims);
+    }
+
+    public boolean revoke(String token) {
+        ByteBuffer handle = decode(token);
+        return handle != null && store.remove(handle.getLong(0), handle.getLong(8));
+    }
+
+    public int activeSessions() {
+        return store.size();
+    }
+
+    // Reference tokens are 22 Base64URL characters; JWTs are always longer and contain dots
+    public static boolean isReferenceToken(String token) {
+        if (token == null || token.length() != HANDLE_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < HANDLE_LENGTH; i++) {
+            char c = token.charAt(i);
+            boolean valid = (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_';
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        sweeper.shutdownNow();
+        store.close();
+        log.info("Reference token store closed");
+    }
+
+    private void sweep() {
+        try {
+            int expired = store.expire(System.currentTimeMillis());
+            if (expired > 0) {
+                log.debug("Expired {} reference token session(s)", expired);
+            }
+        } catch (Exception e) {
+            log.error("Reference token sweep failed: {}", e.getMessage());
+        }
+    }
+
+    private static ByteBuffer decode(String token) {
+        if (!isReferenceToken(token)) {
+            return null;
+        }
+        try {
+            return ByteBuffer.wrap(Base64.getUrlDecoder().decode(token));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
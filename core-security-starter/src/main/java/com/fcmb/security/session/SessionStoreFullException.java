@@ -0,0 +1,9 @@
+package com.fcmb.security.session;
+
+// Every slot the store may fill holds a live session; callers should answer 503 rather than 401
+public class SessionStoreFullException extends IllegalStateException {
+
+    public SessionStoreFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.fcmb.security.warmup;
+
+import org.springframework.context.ApplicationEvent;
+
+public class WarmupCompletedEvent extends ApplicationEvent {
+
+    private final WarmupReport report;
+
+    public WarmupCompletedEvent(Object source, WarmupReport report) {
+        super(source);
+        this.report = report;
+    }
+
+    public WarmupReport getReport() {
+        return report;
+    }
+}
@@ -0,0 +1,52 @@
+package com.fcmb.security.warmup;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationListener;
+
+import java.util.concurrent.TimeUnit;
+
+@RequiredArgsConstructor
+public class WarmupMetrics implements ApplicationListener<WarmupCompletedEvent> {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    // Gauges only hold weak references to the object they read
+    private volatile WarmupReport report;
+
+    @Override
+    public void onApplicationEvent(WarmupCompletedEvent event) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return;
+        }
+        report = event.getReport();
+
+        Timer.builder("security.warmup.duration")
+                .description("Time spent warming up before the application reported ready")
+                .tag("budget.exhausted", String.valueOf(report.isBudgetExhausted()))
+                .register(registry)
+                .record(report.getDurationNanos(), TimeUnit.NANOSECONDS);
+
+        for (WarmupReport.Operation operation : report.getOperations()) {
+            Gauge.builder("security.warmup.iterations", operation, WarmupReport.Operation::getIterations)
+                    .description("Warm-up iterations completed per operation")
+                    .tag("operation", operation.getName())
+                    .register(registry);
+            TimeGauge.builder("security.warmup.latency.p99", operation, TimeUnit.NANOSECONDS,
+                            WarmupReport.Operation::getFirstP99Nanos)
+                    .description("p99 latency of the first and last tenth of warm-up iterations")
+                    .tags("operation", operation.getName(), "window", "first")
+                    .register(registry);
+            TimeGauge.builder("security.warmup.latency.p99", operation, TimeUnit.NANOSECONDS,
+                            WarmupReport.Operation::getLastP99Nanos)
+                    .description("p99 latency of the first and last tenth of warm-up iterations")
+                    .tags("operation", operation.getName(), "window", "last")
+                    .register(registry);
+        }
+    }
+}
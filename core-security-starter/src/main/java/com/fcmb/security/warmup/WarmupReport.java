@@ -0,0 +1,22 @@
+package com.fcmb.security.warmup;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class WarmupReport {
+
+    long durationNanos;
+    boolean budgetExhausted;
+    List<Operation> operations;
+
+    // p99 of the first and last tenth of the iterations, i.e. cold versus warmed-up latency
+    @Value
+    public static class Operation {
+        String name;
+        int iterations;
+        long firstP99Nanos;
+        long lastP99Nanos;
+    }
+}
@@ -0,0 +1,189 @@
+package com.fcmb.security.warmup;
+
+import com.fcmb.security.config.SecurityProperties;
+import com.fcmb.security.dto.ErrorResponse;
+import com.fcmb.security.json.JsonWriters;
+import com.fcmb.security.jwt.JwtUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Runs synthetic token, error rendering and password work before the application reports ready.
+// Spring Boot only publishes ReadinessState.ACCEPTING_TRAFFIC once every runner has returned,
+// so readiness probes keep failing until this finishes.
+@Slf4j
+@RequiredArgsConstructor
+public class WarmupRunner implements ApplicationRunner, Ordered {
+
+    private static final long WARMUP_USER_ID = -1L;
+    private static final String WARMUP_USERNAME = "warmup";
+    private static final String WARMUP_PASSWORD = "warmup-password";
+    private static final List<SimpleGrantedAuthority> WARMUP_ROLES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(5);
+    private static final int WINDOW_DIVISOR = 10;
+
+    private final JwtUtil jwtUtil;
+    private final PasswordEncoder passwordEncoder;
+    private final JsonWriters jsonWriters;
+    private final SecurityProperties securityProperties;
+    private final ApplicationContext applicationContext;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        SecurityProperties.Warmup warmup = securityProperties.getWarmup();
+        log.info("Warming up security components for up to {} iterations or {}",
+                warmup.getIterations(), warmup.getMaxDuration());
+
+        long started = System.nanoTime();
+        long deadline = started + warmup.getMaxDuration().toNanos();
+        List<Step> steps = steps(warmup);
+
+        boolean budgetExhausted = false;
+        for (int iteration = 0; iteration < warmup.getIterations(); iteration++) {
+            if (System.nanoTime() - deadline > 0) {
+                budgetExhausted = true;
+                break;
+            }
+            for (Step step : steps) {
+                step.run(iteration);
+            }
+        }
+
+        long duration = System.nanoTime() - started;
+        List<WarmupReport.Operation> operations = steps.stream()
+                .filter(step -> step.count > 0)
+                .map(Step::summarize)
+                .toList();
+        WarmupReport report = new WarmupReport(duration, budgetExhausted, operations);
+
+        log.info("Warm-up finished in {} ms{}", TimeUnit.NANOSECONDS.toMillis(duration),
+                budgetExhausted ? " (time budget exhausted)" : "");
+        for (WarmupReport.Operation operation : operations) {
+            log.info("  {}: {} iterations, p99 {} us -> {} us", operation.getName(), operation.getIterations(),
+                    TimeUnit.NANOSECONDS.toMicros(operation.getFirstP99Nanos()),
+                    TimeUnit.NANOSECONDS.toMicros(operation.getLastP99Nanos()));
+        }
+        applicationContext.publishEvent(new WarmupCompletedEvent(this, report));
+    }
+
+    @Override
+    public int getOrder() {
+        // After the application's own runners, so seeded data and caches are in place
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    private List<Step> steps(SecurityProperties.Warmup warmup) {
+        int iterations = warmup.getIterations();
+        String token = jwtUtil.generateToken(WARMUP_USER_ID, WARMUP_USERNAME, WARMUP_ROLES);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        String encodedPassword = passwordEncoder.encode(WARMUP_PASSWORD);
+
+        List<Step> steps = new ArrayList<>();
+        steps.add(new Step("token-issue", iterations,
+                () -> jwtUtil.generateToken(WARMUP_USER_ID, WARMUP_USERNAME, WARMUP_ROLES)));
+        steps.add(new Step("token-verify", iterations, () -> jwtUtil.parseToken(token)));
+        steps.add(new Step("token-reject", iterations, () -> jwtUtil.inspect(tampered)));
+        steps.add(new Step("error-render", iterations, () -> jsonWriters.errorResponse().writeValueAsBytes(
+                ErrorResponse.of(HttpStatus.UNAUTHORIZED.value(), "Unauthorized",
+                        "Authentication required to access this resource", warmup.getPath()))));
+        steps.add(new Step("password-match", Math.min(iterations, warmup.getPasswordIterations()),
+                () -> passwordEncoder.matches(WARMUP_PASSWORD, encodedPassword)));
+
+        // The filter chain and message converters are only reachable through the server itself,
+        // which is already listening (but not yet reported ready) when runners are called
+        int port = localPort();
+        if (port > 0) {
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(REQUEST_TIMEOUT)
+                    .build();
+            URI uri = URI.create("http://localhost:" + port + warmup.getPath());
+            HttpRequest authenticated = HttpRequest.newBuilder(uri)
+                    .timeout(REQUEST_TIMEOUT)
+                    .header(securityProperties.getHeaderName(), securityProperties.getTokenPrefix() + token)
+                    .GET()
+                    .build();
+            // Anonymous requests are left out: the entry point logs every rejection at ERROR, and
+            // its JSON rendering is already covered by the error-render step
+            steps.add(new Step("http-authenticated", iterations,
+                    () -> httpClient.send(authenticated, HttpResponse.BodyHandlers.discarding())));
+        } else {
+            log.info("No local web server port, skipping HTTP warm-up");
+        }
+        return steps;
+    }
+
+    private int localPort() {
+        if (applicationContext instanceof WebServerApplicationContext webServerContext) {
+            WebServer webServer = webServerContext.getWebServer();
+            return webServer != null ? webServer.getPort() : -1;
+        }
+        return -1;
+    }
+
+    @FunctionalInterface
+    private interface Action {
+        void run() throws Exception;
+    }
+
+    private static final class Step {
+
+        private final String name;
+        private final Action action;
+        private final long[] samples;
+        private int count;
+        private boolean failed;
+
+        Step(String name, int iterations, Action action) {
+            this.name = name;
+            this.action = action;
+            this.samples = new long[Math.max(0, iterations)];
+        }
+
+        void run(int iteration) {
+            if (failed || iteration >= samples.length) {
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                action.run();
+            } catch (Exception e) {
+                // A failing step must not keep the application from starting
+                log.warn("Warm-up step {} failed and is skipped: {}", name, e.getMessage());
+                failed = true;
+                return;
+            }
+            samples[count++] = System.nanoTime() - start;
+        }
+
+        WarmupReport.Operation summarize() {
+            int window = Math.max(1, count / WINDOW_DIVISOR);
+            return new WarmupReport.Operation(name, count,
+                    p99(Arrays.copyOfRange(samples, 0, window)),
+                    p99(Arrays.copyOfRange(samples, count - window, count)));
+        }
+
+        private static long p99(long[] window) {
+            Arrays.sort(window);
+            return window[(int) Math.ceil(window.length * 0.99) - 1];
+        }
+    }
+}
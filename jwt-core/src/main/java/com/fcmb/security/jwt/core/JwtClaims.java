@@ -0,0 +1,20 @@
+package com.fcmb.security.jwt.core;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+@Value
+@Builder
+public class JwtClaims {
+
+    String issuer;
+    Long userId;
+    String username;
+    List<String> roles;
+    List<String> audience;
+    Instant issuedAt;
+    Instant expiresAt;
+}
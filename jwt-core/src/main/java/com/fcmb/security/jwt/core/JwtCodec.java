@@ -0,0 +1,198 @@
+package com.fcmb.security.jwt.core;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Signs tokens for the primary issuer and verifies tokens from any trusted issuer. Plain Java:
+// usable from batch jobs and consumers as is, and wrapped by JwtUtil in the servlet starter.
+public class JwtCodec {
+
+    private static final int MIN_SECRET_BYTES = 32;
+    private static final String NO_ISSUER = "";
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JwtIssuerDefinition primary;
+    private final List<JwtIssuerDefinition> definitions;
+    private final JwtPhaseObserver observer;
+
+    private volatile Issuers issuers;
+
+    public JwtCodec(JwtIssuerDefinition primary, List<JwtIssuerDefinition> trustedIssuers) {
+        this(primary, trustedIssuers, JwtPhaseObserver.NONE);
+    }
+
+    public JwtCodec(JwtIssuerDefinition primary, List<JwtIssuerDefinition> trustedIssuers,
+                    JwtPhaseObserver observer) {
+        List<JwtIssuerDefinition> all = new ArrayList<>();
+        all.add(primary);
+        all.addAll(trustedIssuers);
+
+        Map<String, JwtIssuerDefinition> byName = new HashMap<>();
+        for (JwtIssuerDefinition definition : all) {
+            String secret = definition.getSecretKey();
+            if (secret == null || secret.getBytes(StandardCharsets.UTF_8).length < MIN_SECRET_BYTES) {
+                throw new IllegalArgumentException("JWT secret key for issuer '" + definition.getIssuer()
+                        + "' must be at least " + MIN_SECRET_BYTES + " bytes");
+            }
+            if (byName.put(issuerKey(definition.getIssuer()), definition) != null) {
+                throw new IllegalArgumentException("JWT issuer '" + definition.getIssuer() + "' is configured more than once");
+            }
+        }
+
+        this.primary = primary;
+        this.definitions = List.copyOf(all);
+        this.observer = observer;
+    }
+
+    public String generateToken(Long userId, String username, Collection<String> roles) {
+        return generateToken(userId, username, roles, null);
+    }
+
+    // The audience names the service the token is meant for (aud); null leaves the claim out
+    public String generateToken(Long userId, String username, Collection<String> roles, String audience) {
+        Date now = new Date();
+        Date expiryDate = new Date(now.getTime() + primary.getExpirationMs());
+
+        JwtBuilder builder = Jwts.builder()
+                .subject(username)
+                .claim(primary.getUserIdClaim(), userId)
+                .claim(primary.getUsernameClaim(), username)
+                .claim(primary.getRolesClaim(), roles)
+                .issuer(primary.getIssuer())
+                .issuedAt(now)
+                .expiration(expiryDate);
+        if (audience != null) {
+            builder.audience().add(audience);
+        }
+        return builder
+                .signWith(issuers().primary().key())
+                .compact();
+    }
+
+    // Verifies the token against the issuer named in its payload and maps its claims.
+    // Throws a JwtException subtype when the token is not acceptable.
+    public JwtClaims parseToken(String token) {
+        Issuers current = issuers();
+        if (current.single() != null) {
+            return current.single().parse(token, observer);
+        }
+
+        String issuer = peekIssuer(token);
+        TokenIssuer tokenIssuer = current.byName().get(issuerKey(issuer));
+        if (tokenIssuer == null) {
+            throw new UntrustedIssuerException("JWT issuer '" + issuer + "' is not trusted");
+        }
+        return tokenIssuer.parse(token, observer);
+    }
+
+    // Same verification as parseToken(), but reports why a token was rejected instead of throwing
+    public TokenVerification inspect(String token) {
+        return inspect(token, false);
+    }
+
+    // Like inspect(), but expired tokens keep their claims so offline audits can tell whose they were.
+    // Their signature has been verified; they must still never authenticate a request.
+    public TokenVerification audit(String token) {
+        return inspect(token, true);
+    }
+
+    private TokenVerification inspect(String token, boolean keepExpiredClaims) {
+        try {
+            return TokenVerification.active(parseToken(token));
+        } catch (ExpiredJwtException e) {
+            TokenIssuer issuer = keepExpiredClaims ? issuers().byName().get(issuerKey(e.getClaims().getIssuer())) : null;
+            return issuer != null
+                    ? TokenVerification.expired(issuer.expiredClaims(e))
+                    : TokenVerification.rejected(TokenStatus.EXPIRED);
+        } catch (UntrustedIssuerException e) {
+            return TokenVerification.rejected(TokenStatus.UNTRUSTED_ISSUER);
+        } catch (SignatureException e) {
+            return TokenVerification.rejected(TokenStatus.INVALID_SIGNATURE);
+        } catch (MalformedJwtException | IllegalArgumentException e) {
+            return TokenVerification.rejected(TokenStatus.MALFORMED);
+        } catch (Exception e) {
+            return TokenVerification.rejected(TokenStatus.INVALID);
+        }
+    }
+
+    // Reads "iss" from the payload without verifying it, only to pick the parser;
+    // the selected parser then verifies the signature and requires that same issuer
+    private static String peekIssuer(String token) {
+        if (token == null) {
+            throw new IllegalArgumentException("JWT string cannot be null");
+        }
+        int first = token.indexOf('.');
+        int second = first < 0 ? -1 : token.indexOf('.', first + 1);
+        if (second < 0) {
+            throw new MalformedJwtException("JWT strings must contain exactly 2 period characters");
+        }
+
+        byte[] payload;
+        try {
+            payload = Base64.getUrlDecoder().decode(token.substring(first + 1, second));
+        } catch (IllegalArgumentException e) {
+            throw new MalformedJwtException("JWT payload is not valid Base64URL", e);
+        }
+
+        try (JsonParser parser = JSON_FACTORY.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new MalformedJwtException("JWT payload is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("iss".equals(field)) {
+                    return value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
+            throw new MalformedJwtException("JWT payload is not valid JSON", e);
+        }
+    }
+
+    private static String issuerKey(String issuer) {
+        return issuer == null ? NO_ISSUER : issuer;
+    }
+
+    // Keys and parsers are built on first use so jjwt's algorithm registries stay
+    // off the startup path; afterwards every token is one hash lookup away from its parser
+    private Issuers issuers() {
+        Issuers current = issuers;
+        if (current == null) {
+            synchronized (this) {
+                current = issuers;
+                if (current == null) {
+                    Map<String, TokenIssuer> byName = new HashMap<>();
+                    for (JwtIssuerDefinition definition : definitions) {
+                        byName.put(issuerKey(definition.getIssuer()), new TokenIssuer(definition));
+                    }
+                    TokenIssuer primaryIssuer = byName.get(issuerKey(primary.getIssuer()));
+                    current = new Issuers(primaryIssuer, Map.copyOf(byName), byName.size() == 1 ? primaryIssuer : null);
+                    issuers = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private record Issuers(TokenIssuer primary, Map<String, TokenIssuer> byName, TokenIssuer single) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.fcmb.security.jwt.core;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class JwtIssuerDefinition {
+
+    String issuer;
+    String secretKey;
+
+    // Lifetime of tokens this service signs; only used for the primary issuer
+    long expirationMs;
+
+    long clockSkewSeconds;
+
+    // Rejects tokens issued longer ago than this, regardless of their exp claim; 0 disables the check
+    long maxTokenAgeMs;
+
+    @Builder.Default
+    String userIdClaim = "userId";
+
+    @Builder.Default
+    String usernameClaim = "username";
+
+    @Builder.Default
+    String rolesClaim = "roles";
+}
@@ -0,0 +1,7 @@
+package com.fcmb.security.jwt.core;
+
+// Steps of token verification that a JwtPhaseObserver can time
+public enum JwtPhase {
+    SIGNATURE,
+    CLAIMS
+}
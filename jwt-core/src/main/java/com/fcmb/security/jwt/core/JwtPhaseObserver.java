@@ -0,0 +1,16 @@
+package com.fcmb.security.jwt.core;
+
+import java.util.function.Supplier;
+
+// Hook for timing verification phases without tying jwt-core to a metrics library
+public interface JwtPhaseObserver {
+
+    JwtPhaseObserver NONE = new JwtPhaseObserver() {
+        @Override
+        public <T> T observe(JwtPhase phase, Supplier<T> work) {
+            return work.get();
+        }
+    };
+
+    <T> T observe(JwtPhase phase, Supplier<T> work);
+}
@@ -0,0 +1,115 @@
+package com.fcmb.security.jwt.core;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.JwtParserBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+final class TokenIssuer {
+
+    private final JwtIssuerDefinition definition;
+    private final SecretKey key;
+    private final JwtParser parser;
+
+    TokenIssuer(JwtIssuerDefinition definition) {
+        this.definition = definition;
+        this.key = Keys.hmacShaKeyFor(definition.getSecretKey().getBytes(StandardCharsets.UTF_8));
+
+        JwtParserBuilder builder = Jwts.parser()
+                .verifyWith(key)
+                .clockSkewSeconds(definition.getClockSkewSeconds());
+        if (hasText(definition.getIssuer())) {
+            builder.requireIssuer(definition.getIssuer());
+        }
+        this.parser = builder.build();
+    }
+
+    JwtIssuerDefinition definition() {
+        return definition;
+    }
+
+    SecretKey key() {
+        return key;
+    }
+
+    // jjwt decodes the payload JSON as part of verifying, so that is included in the signature phase
+    JwtClaims parse(String token, JwtPhaseObserver observer) {
+        Jws<Claims> jws = observer.observe(JwtPhase.SIGNATURE, () -> parser.parseSignedClaims(token));
+        return observer.observe(JwtPhase.CLAIMS, () -> toClaims(jws));
+    }
+
+    // Claims of a token rejected as expired; jjwt only checks expiry once the signature has verified
+    JwtClaims expiredClaims(ExpiredJwtException e) {
+        return mapClaims(e.getClaims());
+    }
+
+    private JwtClaims toClaims(Jws<Claims> jws) {
+        Claims claims = jws.getPayload();
+
+        if (claims.getExpiration() == null) {
+            throw new UnsupportedJwtException("JWT has no expiration");
+        }
+        if (definition.getMaxTokenAgeMs() > 0) {
+            Date issuedAt = claims.getIssuedAt();
+            long maxAge = definition.getMaxTokenAgeMs() + definition.getClockSkewSeconds() * 1000;
+            if (issuedAt == null || System.currentTimeMillis() - issuedAt.getTime() > maxAge) {
+                throw new ExpiredJwtException(jws.getHeader(), claims, "JWT exceeds the maximum token age for issuer "
+                        + definition.getIssuer());
+            }
+        }
+
+        return mapClaims(claims);
+    }
+
+    private JwtClaims mapClaims(Claims claims) {
+        String username = claims.get(definition.getUsernameClaim(), String.class);
+        return JwtClaims.builder()
+                .issuer(claims.getIssuer())
+                .userId(toLong(claims.get(definition.getUserIdClaim())))
+                .username(username != null ? username : claims.getSubject())
+                .roles(toRoles(claims.get(definition.getRolesClaim())))
+                .audience(claims.getAudience() != null ? List.copyOf(claims.getAudience()) : List.of())
+                .issuedAt(claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null)
+                .expiresAt(claims.getExpiration() != null ? claims.getExpiration().toInstant() : null)
+                .build();
+    }
+
+    private static Long toLong(Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        if (value instanceof String text && hasText(text)) {
+            return Long.valueOf(text);
+        }
+        return null;
+    }
+
+    private static List<String> toRoles(Object value) {
+        if (value instanceof Collection<?> collection) {
+            List<String> roles = new ArrayList<>(collection.size());
+            for (Object role : collection) {
+                roles.add(String.valueOf(role));
+            }
+            return roles;
+        }
+        if (value instanceof String text && hasText(text)) {
+            return List.of(text.trim().split("[\\s,]+"));
+        }
+        return List.of();
+    }
+
+    private static boolean hasText(String text) {
+        return text != null && !text.isBlank();
+    }
+}
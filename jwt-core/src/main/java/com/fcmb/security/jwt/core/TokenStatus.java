@@ -0,0 +1,10 @@
+package com.fcmb.security.jwt.core;
+
+public enum TokenStatus {
+    ACTIVE,
+    EXPIRED,
+    INVALID_SIGNATURE,
+    UNTRUSTED_ISSUER,
+    MALFORMED,
+    INVALID
+}
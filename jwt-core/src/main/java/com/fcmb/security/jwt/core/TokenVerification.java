@@ -0,0 +1,26 @@
+package com.fcmb.security.jwt.core;
+
+import lombok.Value;
+
+@Value
+public class TokenVerification {
+    TokenStatus status;
+    JwtClaims claims;
+
+    public static TokenVerification active(JwtClaims claims) {
+        return new TokenVerification(TokenStatus.ACTIVE, claims);
+    }
+
+    // An expired but correctly signed token, with its claims kept for auditing
+    public static TokenVerification expired(JwtClaims claims) {
+        return new TokenVerification(TokenStatus.EXPIRED, claims);
+    }
+
+    public static TokenVerification rejected(TokenStatus status) {
+        return new TokenVerification(status, null);
+    }
+
+    public boolean isActive() {
+        return status == TokenStatus.ACTIVE;
+    }
+}
@@ -0,0 +1,10 @@
+package com.fcmb.security.jwt.core;
+
+import io.jsonwebtoken.JwtException;
+
+public class UntrustedIssuerException extends JwtException {
+
+    public UntrustedIssuerException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,149 @@
+package com.fcmb.perf.authz;
+
+import com.fcmb.security.authz.RequireRoles;
+import com.fcmb.security.authz.RequireRolesBeanPostProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+// Cost of an allowed admin-only call guarded by @PreAuthorize (SpEL), @Secured and @RequireRoles,
+// against the same call on an unproxied bean. All targets live in one context with method security
+// enabled the way the starter enables it; the caller holds three roles, ADMIN being the last.
+//
+// mvn -pl performance-tests exec:exec -Dperf.main.class=org.openjdk.jmh.Main -Dperf.args="RoleCheckBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoleCheckBenchmark {
+
+    private AnnotationConfigApplicationContext context;
+    private PlainTarget plain;
+    private PreAuthorizeTarget preAuthorize;
+    private SecuredTarget secured;
+    private RequireRolesTarget requireRoles;
+    private int value;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Shared context, so every JMH worker thread sees the same caller
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                "bench", null, AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_AUDITOR", "ROLE_ADMIN")));
+
+        context = new AnnotationConfigApplicationContext(Targets.class);
+        plain = context.getBean(PlainTarget.class);
+        preAuthorize = context.getBean(PreAuthorizeTarget.class);
+        secured = context.getBean(SecuredTarget.class);
+        requireRoles = context.getBean(RequireRolesTarget.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public int baseline() {
+        return plain.call(value++);
+    }
+
+    @Benchmark
+    public int preAuthorize() {
+        return preAuthorize.call(value++);
+    }
+
+    @Benchmark
+    public int secured() {
+        return secured.call(value++);
+    }
+
+    @Benchmark
+    public int requireRoles() {
+        return requireRoles.call(value++);
+    }
+
+    public static class PlainTarget {
+
+        public int call(int value) {
+            return value + 1;
+        }
+    }
+
+    public static class PreAuthorizeTarget {
+
+        @PreAuthorize("hasRole('ADMIN')")
+        public int call(int value) {
+            return value + 1;
+        }
+    }
+
+    public static class SecuredTarget {
+
+        @Secured("ROLE_ADMIN")
+        public int call(int value) {
+            return value + 1;
+        }
+    }
+
+    public static class RequireRolesTarget {
+
+        @RequireRoles("ADMIN")
+        public int call(int value) {
+            return value + 1;
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableMethodSecurity(securedEnabled = true)
+    static class Targets {
+
+        @Bean
+        static RequireRolesBeanPostProcessor requireRolesBeanPostProcessor() {
+            return new RequireRolesBeanPostProcessor();
+        }
+
+        @Bean
+        PlainTarget plainTarget() {
+            return new PlainTarget();
+        }
+
+        @Bean
+        PreAuthorizeTarget preAuthorizeTarget() {
+            return new PreAuthorizeTarget();
+        }
+
+        @Bean
+        SecuredTarget securedTarget() {
+            return new SecuredTarget();
+        }
+
+        @Bean
+        RequireRolesTarget requireRolesTarget() {
+            return new RequireRolesTarget();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.fcmb.perf.chain;
+
+import com.fcmb.perf.load.EmbeddedApplication;
+import com.fcmb.security.jwt.JwtUtil;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.web.FilterChainProxy;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Requests through the application's FilterChainProxy with the default and the minimal chain: a valid
+// bearer token, a missing token (401 from the entry point) and a permitAll path. The terminal chain does
+// nothing, so only the security filters are measured. Warm-up and admission control are off in both.
+//
+// mvn -pl performance-tests exec:exec -Dperf.main.class=org.openjdk.jmh.Main -Dperf.args="FilterChainBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10, time = 3)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class FilterChainBenchmark {
+
+    private static final FilterChain TERMINAL = (request, response) -> {
+    };
+
+    @Param({"default", "minimal"})
+    public String chain;
+
+    private EmbeddedApplication application;
+    private FilterChainProxy filterChainProxy;
+    private String authorization;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = EmbeddedApplication.start(Map.of(
+                "security.jwt.filter-chain.minimal", String.valueOf("minimal".equals(chain)),
+                "security.jwt.warmup.enabled", "false",
+                "security.jwt.concurrency-limit.enabled", "false"));
+        filterChainProxy = application.bean(FilterChainProxy.class);
+        authorization = "Bearer " + application.bean(JwtUtil.class)
+                .generateToken(1L, "bench", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public int authenticated() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+        request.addHeader("Authorization", authorization);
+        return filter(request);
+    }
+
+    @Benchmark
+    public int unauthenticated() throws Exception {
+        return filter(new MockHttpServletRequest("GET", "/api/users/me"));
+    }
+
+    @Benchmark
+    public int permitted() throws Exception {
+        return filter(new MockHttpServletRequest("GET", "/api/public/health"));
+    }
+
+    private int filter(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filterChainProxy.doFilter(request, response, TERMINAL);
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,83 @@
+package com.fcmb.perf.directory;
+
+import com.fcmb.security.directory.DirectoryEntry;
+import com.fcmb.security.directory.UserDirectorySnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Username lookups against a memory-mapped directory snapshot of many users: "hit" resolves a random
+// existing account (index probe, record decode), "miss" an unknown name (index probe only).
+// The snapshot is built once per trial; its build time is printed for reference.
+//
+// mvn -pl performance-tests exec:exec -Dperf.main.class=org.openjdk.jmh.Main -Dperf.args="UserDirectoryBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms256m", "-Xmx256m"})
+public class UserDirectoryBenchmark {
+
+    private static final String BCRYPT_HASH = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z4ZnBV3WcPvRPFSKzGfh4S3.";
+
+    @Param({"1000000"})
+    public int users;
+
+    private Path directory;
+    private UserDirectorySnapshot snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("user-directory-benchmark");
+        long start = System.nanoTime();
+        snapshot = UserDirectorySnapshot.build(directory.resolve("users.snapshot"), sink -> {
+            for (int i = 0; i < users; i++) {
+                sink.accept(DirectoryEntry.builder()
+                        .userId(i)
+                        .version(1)
+                        .username("user-" + i)
+                        .password(BCRYPT_HASH)
+                        .enabled(true)
+                        .roles(i % 100 == 0 ? List.of("ROLE_USER", "ROLE_ADMIN") : List.of("ROLE_USER"))
+                        .build());
+            }
+        });
+        System.out.printf("%nBuilt %d users in %d ms (%d MB)%n", users,
+                (System.nanoTime() - start) / 1_000_000,
+                Files.size(directory.resolve("users.snapshot")) >> 20);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(directory.resolve("users.snapshot"));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public DirectoryEntry hit() {
+        return snapshot.find("user-" + ThreadLocalRandom.current().nextInt(users));
+    }
+
+    @Benchmark
+    public DirectoryEntry miss() {
+        return snapshot.find("nobody-" + ThreadLocalRandom.current().nextInt(users));
+    }
+}
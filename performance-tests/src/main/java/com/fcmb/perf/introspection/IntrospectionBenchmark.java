@@ -0,0 +1,199 @@
+package com.fcmb.perf.introspection;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fcmb.perf.load.ApiClient;
+import com.fcmb.perf.load.EmbeddedApplication;
+import com.fcmb.security.dto.TokenIntrospectionRequest;
+import com.fcmb.security.jwt.JwtUtil;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Compares one introspection call per token with batched calls of increasing size.
+// Every mode checks the same token corpus with the same number of concurrent callers.
+public final class IntrospectionBenchmark {
+
+    private static final String PATH = "/api/security/introspect";
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private IntrospectionBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int tokenCount = Integer.parseInt(options.getOrDefault("tokens", "5000"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "8"));
+        int rounds = Integer.parseInt(options.getOrDefault("rounds", "3"));
+        double duplicateRatio = Double.parseDouble(options.getOrDefault("duplicates", "0.2"));
+        int[] batchSizes = Arrays.stream(options.getOrDefault("batch-sizes", "1,10,50,100,500").split(","))
+                .mapToInt(size -> Integer.parseInt(size.trim()))
+                .toArray();
+
+        Map<String, String> overrides = new LinkedHashMap<>();
+        overrides.put("security.jwt.introspection.enabled", "true");
+        options.forEach((key, value) -> {
+            if (key.startsWith("app.")) {
+                overrides.put(key.substring("app.".length()), value);
+            }
+        });
+
+        System.out.println("Booting sample-application in-process...");
+        try (EmbeddedApplication application = EmbeddedApplication.start(overrides)) {
+            String secret = application.environment().getProperty("security.jwt.secret-key");
+            String issuer = application.environment().getProperty("security.jwt.issuer");
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            String adminToken = new ApiClient(httpClient, application.baseUrl()).login(
+                    options.getOrDefault("admin-username", "admin"), options.getOrDefault("admin-password", "admin123"));
+
+            List<String> tokens = corpus(secret, issuer, tokenCount, duplicateRatio);
+            Caller caller = new Caller(httpClient, application.baseUrl(), adminToken);
+
+            System.out.printf("Corpus of %d tokens (%.0f%% repeats), %d concurrent callers, best of %d rounds%n",
+                    tokens.size(), duplicateRatio * 100, concurrency, rounds);
+            System.out.println("Warming up...");
+            for (int batchSize : batchSizes) {
+                run(caller, tokens, batchSize, concurrency);
+            }
+
+            System.out.printf("%n%-12s %8s %12s %14s %14s%n", "mode", "calls", "tokens/s", "call p50 ms", "call p99 ms");
+            for (int batchSize : batchSizes) {
+                Result best = null;
+                for (int round = 0; round < rounds; round++) {
+                    Result result = run(caller, tokens, batchSize, concurrency);
+                    if (best == null || result.tokensPerSecond() > best.tokensPerSecond()) {
+                        best = result;
+                    }
+                }
+                System.out.printf("%-12s %8d %12.0f %14.2f %14.2f%n",
+                        batchSize == 1 ? "per-token" : "batch-" + batchSize,
+                        best.calls(),
+                        best.tokensPerSecond(),
+                        best.latency().getValueAtPercentile(50) / 1e6,
+                        best.latency().getValueAtPercentile(99) / 1e6);
+            }
+        }
+    }
+
+    private static Result run(Caller caller, List<String> tokens, int batchSize, int concurrency) throws Exception {
+        List<List<String>> batches = new ArrayList<>();
+        for (int from = 0; from < tokens.size(); from += batchSize) {
+            batches.add(tokens.subList(from, Math.min(tokens.size(), from + batchSize)));
+        }
+
+        Histogram latency = new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3);
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int worker = 0; worker < concurrency; worker++) {
+                workers.add(executor.submit(() -> {
+                    for (int index = next.getAndIncrement(); index < batches.size(); index = next.getAndIncrement()) {
+                        long sent = System.nanoTime();
+                        caller.introspect(batches.get(index));
+                        latency.recordValue(Math.min(System.nanoTime() - sent, MAX_TRACKABLE_NANOS));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Result(batches.size(), tokens.size() / (elapsed / 1e9), latency);
+    }
+
+    // Valid tokens for many users plus expired and garbage tokens, with a share of exact repeats
+    // to mimic a gateway forwarding several requests from the same caller in one window
+    private static List<String> corpus(String secret, String issuer, int count, double duplicateRatio) {
+        JwtUtil valid = new JwtUtil(secret, 3_600_000, issuer);
+        JwtUtil expired = new JwtUtil(secret, -60_000, issuer);
+        List<SimpleGrantedAuthority> roles = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        Random random = new Random(42);
+
+        List<String> tokens = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && random.nextDouble() < duplicateRatio) {
+                tokens.add(tokens.get(random.nextInt(tokens.size())));
+                continue;
+            }
+            int kind = random.nextInt(100);
+            if (kind < 80) {
+                tokens.add(valid.generateToken((long) i, ApiClient.username(i), roles));
+            } else if (kind < 95) {
+                tokens.add(expired.generateToken((long) i, ApiClient.username(i), roles));
+            } else {
+                tokens.add("garbage-" + i);
+            }
+        }
+        return tokens;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+
+    private record Result(int calls, double tokensPerSecond, Histogram latency) {
+    }
+
+    private static final class Caller {
+
+        private final HttpClient httpClient;
+        private final ObjectMapper objectMapper = new ObjectMapper();
+        private final URI uri;
+        private final String adminToken;
+
+        Caller(HttpClient httpClient, String baseUrl, String adminToken) {
+            this.httpClient = httpClient;
+            this.uri = URI.create(baseUrl + PATH);
+            this.adminToken = adminToken;
+        }
+
+        void introspect(List<String> tokens) throws Exception {
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Authorization", "Bearer " + adminToken)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(
+                            objectMapper.writeValueAsBytes(new TokenIntrospectionRequest(tokens))))
+                    .build();
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Introspection failed with status " + response.statusCode());
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.fcmb.perf.jwtcore;
+
+import com.fcmb.perf.load.EmbeddedApplication;
+import com.fcmb.security.jwt.JwtUtil;
+import com.fcmb.security.jwt.core.JwtClaims;
+import com.fcmb.security.jwt.core.JwtCodec;
+import com.fcmb.security.jwt.core.JwtIssuerDefinition;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// Time from JVM start to the first verified token, loaded classes and memory in use afterwards, for a
+// plain-Java verifier (jwt-core's JwtCodec only) and for the full sample application. Run each mode in
+// its own JVM; the plain mode never touches Spring, so its classes are not loaded even though they are
+// on this module's classpath.
+public final class VerifierFootprintProbe {
+
+    private static final String SECRET = "FootprintProbeSigningKeyThatIsLongEnough2024!";
+    private static final String ISSUER = "footprint-probe";
+
+    private VerifierFootprintProbe() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        String mode = options.getOrDefault("mode", "plain");
+        int verifications = Integer.parseInt(options.getOrDefault("verifications", "10000"));
+
+        Function<String, JwtClaims> verifier;
+        String token;
+        EmbeddedApplication application = null;
+        if ("plain".equals(mode)) {
+            JwtCodec codec = new JwtCodec(JwtIssuerDefinition.builder()
+                    .issuer(ISSUER)
+                    .secretKey(SECRET)
+                    .expirationMs(TimeUnit.HOURS.toMillis(1))
+                    .build(), List.of());
+            token = codec.generateToken(1L, "probe", List.of("ROLE_USER"));
+            verifier = codec::parseToken;
+        } else if ("spring".equals(mode)) {
+            Map<String, String> overrides = new LinkedHashMap<>();
+            overrides.put("security.jwt.warmup.enabled", "false");
+            application = EmbeddedApplication.start(overrides);
+            JwtUtil jwtUtil = application.bean(JwtUtil.class);
+            token = jwtUtil.generateToken(1L, "probe", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+            verifier = jwtUtil::parseToken;
+        } else {
+            throw new IllegalArgumentException("--mode must be plain or spring");
+        }
+
+        try {
+            verifier.apply(token);
+            long firstVerifiedMs = ManagementFactory.getRuntimeMXBean().getUptime();
+
+            long start = System.nanoTime();
+            for (int i = 0; i < verifications; i++) {
+                verifier.apply(token);
+            }
+            double perVerifyMicros = (System.nanoTime() - start) / 1_000.0 / verifications;
+
+            System.gc();
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            System.out.printf("%nmode=%s%n", mode);
+            System.out.printf("%-28s %10d ms%n", "JVM start to first verify", firstVerifiedMs);
+            System.out.printf("%-28s %10d%n", "classes loaded",
+                    ManagementFactory.getClassLoadingMXBean().getLoadedClassCount());
+            System.out.printf("%-28s %10.1f MB%n", "heap used after GC", mb(memory.getHeapMemoryUsage().getUsed()));
+            System.out.printf("%-28s %10.1f MB%n", "non-heap used", mb(memory.getNonHeapMemoryUsage().getUsed()));
+            System.out.printf("%-28s %10.2f us%n", "mean verify, " + verifications + " runs", perVerifyMicros);
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+    }
+
+    private static double mb(long bytes) {
+        return bytes / (1024.0 * 1024.0);
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,113 @@
+package com.fcmb.perf.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fcmb.sampleapplication.dto.request.BulkCreateUsersRequest;
+import com.fcmb.sampleapplication.dto.request.CreateUserRequest;
+import com.fcmb.sampleapplication.dto.request.LoginRequest;
+import com.fcmb.sampleapplication.dto.request.RegisterRequest;
+import com.fcmb.sampleapplication.dto.response.BulkCreateUsersResponse;
+import com.fcmb.sampleapplication.dto.response.LoginResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+
+    public ApiClient(HttpClient httpClient, String baseUrl) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+    }
+
+    public static String username(int index) {
+        return "lt-user-" + index;
+    }
+
+    public HttpRequest loginRequest(String username, String password) {
+        return jsonPost("/api/auth/login", LoginRequest.builder()
+                .username(username)
+                .password(password)
+                .build());
+    }
+
+    public HttpRequest registerRequest(String username, String email, String password) {
+        return jsonPost("/api/auth/register", RegisterRequest.builder()
+                .username(username)
+                .email(email)
+                .password(password)
+                .build());
+    }
+
+    public HttpRequest get(String path, String bearerToken) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .GET();
+        if (bearerToken != null) {
+            builder.header("Authorization", "Bearer " + bearerToken);
+        }
+        return builder.build();
+    }
+
+    public String login(String username, String password) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(loginRequest(username, password),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for '" + username + "' with status " + response.statusCode());
+        }
+        return objectMapper.readValue(response.body(), LoginResponse.class).getToken();
+    }
+
+    public int seedUsers(String adminToken, int count, int batchSize, String password)
+            throws IOException, InterruptedException {
+        int created = 0;
+        for (int from = 0; from < count; from += batchSize) {
+            List<CreateUserRequest> users = new ArrayList<>();
+            for (int i = from; i < Math.min(from + batchSize, count); i++) {
+                users.add(CreateUserRequest.builder()
+                        .username(username(i))
+                        .password(password)
+                        .email(username(i) + "@loadtest.local")
+                        .build());
+            }
+
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/admin/users/bulk"))
+                    .timeout(Duration.ofMinutes(10))
+                    .header("Authorization", "Bearer " + adminToken)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(
+                            objectMapper.writeValueAsBytes(new BulkCreateUsersRequest(users))))
+                    .build();
+
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding failed with status " + response.statusCode() + ": " + response.body());
+            }
+            // Rows rejected as already existing are fine: a previous run against the same target seeded them
+            created += objectMapper.readValue(response.body(), BulkCreateUsersResponse.class).getCreated();
+        }
+        return created;
+    }
+
+    private HttpRequest jsonPost(String path, Object body) {
+        try {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot serialize request body", e);
+        }
+    }
+}
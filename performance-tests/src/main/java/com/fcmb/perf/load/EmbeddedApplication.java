@@ -0,0 +1,61 @@
+package com.fcmb.perf.load;
+
+import com.fcmb.sampleapplication.SampleApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public final class EmbeddedApplication implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+
+    private EmbeddedApplication(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    public static EmbeddedApplication start(Map<String, String> overrides) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1");
+        properties.put("spring.h2.console.enabled", "false");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("security.jwt.enable-logging", "false");
+        // Per-request console logging (including the ERROR lines for rejected tokens)
+        // would dominate the measurement, so it is off unless explicitly overridden
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.fcmb", "OFF");
+        properties.put("logging.level.org.springframework.security", "WARN");
+        properties.putAll(overrides);
+
+        // Passed as command line arguments so they take precedence over application.properties
+        String[] args = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SampleApplication.class)
+                .run(args);
+        return new EmbeddedApplication(context);
+    }
+
+    public String baseUrl() {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return "http://localhost:" + port;
+    }
+
+    public Environment environment() {
+        return context.getEnvironment();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
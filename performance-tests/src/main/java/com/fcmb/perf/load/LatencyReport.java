@@ -0,0 +1,108 @@
+package com.fcmb.perf.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LatencyReport {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final Map<Scenario, Histogram> histograms = new EnumMap<>(Scenario.class);
+    private final Map<Scenario, LongAdder> errorCounts = new EnumMap<>(Scenario.class);
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final long expectedIntervalNanos;
+    private long elapsedNanos;
+
+    public LatencyReport(long expectedIntervalNanos) {
+        this.expectedIntervalNanos = expectedIntervalNanos;
+        for (Scenario scenario : Scenario.values()) {
+            histograms.put(scenario, new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3));
+            errorCounts.put(scenario, new LongAdder());
+        }
+    }
+
+    public void recordSuccess(Scenario scenario, long latencyNanos) {
+        record(scenario, latencyNanos);
+    }
+
+    public void recordFailure(Scenario scenario, long latencyNanos, String reason) {
+        record(scenario, latencyNanos);
+        errorCounts.get(scenario).increment();
+        errors.computeIfAbsent(scenario.getKey() + " " + reason, k -> new LongAdder()).increment();
+    }
+
+    private void record(Scenario scenario, long latencyNanos) {
+        long value = Math.min(latencyNanos, MAX_TRACKABLE_NANOS);
+        if (expectedIntervalNanos > 0) {
+            // Closed-loop runs back-fill the samples a stalled worker never issued
+            histograms.get(scenario).recordValueWithExpectedInterval(value, expectedIntervalNanos);
+        } else {
+            histograms.get(scenario).recordValue(value);
+        }
+    }
+
+    public void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public double meanNanos() {
+        Histogram total = total();
+        return total.getTotalCount() == 0 ? 0 : total.getMean();
+    }
+
+    public long count(Scenario scenario) {
+        return histograms.get(scenario).getTotalCount();
+    }
+
+    public void print(PrintStream out) {
+        double seconds = elapsedNanos / 1e9;
+        out.printf("%-15s %10s %8s %12s %9s %9s %9s %9s %9s%n",
+                "scenario", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        for (Scenario scenario : Scenario.values()) {
+            Histogram histogram = histograms.get(scenario);
+            if (histogram.getTotalCount() > 0) {
+                printRow(out, scenario.getKey(), histogram, errorCounts.get(scenario).sum(), seconds);
+            }
+        }
+        long totalErrors = errorCounts.values().stream().mapToLong(LongAdder::sum).sum();
+        printRow(out, "total", total(), totalErrors, seconds);
+
+        if (!errors.isEmpty()) {
+            out.println();
+            out.println("errors:");
+            new TreeMap<>(errors).forEach((reason, count) -> out.printf("  %-50s %10d%n", reason, count.sum()));
+        }
+    }
+
+    private void printRow(PrintStream out, String name, Histogram histogram, long errorCount, double seconds) {
+        out.printf("%-15s %10d %8d %12.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name,
+                histogram.getTotalCount(),
+                errorCount,
+                seconds > 0 ? histogram.getTotalCount() / seconds : 0,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private Histogram total() {
+        Histogram total = new Histogram(MAX_TRACKABLE_NANOS, 3);
+        histograms.values().forEach(total::add);
+        return total;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,125 @@
+package com.fcmb.perf.load;
+
+import lombok.Data;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+public class LoadTestConfig {
+
+    private static final String APP_PREFIX = "app.";
+
+    // Base URL of an already running instance; when unset the sample application is booted in-process
+    private String targetUrl;
+    private int users = 1000;
+    private int concurrency = 32;
+    // Open-loop arrival rate in requests per second; 0 runs closed-loop with one request per worker in flight
+    private int rate = 0;
+    private Duration duration = Duration.ofSeconds(60);
+    private Duration warmup = Duration.ofSeconds(10);
+    private int tokenPool = 100;
+    private int seedBatchSize = 1000;
+    private String adminUsername = "admin";
+    private String adminPassword = "admin123";
+    private String userPassword = "Load-Test-Pass1";
+    private String jwtSecret;
+    private String jwtIssuer;
+    private Path report;
+    private Map<Scenario, Integer> mix = defaultMix();
+    private Map<String, String> appProperties = new LinkedHashMap<>();
+
+    public static LoadTestConfig parse(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+            }
+
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+
+            if (key.startsWith(APP_PREFIX)) {
+                config.appProperties.put(key.substring(APP_PREFIX.length()), value);
+                continue;
+            }
+
+            switch (key) {
+                case "target-url" -> config.targetUrl = value;
+                case "users" -> config.users = Integer.parseInt(value);
+                case "concurrency" -> config.concurrency = Integer.parseInt(value);
+                case "rate" -> config.rate = Integer.parseInt(value);
+                case "duration" -> config.duration = parseDuration(value);
+                case "warmup" -> config.warmup = parseDuration(value);
+                case "token-pool" -> config.tokenPool = Integer.parseInt(value);
+                case "seed-batch-size" -> config.seedBatchSize = Integer.parseInt(value);
+                case "admin-username" -> config.adminUsername = value;
+                case "admin-password" -> config.adminPassword = value;
+                case "user-password" -> config.userPassword = value;
+                case "jwt-secret" -> config.jwtSecret = value;
+                case "jwt-issuer" -> config.jwtIssuer = value;
+                case "report" -> config.report = Path.of(value);
+                case "mix" -> config.mix = parseMix(value);
+                default -> throw new IllegalArgumentException("Unknown option: --" + key);
+            }
+        }
+
+        if (config.concurrency < 1 || config.users < 1 || config.rate < 0) {
+            throw new IllegalArgumentException("users and concurrency must be positive and rate must not be negative");
+        }
+        return config;
+    }
+
+    public boolean isOpenLoop() {
+        return rate > 0;
+    }
+
+    static Duration parseDuration(String value) {
+        String text = value.trim().toLowerCase();
+        if (text.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+        }
+        if (text.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(text.substring(0, text.length() - 1)));
+        }
+        if (text.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(text.substring(0, text.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(text));
+    }
+
+    static Map<Scenario, Integer> parseMix(String value) {
+        Map<Scenario, Integer> mix = new EnumMap<>(Scenario.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected scenario:weight in mix but got: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                mix.put(Scenario.fromKey(parts[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Mix must contain at least one scenario with a positive weight");
+        }
+        return mix;
+    }
+
+    private static Map<Scenario, Integer> defaultMix() {
+        Map<Scenario, Integer> mix = new EnumMap<>(Scenario.class);
+        mix.put(Scenario.LOGIN, 10);
+        mix.put(Scenario.AUTHENTICATED, 60);
+        mix.put(Scenario.ADMIN_LIST, 5);
+        mix.put(Scenario.INVALID_TOKEN, 15);
+        mix.put(Scenario.EXPIRED_TOKEN, 10);
+        return mix;
+    }
+}
@@ -0,0 +1,124 @@
+package com.fcmb.perf.load;
+
+import com.fcmb.security.jwt.JwtUtil;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+
+        EmbeddedApplication application = null;
+        try {
+            String baseUrl = config.getTargetUrl();
+            if (baseUrl == null) {
+                System.out.println("Booting sample-application in-process...");
+                application = EmbeddedApplication.start(config.getAppProperties());
+                baseUrl = application.baseUrl();
+                if (config.getJwtSecret() == null) {
+                    config.setJwtSecret(application.environment().getProperty("security.jwt.secret-key"));
+                }
+                if (config.getJwtIssuer() == null) {
+                    config.setJwtIssuer(application.environment().getProperty("security.jwt.issuer"));
+                }
+            }
+            run(config, baseUrl);
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+    }
+
+    private static void run(LoadTestConfig config, String baseUrl) throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        ApiClient apiClient = new ApiClient(httpClient, baseUrl);
+
+        System.out.printf("Target %s, seeding %d users...%n", baseUrl, config.getUsers());
+        String adminToken = apiClient.login(config.getAdminUsername(), config.getAdminPassword());
+        int created = apiClient.seedUsers(adminToken, config.getUsers(), config.getSeedBatchSize(), config.getUserPassword());
+        System.out.printf("Seeded %d new users%n", created);
+
+        List<String> userTokens = loginTokenPool(apiClient, config);
+        ScenarioRequests requests = new ScenarioRequests(
+                apiClient,
+                config.getUsers(),
+                config.getUserPassword(),
+                userTokens,
+                adminToken,
+                expiredToken(config),
+                ScenarioRequests.weighted(config.getMix()));
+        TrafficDriver driver = new TrafficDriver(httpClient, requests, config);
+
+        System.out.printf("Warming up for %ss...%n", config.getWarmup().toSeconds());
+        LatencyReport warmup = driver.run(config.getWarmup(), 0);
+
+        System.out.printf("Measuring for %ss (%s, concurrency %d)...%n",
+                config.getDuration().toSeconds(),
+                config.isOpenLoop() ? "open loop at " + config.getRate() + " req/s" : "closed loop",
+                config.getConcurrency());
+        LatencyReport report = driver.run(config.getDuration(), Math.round(warmup.meanNanos()));
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(buffer, true, StandardCharsets.UTF_8);
+        out.printf("users=%d concurrency=%d rate=%d duration=%ss mix=%s%n",
+                config.getUsers(), config.getConcurrency(), config.getRate(),
+                config.getDuration().toSeconds(), config.getMix());
+        report.print(out);
+
+        String text = buffer.toString(StandardCharsets.UTF_8);
+        System.out.println();
+        System.out.print(text);
+        if (config.getReport() != null) {
+            Files.writeString(config.getReport(), text);
+        }
+    }
+
+    private static List<String> loginTokenPool(ApiClient apiClient, LoadTestConfig config) throws Exception {
+        int size = Math.min(config.getTokenPool(), config.getUsers());
+        ExecutorService executor = Executors.newFixedThreadPool(config.getConcurrency());
+        try {
+            List<Future<String>> logins = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                String username = ApiClient.username(i);
+                logins.add(executor.submit(() -> apiClient.login(username, config.getUserPassword())));
+            }
+            List<String> tokens = new ArrayList<>(size);
+            for (Future<String> login : logins) {
+                tokens.add(login.get());
+            }
+            return tokens;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String expiredToken(LoadTestConfig config) {
+        if (!config.getMix().containsKey(Scenario.EXPIRED_TOKEN)) {
+            return null;
+        }
+        if (config.getJwtSecret() == null) {
+            throw new IllegalArgumentException("--jwt-secret is required for the expired scenario against an external target");
+        }
+        JwtUtil expiredIssuer = new JwtUtil(config.getJwtSecret(), -60_000, config.getJwtIssuer());
+        return expiredIssuer.generateToken(1L, ApiClient.username(0), List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+}
@@ -0,0 +1,30 @@
+package com.fcmb.perf.load;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum Scenario {
+
+    LOGIN("login", 200),
+    AUTHENTICATED("authenticated", 200),
+    ADMIN_LIST("admin", 200),
+    INVALID_TOKEN("invalid", 401),
+    EXPIRED_TOKEN("expired", 401),
+    // Sign-up with a fresh identity (filter pre-check, BCrypt, insert) and with a seeded username
+    REGISTER("register", 201),
+    REGISTER_TAKEN("register-taken", 409);
+
+    private final String key;
+    private final int expectedStatus;
+
+    public static Scenario fromKey(String key) {
+        for (Scenario scenario : values()) {
+            if (scenario.key.equalsIgnoreCase(key)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario: " + key);
+    }
+}
@@ -0,0 +1,63 @@
+package com.fcmb.perf.load;
+
+import lombok.RequiredArgsConstructor;
+
+import java.net.http.HttpRequest;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+@RequiredArgsConstructor
+public class ScenarioRequests {
+
+    static final String AUTHENTICATED_PATH = "/api/users/me";
+    static final String ADMIN_PATH = "/api/admin/users";
+
+    private final ApiClient apiClient;
+    private final int users;
+    private final String userPassword;
+    private final List<String> userTokens;
+    private final String adminToken;
+    private final String expiredToken;
+    private final Scenario[] weightedScenarios;
+    // Fresh sign-up identities; the run prefix keeps repeated runs against one target apart
+    private final String signupPrefix = "lt-signup-" + Long.toString(System.currentTimeMillis(), 36) + "-";
+    private final AtomicLong signups = new AtomicLong();
+
+    public static Scenario[] weighted(Map<Scenario, Integer> mix) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        Scenario[] weighted = new Scenario[total];
+        int i = 0;
+        for (Map.Entry<Scenario, Integer> entry : mix.entrySet()) {
+            for (int w = 0; w < entry.getValue(); w++) {
+                weighted[i++] = entry.getKey();
+            }
+        }
+        return weighted;
+    }
+
+    public Scenario next() {
+        return weightedScenarios[ThreadLocalRandom.current().nextInt(weightedScenarios.length)];
+    }
+
+    public HttpRequest build(Scenario scenario) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (scenario) {
+            case LOGIN -> apiClient.loginRequest(ApiClient.username(random.nextInt(users)), userPassword);
+            // Public endpoint, but the JWT filter still verifies the bearer token on every request
+            case AUTHENTICATED -> apiClient.get(AUTHENTICATED_PATH, userTokens.get(random.nextInt(userTokens.size())));
+            case ADMIN_LIST -> apiClient.get(ADMIN_PATH, adminToken);
+            case INVALID_TOKEN -> apiClient.get(ADMIN_PATH, "not-a-valid-token");
+            case EXPIRED_TOKEN -> apiClient.get(ADMIN_PATH, expiredToken);
+            case REGISTER -> {
+                String username = signupPrefix + signups.incrementAndGet();
+                yield apiClient.registerRequest(username, username + "@loadtest.local", userPassword);
+            }
+            case REGISTER_TAKEN -> {
+                String username = ApiClient.username(random.nextInt(users));
+                yield apiClient.registerRequest(username, "taken-" + random.nextLong() + "@loadtest.local", userPassword);
+            }
+        };
+    }
+}
@@ -0,0 +1,107 @@
+package com.fcmb.perf.load;
+
+import lombok.RequiredArgsConstructor;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+@RequiredArgsConstructor
+public class TrafficDriver {
+
+    private final HttpClient httpClient;
+    private final ScenarioRequests requests;
+    private final LoadTestConfig config;
+
+    public LatencyReport run(Duration duration, long expectedIntervalNanos) throws InterruptedException {
+        LatencyReport report = new LatencyReport(config.isOpenLoop() ? 0 : expectedIntervalNanos);
+        long start = System.nanoTime();
+
+        if (config.isOpenLoop()) {
+            runOpenLoop(report, start, start + duration.toNanos());
+        } else {
+            runClosedLoop(report, start + duration.toNanos());
+        }
+
+        report.setElapsedNanos(System.nanoTime() - start);
+        return report;
+    }
+
+    // Requests are issued on a fixed schedule and latency is measured from the intended
+    // send time, so time spent queued behind a slow server is charged to the request
+    private void runOpenLoop(LatencyReport report, long start, long end) throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.getRate();
+        int backlog = Math.max(config.getRate() * 10, config.getConcurrency());
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(config.getConcurrency(), config.getConcurrency(),
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(backlog));
+
+        try {
+            for (long i = 0; ; i++) {
+                long intended = start + i * intervalNanos;
+                if (intended >= end) {
+                    break;
+                }
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                Scenario scenario = requests.next();
+                try {
+                    workers.execute(() -> send(report, scenario, intended));
+                } catch (RejectedExecutionException e) {
+                    report.recordFailure(scenario, System.nanoTime() - intended, "client backlog full");
+                }
+            }
+        } finally {
+            shutdown(workers);
+        }
+    }
+
+    private void runClosedLoop(LatencyReport report, long end) throws InterruptedException {
+        List<Thread> threads = new ArrayList<>(config.getConcurrency());
+        for (int i = 0; i < config.getConcurrency(); i++) {
+            Thread thread = new Thread(() -> {
+                while (System.nanoTime() < end) {
+                    send(report, requests.next(), System.nanoTime());
+                }
+            }, "load-worker-" + i);
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    private void send(LatencyReport report, Scenario scenario, long intendedNanos) {
+        try {
+            HttpResponse<Void> response = httpClient.send(requests.build(scenario), HttpResponse.BodyHandlers.discarding());
+            long latency = System.nanoTime() - intendedNanos;
+            if (response.statusCode() == scenario.getExpectedStatus()) {
+                report.recordSuccess(scenario, latency);
+            } else {
+                report.recordFailure(scenario, latency, "status " + response.statusCode());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            report.recordFailure(scenario, System.nanoTime() - intendedNanos, e.getClass().getSimpleName());
+        }
+    }
+
+    private static void shutdown(ExecutorService workers) throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(2, TimeUnit.MINUTES)) {
+            workers.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.fcmb.perf.outbound;
+
+import com.fcmb.security.jwt.JwtUtil;
+import com.fcmb.security.outbound.OutboundIdentity;
+import com.fcmb.security.outbound.OutboundTokenManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Authorization header for an outbound call: signing a token per call, as services did before the
+// manager, against the manager's cached token for the same audience and identity.
+//
+// mvn -pl performance-tests exec:exec -Dperf.main.class=org.openjdk.jmh.Main -Dperf.args="OutboundTokenBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OutboundTokenBenchmark {
+
+    private static final String SECRET = "MySecretKeyForJWTTokenSigningAndValidation2024!@#$%^&*()";
+    private static final String AUDIENCE = "orders-service";
+
+    private JwtUtil jwtUtil;
+    private OutboundIdentity identity;
+    private List<SimpleGrantedAuthority> authorities;
+    private OutboundTokenManager manager;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 3_600_000, "sample-application");
+        identity = OutboundIdentity.of(1L, "sample-application", "ROLE_SERVICE");
+        authorities = List.of(new SimpleGrantedAuthority("ROLE_SERVICE"));
+        manager = new OutboundTokenManager(jwtUtil, identity, "Authorization", "Bearer ", 3_600_000, 0.8, 1000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        manager.close();
+    }
+
+    @Benchmark
+    public String signPerCall() {
+        return "Bearer " + jwtUtil.generateToken(identity.userId(), identity.username(), authorities, AUDIENCE);
+    }
+
+    @Benchmark
+    public String cached() {
+        return manager.authorization(AUDIENCE, identity);
+    }
+}
@@ -0,0 +1,74 @@
+package com.fcmb.perf.quota;
+
+import com.fcmb.security.quota.QuotaBucket;
+import com.fcmb.security.quota.QuotaRegistry;
+import com.fcmb.security.quota.QuotaTier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// The work QuotaFilter does per request, minus header writing: tier lookup, bucket lookup, acquire.
+// "hot" sends every thread to the same user (one contended CAS), "spread" picks from many users.
+// Quotas are large enough that requests are admitted, which is the common path.
+//
+// mvn -pl performance-tests exec:exec -Dperf.main.class=org.openjdk.jmh.Main -Dperf.args="QuotaBenchmark -t 8"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuotaBenchmark {
+
+    private static final String ISSUER = "core-security";
+    private static final List<String> ROLES = List.of("ROLE_USER");
+
+    @Param({"10000"})
+    public int users;
+
+    private QuotaRegistry registry;
+    private Long[] userIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        QuotaTier unlimited = new QuotaTier("default", Long.MAX_VALUE / 2, Duration.ofDays(365));
+        registry = new QuotaRegistry(64, users * 2, unlimited,
+                Map.of("ROLE_ADMIN", new QuotaTier("ROLE_ADMIN", Long.MAX_VALUE / 2, Duration.ofDays(365))));
+        userIds = new Long[users];
+        for (int i = 0; i < users; i++) {
+            userIds[i] = (long) i + 1_000;
+        }
+    }
+
+    @Benchmark
+    public long hot() {
+        return acquire(userIds[0]);
+    }
+
+    @Benchmark
+    public long spread() {
+        return acquire(userIds[ThreadLocalRandom.current().nextInt(userIds.length)]);
+    }
+
+    private long acquire(Long userId) {
+        long now = System.nanoTime();
+        QuotaTier tier = registry.tierFor(ROLES);
+        QuotaBucket bucket = registry.bucket(ISSUER, userId, now);
+        return bucket.tryAcquire(tier, now);
+    }
+}
@@ -0,0 +1,124 @@
+package com.fcmb.perf.warmup;
+
+import com.fcmb.perf.load.ApiClient;
+import com.fcmb.perf.load.EmbeddedApplication;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// Boots the sample application and reports per-second latency of the first seconds of traffic.
+// The JIT state is per JVM, so compare runs with --warmup=false and --warmup=true in separate invocations.
+public final class StartupLatencyProbe {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private StartupLatencyProbe() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        boolean warmup = Boolean.parseBoolean(options.getOrDefault("warmup", "true"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "10"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "4"));
+        String path = options.getOrDefault("path", "/api/users/me");
+
+        Map<String, String> overrides = new LinkedHashMap<>();
+        overrides.put("security.jwt.warmup.enabled", String.valueOf(warmup));
+        options.forEach((key, value) -> {
+            if (key.startsWith("app.")) {
+                overrides.put(key.substring("app.".length()), value);
+            }
+        });
+
+        long bootStart = System.nanoTime();
+        try (EmbeddedApplication application = EmbeddedApplication.start(overrides)) {
+            long bootNanos = System.nanoTime() - bootStart;
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            ApiClient apiClient = new ApiClient(httpClient, application.baseUrl());
+
+            long loginStart = System.nanoTime();
+            String token = apiClient.login(options.getOrDefault("username", "user"),
+                    options.getOrDefault("password", "password"));
+            long loginNanos = System.nanoTime() - loginStart;
+
+            List<Histogram> perSecond = drive(httpClient, apiClient.get(path, token), seconds, concurrency);
+
+            System.out.printf("%nwarmup=%s boot-to-ready=%d ms first-login=%.2f ms path=%s concurrency=%d%n",
+                    warmup, TimeUnit.NANOSECONDS.toMillis(bootNanos), loginNanos / 1e6, path, concurrency);
+            System.out.printf("%-8s %10s %9s %9s %9s%n", "second", "requests", "p50 ms", "p99 ms", "max ms");
+            for (int second = 0; second < perSecond.size(); second++) {
+                Histogram histogram = perSecond.get(second);
+                System.out.printf("%-8d %10d %9.2f %9.2f %9.2f%n",
+                        second + 1,
+                        histogram.getTotalCount(),
+                        histogram.getValueAtPercentile(50) / 1e6,
+                        histogram.getValueAtPercentile(99) / 1e6,
+                        histogram.getMaxValue() / 1e6);
+            }
+        }
+    }
+
+    private static List<Histogram> drive(HttpClient httpClient, HttpRequest request, int seconds, int concurrency)
+            throws Exception {
+        List<Histogram> perSecond = new ArrayList<>(seconds);
+        for (int second = 0; second < seconds; second++) {
+            perSecond.add(new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int worker = 0; worker < concurrency; worker++) {
+                workers.add(executor.submit(() -> {
+                    for (long sent = System.nanoTime(); sent < end; sent = System.nanoTime()) {
+                        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            throw new IllegalStateException("Request failed with status " + response.statusCode());
+                        }
+                        // Bucketed by send time, so a slow first request counts against the second it was sent in
+                        int second = (int) TimeUnit.NANOSECONDS.toSeconds(sent - start);
+                        perSecond.get(second).recordValue(Math.min(System.nanoTime() - sent, MAX_TRACKABLE_NANOS));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return perSecond;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+}
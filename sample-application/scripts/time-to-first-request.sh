@@ -0,0 +1,36 @@
+#!/usr/bin/env bash
+# Measures the time from JVM launch until the first authenticated request succeeds.
+# Usage: scripts/time-to-first-request.sh [runs] -- <java options and -jar target>
+# Example: scripts/time-to-first-request.sh 5 -- -XX:SharedArchiveFile=target/cds/application.jsa \
+#            -jar target/cds/sample-application-0.0.1-SNAPSHOT-exec.jar
+set -euo pipefail
+
+RUNS=${1:-5}
+shift
+[ "${1:-}" = "--" ] && shift
+
+PORT=${PORT:-18080}
+BASE="http://localhost:${PORT}"
+
+now_ms() { date +%s%3N; }
+
+for run in $(seq 1 "$RUNS"); do
+  start=$(now_ms)
+  java "$@" --server.port="$PORT" --spring.jpa.show-sql=false --logging.level.root=WARN \
+    --logging.level.com.fcmb=WARN > /dev/null 2>&1 &
+  pid=$!
+
+  token=""
+  until [ -n "$token" ]; do
+    token=$(curl -s -X POST "$BASE/api/auth/login" -H 'Content-Type: application/json' \
+      -d '{"username":"admin","password":"admin123"}' | sed -n 's/.*"token":"\([^"]*\)".*/\1/p' || true)
+    [ -z "$token" ] && sleep 0.02
+  done
+
+  status=$(curl -s -o /dev/null -w '%{http_code}' "$BASE/api/admin/users" -H "Authorization: Bearer $token")
+  end=$(now_ms)
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  echo "run ${run}: first authenticated request (HTTP ${status}) after $((end - start)) ms"
+done
@@ -1,15 +1,21 @@
 package com.fcmb.sampleapplication.controller;
 
-import com.fcmb.sampleapplication.dto.response.UserResponse;
+import com.fcmb.sampleapplication.dto.request.BulkCreateUsersRequest;
+import com.fcmb.sampleapplication.dto.response.BulkCreateUsersResponse;
+import com.fcmb.sampleapplication.service.UserProvisioningService;
 import com.fcmb.sampleapplication.service.UserService;
+import com.fcmb.security.authz.RequireRoles;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -17,11 +23,28 @@ import java.util.List;
 public class AdminController {
 
     private final UserService userService;
+    private final UserProvisioningService userProvisioningService;
 
     @GetMapping("/users")
-    @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<UserResponse>> getAllUsers() {
-        List<UserResponse> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+    @RequireRoles("ADMIN")
+    public ResponseEntity<byte[]> getAllUsers(WebRequest request) {
+        // Unchanged polls are answered from the version counter before any query runs
+        if (request.checkNotModified(userService.currentListingEtag())) {
+            return null;
+        }
+
+        UserService.UserListing listing = userService.getUserListing();
+        return ResponseEntity.ok()
+                .eTag(listing.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(listing.body());
+    }
+
+    @PostMapping("/users/bulk")
+    @RequireRoles("ADMIN")
+    public ResponseEntity<BulkCreateUsersResponse> createUsers(@Valid @RequestBody BulkCreateUsersRequest request) {
+        BulkCreateUsersResponse response = userProvisioningService.provision(request.getUsers());
+        return ResponseEntity.ok(response);
     }
 }
@@ -1,10 +1,14 @@
 package com.fcmb.sampleapplication.controller;
 
 import com.fcmb.sampleapplication.dto.request.LoginRequest;
+import com.fcmb.sampleapplication.dto.request.RegisterRequest;
 import com.fcmb.sampleapplication.dto.response.LoginResponse;
+import com.fcmb.sampleapplication.dto.response.UserResponse;
 import com.fcmb.sampleapplication.service.auth.AuthenticationService;
+import com.fcmb.sampleapplication.service.registration.RegistrationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -14,10 +18,23 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthenticationService authenticationService;
+    private final RegistrationService registrationService;
 
     @PostMapping("/login")
     public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request) {
         LoginResponse response = authenticationService.authenticate(request);
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/login/reference")
+    public ResponseEntity<LoginResponse> loginWithReferenceToken(@Valid @RequestBody LoginRequest request) {
+        LoginResponse response = authenticationService.authenticateWithReferenceToken(request);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/register")
+    public ResponseEntity<UserResponse> register(@Valid @RequestBody RegisterRequest request) {
+        UserResponse response = registrationService.register(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
 }
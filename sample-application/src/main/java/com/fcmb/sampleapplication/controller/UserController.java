@@ -0,0 +1,26 @@
+package com.fcmb.sampleapplication.controller;
+
+import com.fcmb.sampleapplication.dto.response.CurrentUserResponse;
+import com.fcmb.security.jwt.JwtPrincipal;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/users")
+public class UserController {
+
+    // Served from the verified token alone; no database access
+    @GetMapping("/me")
+    public ResponseEntity<CurrentUserResponse> me(JwtPrincipal principal) {
+        CurrentUserResponse response = CurrentUserResponse.builder()
+                .userId(principal.getUserId())
+                .username(principal.getUsername())
+                .roles(principal.getRoles())
+                .issuer(principal.getIssuer())
+                .tokenExpiresAt(principal.getExpiresAt())
+                .build();
+        return ResponseEntity.ok(response);
+    }
+}
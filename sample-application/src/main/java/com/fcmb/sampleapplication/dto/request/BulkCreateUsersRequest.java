@@ -0,0 +1,23 @@
+package com.fcmb.sampleapplication.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateUsersRequest {
+
+    // Rows are validated individually by the provisioning service so that one
+    // bad row is reported instead of rejecting the whole batch.
+    @NotEmpty(message = "At least one user is required")
+    @Size(max = 50000, message = "At most 50000 users can be provisioned per request")
+    private List<CreateUserRequest> users;
+}
@@ -0,0 +1,28 @@
+package com.fcmb.sampleapplication.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateUserRequest {
+
+    private String username;
+
+    private String password;
+
+    private String email;
+
+    private Set<String> roles;
+
+    @Builder.Default
+    private boolean enabled = true;
+
+    private boolean machineAccount;
+}
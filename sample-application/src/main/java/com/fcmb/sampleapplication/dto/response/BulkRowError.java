@@ -0,0 +1,17 @@
+package com.fcmb.sampleapplication.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRowError {
+
+    private int index;
+    private String username;
+    private String reason;
+}
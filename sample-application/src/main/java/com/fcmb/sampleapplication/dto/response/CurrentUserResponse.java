@@ -0,0 +1,22 @@
+package com.fcmb.sampleapplication.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CurrentUserResponse {
+
+    private Long userId;
+    private String username;
+    private List<String> roles;
+    private String issuer;
+    private Instant tokenExpiresAt;
+}
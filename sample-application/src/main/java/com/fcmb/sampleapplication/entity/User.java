@@ -12,6 +12,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserChangeListener.class)
 @Data
 @Builder
 @NoArgsConstructor
@@ -19,16 +20,21 @@ import java.util.Set;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
+    // Role-only changes bump this too, so they reach UserChangeListener as an entity update
+    @Version
+    private Long version;
+
     @Column(unique = true, nullable = false)
     private String username;
 
     @Column(nullable = false)
     private String password;
 
-    @Column(nullable = false)
+    @Column(unique = true, nullable = false)
     private String email;
 
     @ElementCollection(fetch = FetchType.EAGER)
@@ -41,6 +47,23 @@ public class User {
     @Builder.Default
     private boolean enabled = true;
 
+    // Service accounts that log in repeatedly; only these may use the credential verification cache
+    @Column(name = "machine_account", nullable = false)
+    @Builder.Default
+    private boolean machineAccount = false;
+
+    // Written in batches by LoginTracker only; never part of entity updates, so saving a user that
+    // was loaded earlier cannot overwrite newer login state, and logins do not bump the version
+    @Column(name = "last_login_at", updatable = false)
+    private LocalDateTime lastLoginAt;
+
+    @Column(name = "failed_attempts", nullable = false, updatable = false)
+    @Builder.Default
+    private int failedAttempts = 0;
+
+    @Column(name = "locked_until", updatable = false)
+    private LocalDateTime lockedUntil;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -0,0 +1,51 @@
+package com.fcmb.sampleapplication.entity;
+
+import com.fcmb.sampleapplication.service.ReplicaReads;
+import com.fcmb.sampleapplication.service.UserTableVersion;
+import com.fcmb.sampleapplication.service.auth.UserDirectorySync;
+import com.fcmb.sampleapplication.service.registration.IdentityFilters;
+import com.fcmb.security.credential.CredentialVerificationCache;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+
+@RequiredArgsConstructor
+public class UserChangeListener {
+
+    private final UserTableVersion userTableVersion;
+    private final ObjectProvider<CredentialVerificationCache> credentialVerificationCache;
+    private final ObjectProvider<UserDirectorySync> userDirectorySync;
+    private final IdentityFilters identityFilters;
+    private final ReplicaReads replicaReads;
+
+    @PostPersist
+    public void onCreate(User user) {
+        userTableVersion.markChanged();
+        replicaReads.userWritten(user.getUsername());
+        identityFilters.record(user.getUsername(), user.getEmail());
+        userDirectorySync.ifAvailable(sync -> sync.changed(user));
+    }
+
+    @PostUpdate
+    public void onUpdate(User user) {
+        invalidate(user);
+        identityFilters.record(user.getUsername(), user.getEmail());
+        userDirectorySync.ifAvailable(sync -> sync.changed(user));
+    }
+
+    @PostRemove
+    public void onRemove(User user) {
+        invalidate(user);
+        userDirectorySync.ifAvailable(sync -> sync.removed(user));
+    }
+
+    private void invalidate(User user) {
+        userTableVersion.markChanged();
+        replicaReads.userWritten(user.getUsername());
+        // Password changes and disabling also change the version, which makes cached entries miss;
+        // dropping them here keeps the cache from holding stale digests until they expire
+        credentialVerificationCache.ifAvailable(cache -> cache.invalidate(user.getUsername()));
+    }
+}
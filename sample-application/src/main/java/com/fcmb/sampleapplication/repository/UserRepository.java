@@ -2,8 +2,12 @@ package com.fcmb.sampleapplication.repository;
 
 import com.fcmb.sampleapplication.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,4 +18,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
     
     boolean existsByEmail(String email);
+
+    @Query("select u.username as username, u.email as email from User u " +
+            "where u.username in :usernames or u.email in :emails")
+    List<UserIdentity> findIdentitiesByUsernameInOrEmailIn(@Param("usernames") Collection<String> usernames,
+                                                          @Param("emails") Collection<String> emails);
+
+    interface UserIdentity {
+        String getUsername();
+
+        String getEmail();
+    }
 }
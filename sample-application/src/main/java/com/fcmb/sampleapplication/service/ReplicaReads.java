@@ -0,0 +1,37 @@
+package com.fcmb.sampleapplication.service;
+
+import com.fcmb.security.replica.ReadYourWrites;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+// Read-your-writes keys for replica routing: one per username for login and profile reads, one for
+// the whole table for listings. Everything is a no-op when replica routing is disabled.
+@Component
+@RequiredArgsConstructor
+public class ReplicaReads {
+
+    private static final String ALL_USERS = "users";
+
+    private final ObjectProvider<ReadYourWrites> readYourWrites;
+
+    public static String userKey(String username) {
+        return "user:" + username;
+    }
+
+    public void userWritten(String username) {
+        readYourWrites.ifAvailable(tracker -> {
+            tracker.recordWrite(userKey(username));
+            tracker.recordWrite(ALL_USERS);
+        });
+    }
+
+    public void readingUser(String username) {
+        readYourWrites.ifAvailable(tracker -> tracker.pinIfRecent(userKey(username)));
+    }
+
+    // A listing read from a lagging replica would be cached under the new table version
+    public void readingAllUsers() {
+        readYourWrites.ifAvailable(tracker -> tracker.pinIfRecent(ALL_USERS));
+    }
+}
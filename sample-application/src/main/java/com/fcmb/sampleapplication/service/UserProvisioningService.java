@@ -0,0 +1,224 @@
+package com.fcmb.sampleapplication.service;
+
+import com.fcmb.sampleapplication.dto.request.CreateUserRequest;
+import com.fcmb.sampleapplication.dto.response.BulkCreateUsersResponse;
+import com.fcmb.sampleapplication.dto.response.BulkRowError;
+import com.fcmb.sampleapplication.entity.User;
+import com.fcmb.sampleapplication.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+@Slf4j
+@Service
+public class UserProvisioningService {
+
+    private static final Set<String> DEFAULT_ROLES = Set.of("ROLE_USER");
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool hashingPool;
+    private final int batchSize;
+
+    public UserProvisioningService(UserRepository userRepository,
+                                   PasswordEncoder passwordEncoder,
+                                   EntityManager entityManager,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${app.provisioning.hash-parallelism:4}") int hashParallelism,
+                                   @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}") int batchSize) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.hashingPool = new ForkJoinPool(hashParallelism);
+        this.batchSize = batchSize;
+    }
+
+    public BulkCreateUsersResponse provision(List<CreateUserRequest> requests) {
+        List<BulkRowError> errors = new ArrayList<>();
+        List<PendingUser> valid = validate(requests, errors);
+
+        // The existence check runs per insert chunk so its IN lists stay within driver bind-parameter limits
+        int created = 0;
+        for (int from = 0; from < valid.size(); from += batchSize) {
+            List<PendingUser> pending = rejectExistingIdentities(
+                    valid.subList(from, Math.min(from + batchSize, valid.size())), errors);
+            if (!pending.isEmpty()) {
+                created += insert(hash(pending), errors);
+            }
+        }
+
+        errors.sort(Comparator.comparingInt(BulkRowError::getIndex));
+
+        log.info("Bulk provisioning finished: {} requested, {} created, {} failed",
+                requests.size(), created, errors.size());
+
+        return BulkCreateUsersResponse.builder()
+                .requested(requests.size())
+                .created(created)
+                .failed(errors.size())
+                .errors(errors)
+                .build();
+    }
+
+    private List<PendingUser> validate(List<CreateUserRequest> requests, List<BulkRowError> errors) {
+        List<PendingUser> pending = new ArrayList<>(requests.size());
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            CreateUserRequest request = requests.get(i);
+            String reason = null;
+
+            if (request == null) {
+                reason = "Row is empty";
+            } else if (!StringUtils.hasText(request.getUsername())) {
+                reason = "Username is required";
+            } else if (!StringUtils.hasText(request.getPassword())) {
+                reason = "Password is required";
+            } else if (!StringUtils.hasText(request.getEmail())) {
+                reason = "Email is required";
+            } else if (!usernames.add(request.getUsername())) {
+                reason = "Duplicate username in batch";
+            } else if (!emails.add(request.getEmail())) {
+                reason = "Duplicate email in batch";
+            }
+
+            if (reason != null) {
+                errors.add(rowError(i, request, reason));
+            } else {
+                pending.add(new PendingUser(i, request, null));
+            }
+        }
+        return pending;
+    }
+
+    // BCrypt dominates the cost of a batch, so hash on a bounded pool rather
+    // than the common pool shared with the rest of the application
+    private List<PendingUser> hash(List<PendingUser> pending) {
+        return hashingPool.submit(() -> pending.parallelStream()
+                        .map(row -> row.withEncodedPassword(passwordEncoder.encode(row.request().getPassword())))
+                        .toList())
+                .join();
+    }
+
+    private List<PendingUser> rejectExistingIdentities(List<PendingUser> pending, List<BulkRowError> errors) {
+        if (pending.isEmpty()) {
+            return pending;
+        }
+
+        Set<String> usernames = new HashSet<>(pending.size());
+        Set<String> emails = new HashSet<>(pending.size());
+        for (PendingUser row : pending) {
+            usernames.add(row.request().getUsername());
+            emails.add(row.request().getEmail());
+        }
+
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        for (UserRepository.UserIdentity identity :
+                userRepository.findIdentitiesByUsernameInOrEmailIn(usernames, emails)) {
+            takenUsernames.add(identity.getUsername());
+            takenEmails.add(identity.getEmail());
+        }
+
+        if (takenUsernames.isEmpty() && takenEmails.isEmpty()) {
+            return pending;
+        }
+
+        List<PendingUser> available = new ArrayList<>(pending.size());
+        for (PendingUser row : pending) {
+            if (takenUsernames.contains(row.request().getUsername())) {
+                errors.add(rowError(row.index(), row.request(), "Username already exists"));
+            } else if (takenEmails.contains(row.request().getEmail())) {
+                errors.add(rowError(row.index(), row.request(), "Email already exists"));
+            } else {
+                available.add(row);
+            }
+        }
+        return available;
+    }
+
+    private int insert(List<PendingUser> chunk, List<BulkRowError> errors) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(chunk));
+            return chunk.size();
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent writer took one of the identities after the pre-check;
+            // retry the chunk row by row so only the offending rows are reported
+            log.warn("Batch insert of {} users failed, retrying row by row: {}", chunk.size(), e.getMessage());
+        }
+
+        int created = 0;
+        for (PendingUser row : chunk) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> persist(List.of(row)));
+                created++;
+            } catch (DataIntegrityViolationException e) {
+                errors.add(rowError(row.index(), row.request(), "Username or email already exists"));
+            }
+        }
+        return created;
+    }
+
+    private void persist(List<PendingUser> rows) {
+        for (PendingUser row : rows) {
+            entityManager.persist(toEntity(row));
+        }
+        // Flushed through the repository so a constraint failure surfaces as DataIntegrityViolationException
+        userRepository.flush();
+        entityManager.clear();
+    }
+
+    private User toEntity(PendingUser row) {
+        CreateUserRequest request = row.request();
+        Set<String> roles = request.getRoles() == null || request.getRoles().isEmpty()
+                ? DEFAULT_ROLES
+                : request.getRoles();
+
+        return User.builder()
+                .username(request.getUsername())
+                .password(row.encodedPassword())
+                .email(request.getEmail())
+                .roles(new HashSet<>(roles))
+                .enabled(request.isEnabled())
+                .machineAccount(request.isMachineAccount())
+                .build();
+    }
+
+    private BulkRowError rowError(int index, CreateUserRequest request, String reason) {
+        return BulkRowError.builder()
+                .index(index)
+                .username(request != null ? request.getUsername() : null)
+                .reason(reason)
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingPool.shutdown();
+    }
+
+    private record PendingUser(int index, CreateUserRequest request, String encodedPassword) {
+
+        PendingUser withEncodedPassword(String encoded) {
+            return new PendingUser(index, request, encoded);
+        }
+    }
+}
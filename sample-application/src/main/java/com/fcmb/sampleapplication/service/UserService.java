@@ -1,11 +1,16 @@
 package com.fcmb.sampleapplication.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fcmb.sampleapplication.dto.response.UserResponse;
 import com.fcmb.sampleapplication.entity.User;
 import com.fcmb.sampleapplication.repository.UserRepository;
+import com.fcmb.security.json.JsonWriters;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -15,20 +20,60 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UserTableVersion userTableVersion;
+    private final JsonWriters jsonWriters;
+    private final ReplicaReads replicaReads;
 
+    @Value("${app.admin.users.cache-payload:true}")
+    private boolean cachePayload;
+
+    private volatile UserListing cachedListing;
+
+    @Transactional(readOnly = true)
     public UserResponse getUserByUsername(String username) {
+        replicaReads.readingUser(username);
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
         
         return mapToResponse(user);
     }
 
+    @Transactional(readOnly = true)
     public List<UserResponse> getAllUsers() {
-        return userRepository.findAll().stream()
+        replicaReads.readingAllUsers();
+        return userRepository.findAll(Sort.by("id")).stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
+    public String currentListingEtag() {
+        return userTableVersion.etag(userTableVersion.current());
+    }
+
+    // Serialized listing for the current table version; the version is read before the query
+    // so a payload is never cached under a version newer than the rows it was built from
+    @Transactional(readOnly = true)
+    public UserListing getUserListing() {
+        long version = userTableVersion.current();
+        UserListing cached = cachedListing;
+        if (cached != null && cached.version() == version) {
+            return cached;
+        }
+
+        byte[] body;
+        try {
+            body = jsonWriters.forListOf(UserResponse.class).writeValueAsBytes(getAllUsers());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize user listing", e);
+        }
+
+        UserListing listing = new UserListing(version, userTableVersion.etag(version), body);
+        if (cachePayload) {
+            cachedListing = listing;
+        }
+        return listing;
+    }
+
     private UserResponse mapToResponse(User user) {
         return UserResponse.builder()
                 .id(user.getId())
@@ -39,4 +84,7 @@ public class UserService {
                 .createdAt(user.getCreatedAt())
                 .build();
     }
+
+    public record UserListing(long version, String etag, byte[] body) {
+    }
 }
@@ -0,0 +1,50 @@
+package com.fcmb.sampleapplication.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Counter of committed writes to the users and user_roles tables, used to validate cached listings.
+// The epoch keeps ETags from one run from matching the restarted counter of the next.
+// Writes that bypass the entity lifecycle (bulk JPQL/SQL updates) must call markChanged() themselves.
+// Single instance only: the counter lives in this JVM, so writes made through another instance never
+// bump it, and this instance keeps answering 304 and serving its cached listing for stale rows.
+@Component
+public class UserTableVersion {
+
+    private static final Object TRANSACTION_KEY = new Object();
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    public String etag(long version) {
+        return "\"users-" + epoch + "-" + version + "\"";
+    }
+
+    // Bumps after commit, so a reader that sees the new version also sees the new rows
+    public void markChanged() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            version.incrementAndGet();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(TRANSACTION_KEY)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(TRANSACTION_KEY, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_KEY);
+                if (status == STATUS_COMMITTED) {
+                    version.incrementAndGet();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,46 @@
+package com.fcmb.sampleapplication.service.auth;
+
+import com.fcmb.sampleapplication.entity.User;
+import com.fcmb.sampleapplication.repository.UserRepository;
+import com.fcmb.sampleapplication.service.ReplicaReads;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+// Account lookups for the login path: the memory-mapped user directory when it is enabled and has a
+// snapshot, the users table otherwise. Directory results are detached copies and must not be saved.
+// Table lookups run in a read-only transaction of their own, so with replica routing they go to a
+// replica, directory lookups never open one, and no connection is held while the password is checked.
+@Component
+public class AccountLookup {
+
+    private final UserRepository userRepository;
+    private final ObjectProvider<UserDirectorySync> userDirectorySync;
+    private final ReplicaReads replicaReads;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public AccountLookup(UserRepository userRepository,
+                         ObjectProvider<UserDirectorySync> userDirectorySync,
+                         ReplicaReads replicaReads,
+                         PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.userDirectorySync = userDirectorySync;
+        this.replicaReads = replicaReads;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public Optional<User> findByUsername(String username) {
+        UserDirectorySync directory = userDirectorySync.getIfAvailable();
+        if (directory != null && directory.isReady()) {
+            return directory.findUser(username);
+        }
+        return readOnlyTransaction.execute(status -> {
+            replicaReads.readingUser(username);
+            return userRepository.findByUsername(username);
+        });
+    }
+}
@@ -3,19 +3,30 @@ package com.fcmb.sampleapplication.service.auth;
 import com.fcmb.sampleapplication.dto.request.LoginRequest;
 import com.fcmb.sampleapplication.dto.response.LoginResponse;
 import com.fcmb.sampleapplication.entity.User;
-import com.fcmb.sampleapplication.repository.UserRepository;
+import com.fcmb.security.credential.CredentialVerificationCache;
 import com.fcmb.security.jwt.JwtUtil;
+import com.fcmb.security.observation.AuthObservations;
+import com.fcmb.security.observation.AuthPhase;
+import com.fcmb.security.session.ReferenceTokenService;
+import com.fcmb.security.session.SessionStoreFullException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.LockedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
 
 @Slf4j
 @Service
@@ -23,42 +34,122 @@ import java.util.List;
 public class AuthenticationService {
 
     private final AuthenticationManager authenticationManager;
-    private final UserRepository userRepository;
+    private final AccountLookup accountLookup;
     private final JwtUtil jwtUtil;
+    private final ObjectProvider<ReferenceTokenService> referenceTokenService;
+    private final ObjectProvider<CredentialVerificationCache> credentialVerificationCache;
+    private final AuthObservations observations;
+    private final LoginTracker loginTracker;
 
     public LoginResponse authenticate(LoginRequest request) {
+        return login(request, (user, authorities) ->
+                jwtUtil.generateToken(user.getId(), user.getUsername(), authorities));
+    }
+
+    public LoginResponse authenticateWithReferenceToken(LoginRequest request) {
+        ReferenceTokenService referenceTokens = referenceTokenService.getIfAvailable();
+        if (referenceTokens == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Reference tokens are not enabled");
+        }
+        return login(request, (user, authorities) ->
+                referenceTokens.issue(user.getId(), user.getUsername(), authorities));
+    }
+
+    private LoginResponse login(LoginRequest request,
+                                BiFunction<User, List<? extends GrantedAuthority>, String> tokenIssuer) {
+        try {
+            // The JFR login event sees the original failure, before it is masked below
+            return observations.observeLogin(() -> attempt(request, tokenIssuer));
+        } catch (SessionStoreFullException e) {
+            // The credentials were fine; the server has no room for another session
+            log.error("No room for a reference token session for user '{}': {}", request.getUsername(), e.getMessage());
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Session capacity exhausted");
+        } catch (Exception e) {
+            log.error("Authentication failed for user '{}': {}", request.getUsername(), e.getMessage());
+            throw new BadCredentialsException("Invalid username or password");
+        }
+    }
+
+    private LoginResponse attempt(LoginRequest request,
+                                  BiFunction<User, List<? extends GrantedAuthority>, String> tokenIssuer) {
+        Optional<User> account = findUser(request.getUsername());
+        // The attempt is counted against the lockout before any password work, cached or not
+        if (account.isPresent() && !loginTracker.tryBeginAttempt(account.get())) {
+            throw new LockedException("Account is temporarily locked");
+        }
         try {
+            return verifyAndIssue(request, account, tokenIssuer);
+        } catch (BadCredentialsException e) {
+            account.ifPresent(loginTracker::recordFailure);
+            throw e;
+        } catch (RuntimeException e) {
+            account.ifPresent(loginTracker::cancelAttempt);
+            throw e;
+        }
+    }
+
+    private LoginResponse verifyAndIssue(LoginRequest request, Optional<User> account,
+                                         BiFunction<User, List<? extends GrantedAuthority>, String> tokenIssuer) {
+        CredentialVerificationCache credentialCache = credentialVerificationCache.getIfAvailable();
+        User user;
+        List<? extends GrantedAuthority> authorities;
+        if (account.isPresent() && credentialCache != null
+                && isCachedMachineLogin(credentialCache, account.get(), request)) {
+            user = account.get();
+            // Same authorities the UserDetails path yields, which sorts them by name
+            authorities = user.getRoles().stream()
+                    .sorted()
+                    .map(SimpleGrantedAuthority::new)
+                    .toList();
+        } else {
             // Authenticate user
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            request.getUsername(),
-                            request.getPassword()
-                    )
-            );
+            Authentication authentication = observations.observe(AuthPhase.LOGIN_AUTHENTICATE, () ->
+                    authenticationManager.authenticate(
+                            new UsernamePasswordAuthenticationToken(
+                                    request.getUsername(),
+                                    request.getPassword()
+                            )
+                    ));
 
             // Get user details
-            User user = userRepository.findByUsername(request.getUsername())
-                    .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+            user = account.orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
-            // Generate JWT token
-            List<? extends GrantedAuthority> authorities = 
-                    (List<? extends GrantedAuthority>) authentication.getAuthorities();
-            
-            String token = jwtUtil.generateToken(user.getId(), user.getUsername(), authorities);
+            authorities = (List<? extends GrantedAuthority>) authentication.getAuthorities();
 
-            log.info("User '{}' authenticated successfully", user.getUsername());
+            if (credentialCache != null && isCacheable(user)) {
+                credentialCache.recordVerified(user.getUsername(), request.getPassword(), user.getVersion());
+            }
+        }
 
-            return LoginResponse.builder()
-                    .token(token)
-                    .type("Bearer")
-                    .userId(user.getId())
-                    .username(user.getUsername())
-                    .roles(user.getRoles())
-                    .build();
+        // Issue token
+        User principal = user;
+        List<? extends GrantedAuthority> granted = authorities;
+        String token = observations.observe(AuthPhase.LOGIN_TOKEN, () -> tokenIssuer.apply(principal, granted));
 
-        } catch (Exception e) {
-            log.error("Authentication failed for user '{}': {}", request.getUsername(), e.getMessage());
-            throw new BadCredentialsException("Invalid username or password");
-        }
+        loginTracker.recordSuccess(user);
+        log.info("User '{}' authenticated successfully", user.getUsername());
+
+        return LoginResponse.builder()
+                .token(token)
+                .type("Bearer")
+                .userId(user.getId())
+                .username(user.getUsername())
+                .roles(user.getRoles())
+                .build();
+    }
+
+    private Optional<User> findUser(String username) {
+        return observations.observe(AuthPhase.LOGIN_USER_LOOKUP, () -> accountLookup.findByUsername(username));
+    }
+
+    // Only machine accounts may skip the password encoder; the version stamp turns any change to
+    // the account (password, enabled flag, roles) into a cache miss
+    private boolean isCachedMachineLogin(CredentialVerificationCache credentialCache, User user, LoginRequest request) {
+        return isCacheable(user) && request.getPassword() != null
+                && credentialCache.isVerified(user.getUsername(), request.getPassword(), user.getVersion());
+    }
+
+    private boolean isCacheable(User user) {
+        return user.isMachineAccount() && user.isEnabled() && user.getVersion() != null;
     }
 }
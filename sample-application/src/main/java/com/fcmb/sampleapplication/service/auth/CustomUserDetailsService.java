@@ -1,7 +1,8 @@
 package com.fcmb.sampleapplication.service.auth;
 
 import com.fcmb.sampleapplication.entity.User;
-import com.fcmb.sampleapplication.repository.UserRepository;
+import com.fcmb.security.observation.AuthObservations;
+import com.fcmb.security.observation.AuthPhase;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,11 +16,13 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
-    private final UserRepository userRepository;
+    private final AccountLookup accountLookup;
+    private final AuthObservations observations;
+    private final LoginTracker loginTracker;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
+        User user = observations.observe(AuthPhase.LOGIN_USER_LOOKUP, () -> accountLookup.findByUsername(username))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
         return org.springframework.security.core.userdetails.User.builder()
@@ -29,7 +32,7 @@ public class CustomUserDetailsService implements UserDetailsService {
                         .map(SimpleGrantedAuthority::new)
                         .collect(Collectors.toList()))
                 .accountExpired(false)
-                .accountLocked(false)
+                .accountLocked(loginTracker.isLocked(user))
                 .credentialsExpired(false)
                 .disabled(!user.isEnabled())
                 .build();
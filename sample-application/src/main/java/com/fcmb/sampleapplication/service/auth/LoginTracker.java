@@ -0,0 +1,217 @@
+package com.fcmb.sampleapplication.service.auth;
+
+import com.fcmb.sampleapplication.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Write-behind tracking of last login, failed attempts and lockout. Updates are folded into one
+// record per user in memory and written as a single JDBC batch on a schedule and on shutdown.
+//
+// Consistency rules:
+// - A user's in-memory record, when there is one, wins over the columns loaded with the entity.
+// - Records stay in memory for one more flush after they are written, so a row read just before a
+//   flush committed cannot hide newer in-memory state. Records with failed attempts or an active
+//   lock stay until they are cleared, because accounts served from the user directory snapshot do
+//   not carry the failed attempt count. Failed attempts expire attemptWindow after the last one, and
+//   the cleared count is written like any other update, so such records do not stay forever.
+// - An attempt is counted before its password is checked and given back if it succeeds or fails for
+//   another reason, so concurrent guesses cannot all pass the lockout check. A process that dies
+//   mid-attempt may leave that attempt counted as failed.
+// - Updates not yet flushed are lost if the process dies, so failed attempts may be under-counted.
+// - Each instance counts on its own until its changes are flushed.
+@Slf4j
+@Service
+public class LoginTracker implements SmartLifecycle {
+
+    private static final String UPDATE_SQL =
+            "UPDATE users SET last_login_at = ?, failed_attempts = ?, locked_until = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxFailedAttempts;
+    private final Duration lockDuration;
+    private final Duration attemptWindow;
+    private final int batchSize;
+    private final Map<Long, LoginRecord> records = new ConcurrentHashMap<>();
+
+    private long generation;
+    private volatile boolean running;
+
+    public LoginTracker(JdbcTemplate jdbcTemplate,
+                        @Value("${app.login-tracking.max-failed-attempts:5}") int maxFailedAttempts,
+                        @Value("${app.login-tracking.lock-duration:15m}") Duration lockDuration,
+                        @Value("${app.login-tracking.attempt-window:15m}") Duration attemptWindow,
+                        @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxFailedAttempts = maxFailedAttempts;
+        this.lockDuration = lockDuration;
+        this.attemptWindow = attemptWindow;
+        this.batchSize = batchSize;
+    }
+
+    public LoginRecord current(User user) {
+        LoginRecord record = records.get(user.getId());
+        return record != null ? record : fromEntity(user);
+    }
+
+    public boolean isLocked(User user) {
+        LocalDateTime lockedUntil = current(user).lockedUntil();
+        return lockedUntil != null && lockedUntil.isAfter(LocalDateTime.now());
+    }
+
+    // False when the account is locked or every attempt it has left is already in flight
+    public boolean tryBeginAttempt(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        boolean[] admitted = new boolean[1];
+        records.compute(user.getId(), (id, record) -> {
+            LoginRecord previous = (record != null ? record : fromEntity(user)).expireAttempts(now.minus(attemptWindow));
+            boolean locked = previous.lockedUntil() != null && previous.lockedUntil().isAfter(now);
+            if (locked || previous.failedAttempts() >= maxFailedAttempts) {
+                return record;
+            }
+            admitted[0] = true;
+            return new LoginRecord(previous.lastLoginAt(), previous.failedAttempts() + 1, previous.lockedUntil(),
+                    now, true, 0);
+        });
+        return admitted[0];
+    }
+
+    public void recordSuccess(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        records.compute(user.getId(), (id, record) -> new LoginRecord(now, 0, null, null, true, 0));
+    }
+
+    // The attempt was already counted by tryBeginAttempt; this only decides whether it locks the account
+    public void recordFailure(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        records.computeIfPresent(user.getId(), (id, record) -> {
+            if (record.failedAttempts() < maxFailedAttempts) {
+                return record;
+            }
+            log.warn("Locking user {} until {} after {} failed logins", id, now.plus(lockDuration), record.failedAttempts());
+            return new LoginRecord(record.lastLoginAt(), 0, now.plus(lockDuration), null, true, 0);
+        });
+    }
+
+    // For attempts that ended without the password being judged, such as a disabled account
+    public void cancelAttempt(User user) {
+        records.computeIfPresent(user.getId(), (id, record) -> record.failedAttempts() > 0
+                ? new LoginRecord(record.lastLoginAt(), record.failedAttempts() - 1, record.lockedUntil(),
+                        record.lastAttemptAt(), true, 0)
+                : record);
+    }
+
+    @Scheduled(fixedDelayString = "${app.login-tracking.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        generation++;
+        LocalDateTime attemptsBefore = LocalDateTime.now().minus(attemptWindow);
+        List<Map.Entry<Long, LoginRecord>> dirty = new ArrayList<>();
+        for (Map.Entry<Long, LoginRecord> entry : records.entrySet()) {
+            LoginRecord record = entry.getValue();
+            LoginRecord expired = record.expireAttempts(attemptsBefore);
+            if (expired != record && records.replace(entry.getKey(), record, expired)) {
+                record = expired;
+            }
+            if (record.dirty()) {
+                dirty.add(Map.entry(entry.getKey(), record));
+            } else if (record.writtenAt() < generation - 1 && !record.holdsLockoutState()) {
+                records.remove(entry.getKey(), record);
+            }
+        }
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(UPDATE_SQL, dirty, batchSize, (statement, entry) -> {
+            LoginRecord record = entry.getValue();
+            setTimestamp(statement, 1, record.lastLoginAt());
+            statement.setInt(2, record.failedAttempts());
+            setTimestamp(statement, 3, record.lockedUntil());
+            statement.setLong(4, entry.getKey());
+        });
+
+        // Records changed during the write stay dirty and go out with the next flush
+        for (Map.Entry<Long, LoginRecord> entry : dirty) {
+            LoginRecord record = entry.getValue();
+            records.replace(entry.getKey(), record, record.written(generation));
+        }
+        log.debug("Flushed login tracking for {} users", dirty.size());
+    }
+
+    public int pendingCount() {
+        return (int) records.values().stream().filter(LoginRecord::dirty).count();
+    }
+
+    public int trackedCount() {
+        return records.size();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    // Stopped before the context destroys beans, so the data source and schema are still there
+    @Override
+    public void stop() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Final login tracking flush failed, {} updates lost: {}", pendingCount(), e.getMessage());
+        }
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private static LoginRecord fromEntity(User user) {
+        return new LoginRecord(user.getLastLoginAt(), user.getFailedAttempts(), user.getLockedUntil(), null, false, 0);
+    }
+
+    private static void setTimestamp(PreparedStatement statement, int index, LocalDateTime value)
+            throws SQLException {
+        if (value != null) {
+            statement.setTimestamp(index, Timestamp.valueOf(value));
+        } else {
+            statement.setNull(index, Types.TIMESTAMP);
+        }
+    }
+
+    // lastAttemptAt is only known for attempts made by this instance; counts loaded from the row keep
+    // until the next attempt starts the window
+    public record LoginRecord(LocalDateTime lastLoginAt, int failedAttempts, LocalDateTime lockedUntil,
+                              LocalDateTime lastAttemptAt, boolean dirty, long writtenAt) {
+
+        boolean holdsLockoutState() {
+            return failedAttempts > 0 || (lockedUntil != null && lockedUntil.isAfter(LocalDateTime.now()));
+        }
+
+        LoginRecord written(long generation) {
+            return new LoginRecord(lastLoginAt, failedAttempts, lockedUntil, lastAttemptAt, false, generation);
+        }
+
+        LoginRecord expireAttempts(LocalDateTime before) {
+            if (failedAttempts == 0 || lastAttemptAt == null || lastAttemptAt.isAfter(before)) {
+                return this;
+            }
+            return new LoginRecord(lastLoginAt, 0, lockedUntil, null, true, 0);
+        }
+    }
+}
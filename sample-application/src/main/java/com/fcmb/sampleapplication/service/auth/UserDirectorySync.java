@@ -0,0 +1,159 @@
+package com.fcmb.sampleapplication.service.auth;
+
+import com.fcmb.sampleapplication.entity.User;
+import com.fcmb.security.directory.DirectoryEntry;
+import com.fcmb.security.directory.MappedUserDirectory;
+import com.fcmb.security.directory.UserDirectorySource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+// Feeds the memory-mapped user directory: full rebuilds stream the users table over JDBC, and
+// entity changes are recorded once their transaction commits. Columns written by LoginTracker
+// bypass the entity lifecycle and are picked up by the next rebuild; until then its in-memory
+// records are authoritative.
+@Component
+@ConditionalOnProperty(prefix = "security.jwt.user-directory", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class UserDirectorySync implements UserDirectorySource {
+
+    static final int MACHINE_ACCOUNT = 1;
+
+    private static final String SELECT_SQL =
+            "SELECT u.id, u.version, u.username, u.password, u.enabled, u.machine_account, u.locked_until, r.role "
+                    + "FROM users u LEFT JOIN user_roles r ON r.user_id = u.id ORDER BY u.id";
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MappedUserDirectory directory;
+
+    public boolean isReady() {
+        return directory.isReady();
+    }
+
+    // Detached and read-only: good for authentication, never to be saved
+    public Optional<User> findUser(String username) {
+        return directory.find(username).map(UserDirectorySync::toUser);
+    }
+
+    public void changed(User user) {
+        DirectoryEntry entry = toEntry(user);
+        afterCommit(() -> directory.put(entry));
+    }
+
+    public void removed(User user) {
+        String username = user.getUsername();
+        afterCommit(() -> directory.remove(username));
+    }
+
+    // One row per role, ordered by user, folded into one entry per user as the rows stream past
+    @Override
+    public void forEachEntry(Consumer<DirectoryEntry> sink) {
+        RowFolder folder = new RowFolder(sink);
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(SELECT_SQL);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, folder);
+        folder.emit();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static DirectoryEntry toEntry(User user) {
+        return DirectoryEntry.builder()
+                .userId(user.getId())
+                .version(user.getVersion() != null ? user.getVersion() : 0)
+                .username(user.getUsername())
+                .password(user.getPassword())
+                .enabled(user.isEnabled())
+                .lockedUntil(user.getLockedUntil() != null
+                        ? user.getLockedUntil().atZone(ZoneId.systemDefault()).toInstant()
+                        : null)
+                .flags(user.isMachineAccount() ? MACHINE_ACCOUNT : 0)
+                .roles(List.copyOf(user.getRoles()))
+                .build();
+    }
+
+    private static User toUser(DirectoryEntry entry) {
+        return User.builder()
+                .id(entry.getUserId())
+                .version(entry.getVersion())
+                .username(entry.getUsername())
+                .password(entry.getPassword())
+                .enabled(entry.isEnabled())
+                .lockedUntil(entry.getLockedUntil() != null
+                        ? entry.getLockedUntil().atZone(ZoneId.systemDefault()).toLocalDateTime()
+                        : null)
+                .machineAccount((entry.getFlags() & MACHINE_ACCOUNT) != 0)
+                .roles(new HashSet<>(entry.getRoles()))
+                .build();
+    }
+
+    private static final class RowFolder implements RowCallbackHandler {
+
+        private final Consumer<DirectoryEntry> sink;
+        private DirectoryEntry.DirectoryEntryBuilder current;
+        private long currentId;
+        private List<String> roles = new ArrayList<>();
+
+        private RowFolder(Consumer<DirectoryEntry> sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void processRow(ResultSet row) throws SQLException {
+            long id = row.getLong("id");
+            if (current == null || id != currentId) {
+                emit();
+                Timestamp lockedUntil = row.getTimestamp("locked_until");
+                currentId = id;
+                current = DirectoryEntry.builder()
+                        .userId(id)
+                        .version(row.getLong("version"))
+                        .username(row.getString("username"))
+                        .password(row.getString("password"))
+                        .enabled(row.getBoolean("enabled"))
+                        .lockedUntil(lockedUntil != null ? lockedUntil.toInstant() : null)
+                        .flags(row.getBoolean("machine_account") ? MACHINE_ACCOUNT : 0);
+            }
+            String role = row.getString("role");
+            if (role != null) {
+                roles.add(role);
+            }
+        }
+
+        private void emit() {
+            if (current != null) {
+                sink.accept(current.roles(roles).build());
+                current = null;
+                roles = new ArrayList<>();
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.fcmb.sampleapplication.service.registration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Bloom filters of every username and email in the users table, so registration only queries the
+// database for identities that may already exist. Loaded once the context is refreshed, fed by
+// committed entity writes, and rebuilt on a schedule to drop deleted identities and resize for growth.
+// Until the first load every identity counts as possibly taken. The unique indexes remain the
+// authority; a miss here only costs a rejected insert.
+@Slf4j
+@Component
+public class IdentityFilters implements SmartLifecycle {
+
+    private static final String SELECT_SQL = "SELECT username, email FROM users";
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long expectedUsers;
+    private final double falsePositiveRate;
+
+    private volatile Filters current;
+    private volatile Filters building;
+    private volatile boolean running;
+
+    public IdentityFilters(JdbcTemplate jdbcTemplate,
+                           @Value("${app.registration.expected-users:1000000}") long expectedUsers,
+                           @Value("${app.registration.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public boolean mightHaveUsername(String username) {
+        Filters filters = current;
+        return filters == null || filters.usernames().mightContain(username);
+    }
+
+    public boolean mightHaveEmail(String email) {
+        Filters filters = current;
+        return filters == null || filters.emails().mightContain(email);
+    }
+
+    // Applied after commit, when a rebuild reading the table would also see the row
+    public void record(String username, String email) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(username, email);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(username, email);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.registration.filter-rebuild-interval-ms:3600000}",
+            initialDelayString = "${app.registration.filter-rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        // Headroom for the writes that arrive before the next rebuild
+        Filters next = new Filters(Math.max(expectedUsers, (rows != null ? rows : 0) * 2), falsePositiveRate);
+        building = next;
+        try {
+            jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement(SELECT_SQL);
+                statement.setFetchSize(FETCH_SIZE);
+                return statement;
+            }, row -> {
+                next.add(row.getString(1), row.getString(2));
+            });
+            current = next;
+        } finally {
+            building = null;
+        }
+        log.info("Loaded registration identity filters for {} users ({} KB) in {} ms", rows,
+                next.usernames().bitCount() / 4 / 1024, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public void start() {
+        rebuild();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Building before current: a writer that finds no rebuild in progress either committed before
+    // the rebuild's query started, or runs after the new filters were published
+    private void add(String username, String email) {
+        Filters inProgress = building;
+        Filters published = current;
+        if (inProgress != null) {
+            inProgress.add(username, email);
+        }
+        if (published != null) {
+            published.add(username, email);
+        }
+    }
+
+    private record Filters(BloomFilter usernames, BloomFilter emails) {
+
+        Filters(long expectedValues, double falsePositiveRate) {
+            this(BloomFilter.create(expectedValues, falsePositiveRate), BloomFilter.create(expectedValues, falsePositiveRate));
+        }
+
+        void add(String username, String email) {
+            usernames.put(username);
+            emails.put(email);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.fcmb.sampleapplication.service.registration;
+
+import com.fcmb.sampleapplication.dto.request.RegisterRequest;
+import com.fcmb.sampleapplication.dto.response.UserResponse;
+import com.fcmb.sampleapplication.entity.User;
+import com.fcmb.sampleapplication.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+// Self-service sign-up, ordered so cheap rejections come first: bean validation, then the Bloom filter
+// pre-check (a database query only for identities that may exist), then BCrypt, then the insert,
+// where the unique indexes catch whatever slipped through, e.g. two concurrent sign-ups.
+@Slf4j
+@Service
+public class RegistrationService {
+
+    private static final Set<String> DEFAULT_ROLES = Set.of("ROLE_USER");
+    private static final String CHECKS_METRIC = "registration.identity.checks";
+    // One message for every conflict, so sign-up cannot be used to probe which emails are registered
+    private static final String CONFLICT_MESSAGE = "Username or email already exists";
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final IdentityFilters identityFilters;
+    private final IdentityCheck usernameCheck;
+    private final IdentityCheck emailCheck;
+
+    public RegistrationService(UserRepository userRepository,
+                               PasswordEncoder passwordEncoder,
+                               IdentityFilters identityFilters,
+                               MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.identityFilters = identityFilters;
+        this.usernameCheck = new IdentityCheck("username", meterRegistry);
+        this.emailCheck = new IdentityCheck("email", meterRegistry);
+    }
+
+    public UserResponse register(RegisterRequest request) {
+        if (usernameCheck.isTaken(request.getUsername(), identityFilters::mightHaveUsername,
+                userRepository::existsByUsername)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, CONFLICT_MESSAGE);
+        }
+        if (emailCheck.isTaken(request.getEmail(), identityFilters::mightHaveEmail,
+                userRepository::existsByEmail)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, CONFLICT_MESSAGE);
+        }
+
+        User user;
+        try {
+            user = userRepository.saveAndFlush(User.builder()
+                    .username(request.getUsername())
+                    .password(passwordEncoder.encode(request.getPassword()))
+                    .email(request.getEmail())
+                    .roles(new HashSet<>(DEFAULT_ROLES))
+                    .enabled(true)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, CONFLICT_MESSAGE);
+        }
+
+        log.info("Registered user '{}'", user.getUsername());
+        return UserResponse.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .roles(user.getRoles())
+                .enabled(user.isEnabled())
+                .createdAt(user.getCreatedAt())
+                .build();
+    }
+
+    // Outcomes: skipped (filter rules the value out, no query), false-positive (queried, free), taken
+    private static final class IdentityCheck {
+
+        private final Counter skipped;
+        private final Counter falsePositive;
+        private final Counter taken;
+
+        private IdentityCheck(String field, MeterRegistry meterRegistry) {
+            this.skipped = counter(meterRegistry, field, "skipped");
+            this.falsePositive = counter(meterRegistry, field, "false-positive");
+            this.taken = counter(meterRegistry, field, "taken");
+        }
+
+        private boolean isTaken(String value, Predicate<String> mightExist, Predicate<String> exists) {
+            if (!mightExist.test(value)) {
+                skipped.increment();
+                return false;
+            }
+            if (exists.test(value)) {
+                taken.increment();
+                return true;
+            }
+            falsePositive.increment();
+            return false;
+        }
+
+        private static Counter counter(MeterRegistry meterRegistry, String field, String outcome) {
+            return Counter.builder(CHECKS_METRIC)
+                    .description("Registration uniqueness checks by field and outcome")
+                    .tag("field", field)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.fcmb.sampleapplication;
+
+import com.fcmb.security.jwt.JwtUtil;
+import com.fcmb.security.jwt.core.JwtClaims;
+import com.fcmb.security.jwt.core.JwtCodec;
+import com.fcmb.security.jwt.core.JwtIssuerDefinition;
+import com.fcmb.security.jwt.core.TokenStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+@SpringBootTest
+@DisplayName("jwt-core Interoperability Tests")
+class JwtCoreInteropTest {
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Value("${security.jwt.secret-key}")
+    private String secretKey;
+
+    @Value("${security.jwt.issuer}")
+    private String issuer;
+
+    @Test
+    @DisplayName("Should verify application tokens with a plain JwtCodec")
+    void testPlainCodec_VerifiesApplicationToken() {
+        // Arrange
+        String token = jwtUtil.generateToken(42L, "batchuser",
+                List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN")));
+        JwtCodec codec = new JwtCodec(JwtIssuerDefinition.builder()
+                .issuer(issuer)
+                .secretKey(secretKey)
+                .build(), List.of());
+
+        // Act
+        JwtClaims claims = codec.parseToken(token);
+
+        // Assert
+        assert claims.getUserId() == 42L;
+        assert "batchuser".equals(claims.getUsername());
+        assert claims.getRoles().equals(List.of("ROLE_USER", "ROLE_ADMIN"));
+    }
+
+    @Test
+    @DisplayName("Should reject application tokens when the plain codec has a different key")
+    void testPlainCodec_WrongKey_ReportsInvalidSignature() {
+        // Arrange
+        String token = jwtUtil.generateToken(42L, "batchuser", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        JwtCodec codec = new JwtCodec(JwtIssuerDefinition.builder()
+                .issuer(issuer)
+                // Same length, so the same HMAC algorithm is used and only the signature differs
+                .secretKey(new StringBuilder(secretKey).reverse().toString())
+                .build(), List.of());
+
+        // Act & Assert
+        assert codec.inspect(token).getStatus() == TokenStatus.INVALID_SIGNATURE;
+    }
+}
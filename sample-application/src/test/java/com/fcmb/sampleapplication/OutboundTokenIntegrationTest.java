@@ -0,0 +1,174 @@
+package com.fcmb.sampleapplication;
+
+import com.fcmb.security.jwt.JwtUtil;
+import com.fcmb.security.jwt.core.JwtClaims;
+import com.fcmb.security.outbound.OutboundIdentity;
+import com.fcmb.security.outbound.OutboundTokenInterceptor;
+import com.fcmb.security.outbound.OutboundTokenManager;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.client.RestClient;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "security.jwt.outbound.enabled=true")
+@DisplayName("Outbound Token Integration Tests")
+class OutboundTokenIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private OutboundTokenManager outboundTokenManager;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${security.jwt.secret-key}")
+    private String secretKey;
+
+    @Value("${security.jwt.issuer}")
+    private String issuer;
+
+    @Test
+    @DisplayName("Should sign once per audience and reuse the token on RestClient calls")
+    void testRestClient_ReusesCachedToken() {
+        // Arrange
+        RestClient client = RestClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .requestInterceptor(new OutboundTokenInterceptor(outboundTokenManager, "rest-client-test"))
+                .build();
+        long mintedBefore = outboundTokenManager.getMintedOnMiss();
+
+        // Act
+        Map<?, ?> first = client.get().uri("/api/users/me").retrieve().body(Map.class);
+        Map<?, ?> second = client.get().uri("/api/users/me").retrieve().body(Map.class);
+
+        // Assert
+        assert outboundTokenManager.getMintedOnMiss() - mintedBefore == 1 : "Token should be signed once";
+        assert "sample-application".equals(first.get("username")) : "Caller: " + first;
+        assert ((List<?>) first.get("roles")).contains("ROLE_SERVICE");
+        assert first.equals(second);
+
+        JwtClaims claims = jwtUtil.parseToken(outboundTokenManager.token("rest-client-test"));
+        assert claims.getAudience().equals(List.of("rest-client-test")) : "Audience: " + claims.getAudience();
+    }
+
+    @Test
+    @DisplayName("Should sign for the caller identity given to the interceptor")
+    void testInterceptor_SendsTokenForIdentity() {
+        // Arrange
+        OutboundIdentity batch = OutboundIdentity.of(900L, "settlement-batch", "ROLE_USER");
+        RestClient client = RestClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .requestInterceptor(new OutboundTokenInterceptor(outboundTokenManager, "identity-test", batch))
+                .build();
+
+        // Act
+        Map<?, ?> caller = client.get().uri("/api/users/me").retrieve().body(Map.class);
+
+        // Assert
+        assert "settlement-batch".equals(caller.get("username")) : "Caller: " + caller;
+        assert ((Number) caller.get("userId")).longValue() == 900L;
+        assert !outboundTokenManager.token("identity-test", batch).equals(outboundTokenManager.token("identity-test"))
+                : "Identities should not share a token";
+    }
+
+    @Test
+    @DisplayName("Should renew once in the background while concurrent callers keep the current token")
+    void testRenewal_SingleFlight() throws Exception {
+        // Arrange
+        OutboundIdentity identity = OutboundIdentity.of(7L, "renewal-test", "ROLE_SERVICE");
+        try (OutboundTokenManager manager = new OutboundTokenManager(new JwtUtil(secretKey, 10_000, issuer), identity,
+                "Authorization", "Bearer ", 10_000, 0.5, 10)) {
+            // Renewal is due after 5 s; the token stays usable for at least 8 s
+            String initial = manager.token("orders");
+            Thread.sleep(5_500);
+
+            // Act
+            ExecutorService callers = Executors.newFixedThreadPool(8);
+            List<Callable<String>> calls = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                calls.add(() -> manager.token("orders"));
+            }
+            Set<String> seen = new HashSet<>();
+            for (Future<String> result : callers.invokeAll(calls)) {
+                seen.add(result.get());
+            }
+            callers.shutdown();
+
+            String renewed = manager.token("orders");
+            for (int i = 0; i < 100 && renewed.equals(initial); i++) {
+                Thread.sleep(10);
+                renewed = manager.token("orders");
+            }
+
+            // Assert
+            seen.remove(initial);
+            seen.remove(renewed);
+            assert seen.isEmpty() : "Callers saw tokens other than the current and the renewed one";
+            assert !renewed.equals(initial) : "Token was not renewed";
+            assert manager.getMintedOnMiss() == 1;
+            assert manager.getMintedOnRenewal() == 1 : "Renewals: " + manager.getMintedOnRenewal();
+            assert jwtUtil.validateToken(renewed);
+        }
+    }
+
+    @Test
+    @DisplayName("Should renew in the background even when renew-after leaves no time before expiry")
+    void testRenewal_LateRenewAfter_StillRenewsInBackground() throws Exception {
+        // Arrange
+        OutboundIdentity identity = OutboundIdentity.of(8L, "late-renewal-test", "ROLE_SERVICE");
+        try (OutboundTokenManager manager = new OutboundTokenManager(new JwtUtil(secretKey, 10_000, issuer), identity,
+                "Authorization", "Bearer ", 10_000, 0.99, 10)) {
+            String initial = manager.token("orders");
+
+            // Act
+            String current = initial;
+            for (int i = 0; i < 240 && current.equals(initial); i++) {
+                Thread.sleep(50);
+                current = manager.token("orders");
+            }
+
+            // Assert
+            assert !current.equals(initial) : "Token was not replaced";
+            assert manager.getMintedOnRenewal() == 1 : "Renewals: " + manager.getMintedOnRenewal();
+            assert manager.getMintedOnMiss() == 1 : "Token expired before it was renewed";
+        }
+    }
+
+    @Test
+    @DisplayName("Should publish minted token counters by trigger")
+    void testMetrics_MintedCounters() {
+        // Arrange
+        outboundTokenManager.token("metrics-test");
+
+        // Act
+        FunctionCounter minted = meterRegistry.find("security.outbound.tokens.minted").tag("trigger", "miss").functionCounter();
+
+        // Assert
+        assert minted != null;
+        assert minted.count() >= 1;
+        assert meterRegistry.find("security.outbound.tokens.minted").tag("trigger", "renewal").functionCounter() != null;
+        assert meterRegistry.find("security.outbound.tokens.cached").gauge().value() >= 1;
+    }
+}
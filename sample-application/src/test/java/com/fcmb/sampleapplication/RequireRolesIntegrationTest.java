@@ -0,0 +1,199 @@
+package com.fcmb.sampleapplication;
+
+import com.fcmb.security.authz.RequireRoles;
+import com.fcmb.security.jwt.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(RequireRolesIntegrationTest.GuardedBeansConfiguration.class)
+@DisplayName("@RequireRoles Integration Tests")
+class RequireRolesIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private PlainService plainService;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should answer a denied @RequireRoles call exactly like a denied @PreAuthorize call")
+    void testDeniedCall_MatchesPreAuthorizeResponse() throws Exception {
+        // Arrange
+        String userToken = jwtUtil.generateToken(201L, "plainuser", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+        // Act & Assert
+        for (String path : List.of("/api/test/guarded/pre-authorize", "/api/test/guarded/require-roles")) {
+            mockMvc.perform(get(path).header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isForbidden())
+                    .andExpect(jsonPath("$.status").value(403))
+                    .andExpect(jsonPath("$.error").value("Forbidden"))
+                    .andExpect(jsonPath("$.message").value("You don't have permission to access this resource"))
+                    .andExpect(jsonPath("$.path").value(path));
+        }
+    }
+
+    @Test
+    @DisplayName("Should accept any listed role by default and require every role with all = true")
+    void testAnyAndAllMatching() {
+        // Arrange
+        authenticate("ROLE_AUDITOR");
+
+        // Act & Assert
+        assert "report".equals(reportService.report());
+        assertDenied(reportService::export);
+
+        authenticate("ROLE_ADMIN", "ROLE_AUDITOR");
+        assert "export".equals(reportService.export());
+    }
+
+    @Test
+    @DisplayName("Should apply a type-level annotation unless a method declares its own")
+    void testTypeLevelAnnotation() {
+        // Arrange
+        authenticate("ROLE_USER");
+
+        // Act & Assert
+        assertDenied(auditService::entries);
+        assert "summary".equals(auditService.summary());
+
+        SecurityContextHolder.clearContext();
+        try {
+            auditService.summary();
+            assert false : "A call without authentication should not be allowed";
+        } catch (AuthenticationCredentialsNotFoundException expected) {
+            // Same exception method security raises, answered with 401
+        }
+    }
+
+    @Test
+    @DisplayName("Should only proxy beans that carry the annotation")
+    void testUnannotatedBeans_AreNotProxied() {
+        // Assert
+        assert AopUtils.isAopProxy(reportService);
+        assert AopUtils.isAopProxy(auditService);
+        assert !AopUtils.isAopProxy(plainService);
+    }
+
+    private void authenticate(String... roles) {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                "tester", null, AuthorityUtils.createAuthorityList(roles)));
+    }
+
+    private void assertDenied(Runnable call) {
+        try {
+            call.run();
+            assert false : "Call should have been denied";
+        } catch (AccessDeniedException expected) {
+            // Denied before the method body ran
+        }
+    }
+
+    static class ReportService {
+
+        @RequireRoles({"ADMIN", "AUDITOR"})
+        public String report() {
+            return "report";
+        }
+
+        @RequireRoles(value = {"ROLE_ADMIN", "ROLE_AUDITOR"}, all = true)
+        public String export() {
+            return "export";
+        }
+    }
+
+    @RequireRoles("AUDITOR")
+    static class AuditService {
+
+        public String entries() {
+            return "entries";
+        }
+
+        @RequireRoles("USER")
+        public String summary() {
+            return "summary";
+        }
+    }
+
+    static class PlainService {
+    }
+
+    @RestController
+    static class GuardedController {
+
+        @GetMapping("/api/test/guarded/pre-authorize")
+        @PreAuthorize("hasRole('ADMIN')")
+        public String preAuthorize() {
+            return "ok";
+        }
+
+        @GetMapping("/api/test/guarded/require-roles")
+        @RequireRoles("ADMIN")
+        public String requireRoles() {
+            return "ok";
+        }
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class GuardedBeansConfiguration {
+
+        @Bean
+        ReportService reportService() {
+            return new ReportService();
+        }
+
+        @Bean
+        AuditService auditService() {
+            return new AuditService();
+        }
+
+        @Bean
+        PlainService plainService() {
+            return new PlainService();
+        }
+
+        @Bean
+        GuardedController guardedController() {
+            return new GuardedController();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.fcmb.sampleapplication;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Security Filter Chain Tests")
+class SecurityFilterChainTest {
+
+    private static final List<String> STATEFUL_FILTERS = List.of(
+            "DisableEncodeUrlFilter",
+            "WebAsyncManagerIntegrationFilter",
+            "SecurityContextHolderFilter",
+            "HeaderWriterFilter",
+            "LogoutFilter",
+            "RequestCacheAwareFilter",
+            "SecurityContextHolderAwareRequestFilter",
+            "AnonymousAuthenticationFilter");
+
+    static List<String> filterNames(FilterChainProxy filterChainProxy) {
+        return filterChainProxy.getFilterChains().get(0).getFilters().stream()
+                .map(filter -> filter.getClass().getSimpleName())
+                .toList();
+    }
+
+    @Nested
+    @TestPropertySource(properties = {
+            "security.jwt.filter-chain.minimal=true",
+            "security.jwt.concurrency-limit.enabled=true"
+    })
+    @DisplayName("Minimal chain")
+    class Minimal {
+
+        @Autowired
+        private FilterChainProxy filterChainProxy;
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Test
+        @DisplayName("Should install only authentication, admission, exception translation and authorization")
+        void testMinimalChain_FilterList() {
+            // Act
+            List<String> filters = filterNames(filterChainProxy);
+
+            // Assert
+            assert filters.equals(List.of(
+                    "JwtAuthenticationFilter",
+                    "ConcurrencyLimitFilter",
+                    "ExceptionTranslationFilter",
+                    "AuthorizationFilter")) : "Minimal chain: " + filters;
+        }
+
+        @Test
+        @DisplayName("Should reject unauthenticated requests without creating a session")
+        void testMinimalChain_Unauthenticated_NoSession() throws Exception {
+            // Act
+            MvcResult result = mockMvc.perform(get("/api/users/me"))
+                    .andExpect(status().isUnauthorized())
+                    .andReturn();
+
+            // Assert
+            MockHttpServletResponse response = result.getResponse();
+            assert result.getRequest().getSession(false) == null : "The 401 created a session";
+            assert response.getHeader("Set-Cookie") == null;
+        }
+    }
+
+    @Nested
+    @DisplayName("Default chain")
+    class Default {
+
+        @Autowired
+        private FilterChainProxy filterChainProxy;
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Test
+        @DisplayName("Should keep Spring Security's default filters around the token filters")
+        void testDefaultChain_FilterList() {
+            // Act
+            List<String> filters = filterNames(filterChainProxy);
+
+            // Assert
+            assert filters.containsAll(STATEFUL_FILTERS) : "Default chain: " + filters;
+            assert filters.containsAll(List.of("JwtAuthenticationFilter", "ExceptionTranslationFilter", "AuthorizationFilter"));
+        }
+
+        @Test
+        @DisplayName("Should mark responses as not cacheable")
+        void testDefaultChain_WritesCacheControl() throws Exception {
+            // Act
+            MvcResult result = mockMvc.perform(get("/api/public/health"))
+                    .andExpect(status().isOk())
+                    .andReturn();
+
+            // Assert
+            String cacheControl = result.getResponse().getHeader("Cache-Control");
+            assert cacheControl != null && cacheControl.contains("no-store") : "Cache-Control: " + cacheControl;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.fcmb.sampleapplication;
+
+import com.fcmb.security.audit.AuditOptions;
+import com.fcmb.security.audit.AuditTally;
+import com.fcmb.security.audit.ColumnarReport;
+import com.fcmb.security.audit.TokenAudit;
+import com.fcmb.security.jwt.JwtUtil;
+import com.fcmb.security.jwt.core.JwtCodec;
+import com.fcmb.security.jwt.core.JwtIssuerDefinition;
+import com.fcmb.security.jwt.core.TokenStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.TestPropertySource;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:partner-issuer.properties")
+@DisplayName("Token Audit Interoperability Tests")
+class TokenAuditInteropTest {
+
+    // The audit reads the same key configuration the application starts with
+    private static final Path CONFIG = Path.of("src", "main", "resources", "application.properties");
+    private static final Path PARTNER_ISSUER = Path.of("src", "test", "resources", "partner-issuer.properties");
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Value("${security.jwt.secret-key}")
+    private String secretKey;
+
+    @Value("${security.jwt.issuer}")
+    private String issuer;
+
+    @Value("${security.jwt.issuers[0].secret-key}")
+    private String partnerSecretKey;
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    @DisplayName("Should classify logged tokens by status, issuer and user")
+    void testAudit_ClassifiesLoggedTokens() throws Exception {
+        // Arrange
+        String active = jwtUtil.generateToken(42L, "audit-alice", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        String partner = new JwtCodec(JwtIssuerDefinition.builder()
+                .issuer("partner-service")
+                .secretKey(partnerSecretKey)
+                .expirationMs(60_000)
+                .userIdClaim("uid")
+                .usernameClaim("preferred_username")
+                .rolesClaim("groups")
+                .build(), List.of()).generateToken(9L, "audit-partner", List.of("ROLE_USER"));
+        String expired = codec(issuer, secretKey, -60_000).generateToken(7L, "audit-expired", List.of("ROLE_USER"));
+        String forged = codec(issuer, new StringBuilder(secretKey).reverse().toString(), 60_000)
+                .generateToken(1L, "audit-forged", List.of("ROLE_ADMIN"));
+        String untrusted = codec("rogue-issuer", "RogueIssuerSigningKeyThatIsLongEnough2024!", 60_000)
+                .generateToken(1L, "audit-rogue", List.of("ROLE_ADMIN"));
+
+        Path log = workDir.resolve("access.log");
+        Files.writeString(log, String.join("\n",
+                logLine("GET /api/users/me", "Bearer " + active),
+                "2024-02-13T10:00:01 request body {\"token\":\"" + active + "\"} eyJnotatoken",
+                logLine("GET /api/users/me", "Bearer " + expired),
+                logLine("GET /api/partner/orders", "Bearer " + partner),
+                logLine("GET /api/admin/users", "Bearer " + forged),
+                "payload=xeyJ" + active.substring(3) + " embedded in a longer word is ignored",
+                logLine("GET /api/admin/users", "Bearer " + untrusted),
+                logLine("GET /api/users/me", "Bearer " + expired),
+                logLine("GET /api/users/me", "Bearer " + active)), StandardCharsets.UTF_8);
+
+        Path config = workDir.resolve("application.properties");
+        Files.writeString(config, Files.readString(CONFIG) + "\n" + Files.readString(PARTNER_ISSUER));
+
+        AuditOptions whole = options(config, log, workDir.resolve("whole.col"));
+        AuditOptions chunked = options(config, log, workDir.resolve("chunked.col"));
+        // Small odd chunks put tokens across chunk boundaries; no cache forces every signature check
+        chunked.setChunkBytes(97);
+        chunked.setThreads(3);
+        chunked.setCacheSize(0);
+
+        // Act
+        AuditTally tally = TokenAudit.run(whole);
+        AuditTally chunkedTally = TokenAudit.run(chunked);
+        ColumnarReport.write(whole.getOutput(), tally.entries());
+        List<AuditTally.Entry> report = ColumnarReport.read(whole.getOutput());
+
+        // Assert
+        assert tally.tokens() == 8 : "Tokens found: " + tally.tokens();
+        assert tally.verifications() == 5 : "Repeated tokens should reuse their verification";
+        assert chunkedTally.verifications() == 8;
+        assert chunkedTally.entries().equals(tally.entries()) : "Chunking changed the result: " + chunkedTally.entries();
+        assert report.equals(tally.entries()) : "Report round trip differs: " + report;
+
+        assert occurrences(report, TokenStatus.ACTIVE, issuer, 42L, "audit-alice") == 3;
+        assert occurrences(report, TokenStatus.ACTIVE, "partner-service", 9L, "audit-partner") == 1;
+        assert occurrences(report, TokenStatus.EXPIRED, issuer, 7L, "audit-expired") == 2;
+        assert occurrences(report, TokenStatus.INVALID_SIGNATURE, null, null, null) == 1;
+        assert occurrences(report, TokenStatus.UNTRUSTED_ISSUER, null, null, null) == 1;
+    }
+
+    private AuditOptions options(Path config, Path log, Path output) {
+        AuditOptions options = AuditOptions.parse(new String[]{"--config=" + config, "--output=" + output, log.toString()});
+        options.setThreads(1);
+        return options;
+    }
+
+    private static JwtCodec codec(String issuer, String secretKey, long expirationMs) {
+        return new JwtCodec(JwtIssuerDefinition.builder()
+                .issuer(issuer)
+                .secretKey(secretKey)
+                .expirationMs(expirationMs)
+                .build(), List.of());
+    }
+
+    private static String logLine(String request, String authorization) {
+        return "10.0.0.7 - - [13/Feb/2024:10:00:00 +0000] \"" + request + " HTTP/1.1\" 200 \"Authorization: "
+                + authorization + "\"";
+    }
+
+    private static long occurrences(List<AuditTally.Entry> report, TokenStatus status, String issuer,
+                                    Long userId, String username) {
+        return report.stream()
+                .filter(entry -> entry.row().equals(new AuditTally.Row(status, issuer, userId, username)))
+                .mapToLong(AuditTally.Entry::occurrences)
+                .sum();
+    }
+}
@@ -0,0 +1,118 @@
+package com.fcmb.sampleapplication;
+
+import com.fcmb.security.warmup.WarmupCompletedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "security.jwt.warmup.enabled=true",
+        "security.jwt.warmup.iterations=200",
+        "security.jwt.warmup.password-iterations=2",
+        "security.jwt.warmup.max-duration=30s",
+        "security.jwt.enable-logging=false"
+})
+@Import(WarmupIntegrationTest.EventRecorder.class)
+@DisplayName("Warm-up Integration Tests")
+class WarmupIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
+    @Autowired
+    private EventRecorder eventRecorder;
+
+    @Test
+    @DisplayName("Should finish warm-up before the application accepts traffic")
+    void shouldFinishWarmupBeforeReadiness() {
+        // Arrange
+        List<ApplicationEvent> events = eventRecorder.events;
+        int warmupIndex = -1;
+        int readyIndex = -1;
+        for (int i = 0; i < events.size(); i++) {
+            ApplicationEvent event = events.get(i);
+            if (event instanceof WarmupCompletedEvent) {
+                warmupIndex = i;
+            } else if (event instanceof AvailabilityChangeEvent<?> change
+                    && change.getState() == ReadinessState.ACCEPTING_TRAFFIC) {
+                readyIndex = i;
+            }
+        }
+
+        // Act & Assert
+        assert warmupIndex >= 0;
+        assert readyIndex > warmupIndex;
+        assert applicationAvailability.getReadinessState() == ReadinessState.ACCEPTING_TRAFFIC;
+    }
+
+    @Test
+    @DisplayName("Should publish warm-up duration and per-operation latency metrics")
+    void shouldPublishWarmupMetrics() {
+        // Act
+        Timer duration = meterRegistry.find("security.warmup.duration").timer();
+
+        // Assert
+        assert duration != null;
+        assert duration.count() == 1;
+        for (String operation : List.of("token-issue", "token-verify", "token-reject", "error-render",
+                "password-match", "http-authenticated")) {
+            assert meterRegistry.find("security.warmup.iterations").tag("operation", operation).gauge() != null;
+            assert meterRegistry.find("security.warmup.latency.p99")
+                    .tags("operation", operation, "window", "first").timeGauge() != null;
+            assert meterRegistry.find("security.warmup.latency.p99")
+                    .tags("operation", operation, "window", "last").timeGauge() != null;
+        }
+        assert meterRegistry.find("security.warmup.iterations").tag("operation", "token-verify")
+                .gauge().value() == 200;
+        assert meterRegistry.find("security.warmup.iterations").tag("operation", "password-match")
+                .gauge().value() == 2;
+    }
+
+    @Test
+    @DisplayName("Should expose the readiness probe without authentication")
+    void shouldExposeReadinessProbeAnonymously() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class EventRecorder implements ApplicationListener<ApplicationEvent> {
+
+        private final List<ApplicationEvent> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onApplicationEvent(ApplicationEvent event) {
+            events.add(event);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.fcmb.sampleapplication.allocation;
+
+import com.fcmb.security.JwtAuthenticationEntryPoint;
+import com.fcmb.security.filter.JwtAuthenticationFilter;
+import com.fcmb.security.handler.JwtAccessDeniedHandler;
+import com.fcmb.security.jwt.JwtUtil;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.InsufficientAuthenticationException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Upper bounds on bytes allocated per call on the request path. The budgets sit roughly 50% above
+// what the current code allocates; lower them when an optimisation lands, raise them only deliberately.
+// Logging on these paths is switched off so the budgets measure the security code, not the appender.
+@SpringBootTest
+@TestPropertySource(properties = {
+        "security.jwt.enable-logging=false",
+        "logging.level.com.fcmb.security.JwtAuthenticationEntryPoint=OFF",
+        "logging.level.com.fcmb.security.handler.JwtAccessDeniedHandler=OFF"
+})
+@DisplayName("Allocation Budget Tests")
+class AllocationBudgetTest {
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 10_000;
+
+    // Measured: filter ~43 KB (jjwt parsing dominates), 401/403 ~1.4 KB, generateToken ~38 KB
+    private static final long FILTER_VALID_TOKEN_BUDGET = 64 * 1024;
+    private static final long UNAUTHORIZED_BUDGET = 2 * 1024;
+    private static final long FORBIDDEN_BUDGET = 2 * 1024;
+    private static final long GENERATE_TOKEN_BUDGET = 56 * 1024;
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @Autowired
+    private JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
+
+    @Autowired
+    private JwtAccessDeniedHandler jwtAccessDeniedHandler;
+
+    private final List<SimpleGrantedAuthority> roles = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(AllocationMeter.isSupported(), "Per-thread allocation counters are not available");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("JwtAuthenticationFilter with a valid token stays within its allocation budget")
+    void filterWithValidTokenStaysWithinBudget() throws Exception {
+        // Arrange
+        String token = jwtUtil.generateToken(1L, "testuser", roles);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        long bytes = AllocationMeter.bytesPerOperation(WARMUP_ITERATIONS, MEASURED_ITERATIONS, () -> {
+            jwtAuthenticationFilter.doFilter(request, response, NO_OP_CHAIN);
+            SecurityContextHolder.clearContext();
+        });
+
+        // Assert
+        assert SecurityContextHolder.getContext().getAuthentication() == null;
+        assert bytes <= FILTER_VALID_TOKEN_BUDGET : "JwtAuthenticationFilter allocated " + bytes
+                + " bytes per request, budget is " + FILTER_VALID_TOKEN_BUDGET;
+    }
+
+    @Test
+    @DisplayName("401 rendering through JwtAuthenticationEntryPoint stays within its allocation budget")
+    void unauthorizedPathStaysWithinBudget() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        InsufficientAuthenticationException exception =
+                new InsufficientAuthenticationException("Full authentication is required to access this resource");
+
+        // Act
+        long bytes = AllocationMeter.bytesPerOperation(WARMUP_ITERATIONS, MEASURED_ITERATIONS, () -> {
+            response.reset();
+            jwtAuthenticationEntryPoint.commence(request, response, exception);
+        });
+
+        // Assert
+        assert response.getStatus() == 401;
+        assert bytes <= UNAUTHORIZED_BUDGET : "JwtAuthenticationEntryPoint allocated " + bytes
+                + " bytes per request, budget is " + UNAUTHORIZED_BUDGET;
+    }
+
+    @Test
+    @DisplayName("403 rendering through JwtAccessDeniedHandler stays within its allocation budget")
+    void forbiddenPathStaysWithinBudget() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/admin/users");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AccessDeniedException exception = new AccessDeniedException("Access Denied");
+
+        // Act
+        long bytes = AllocationMeter.bytesPerOperation(WARMUP_ITERATIONS, MEASURED_ITERATIONS, () -> {
+            response.reset();
+            jwtAccessDeniedHandler.handle(request, response, exception);
+        });
+
+        // Assert
+        assert response.getStatus() == 403;
+        assert bytes <= FORBIDDEN_BUDGET : "JwtAccessDeniedHandler allocated " + bytes
+                + " bytes per request, budget is " + FORBIDDEN_BUDGET;
+    }
+
+    @Test
+    @DisplayName("JwtUtil.generateToken stays within its allocation budget")
+    void generateTokenStaysWithinBudget() throws Exception {
+        // Act
+        long bytes = AllocationMeter.bytesPerOperation(WARMUP_ITERATIONS, MEASURED_ITERATIONS,
+                () -> jwtUtil.generateToken(1L, "testuser", roles));
+
+        // Assert
+        assert bytes <= GENERATE_TOKEN_BUDGET : "JwtUtil.generateToken allocated " + bytes
+                + " bytes per token, budget is " + GENERATE_TOKEN_BUDGET;
+    }
+}
@@ -0,0 +1,35 @@
+package com.fcmb.sampleapplication.allocation;
+
+import java.lang.management.ManagementFactory;
+
+// Bytes allocated by the calling thread, from the HotSpot per-thread allocation counter
+final class AllocationMeter {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private AllocationMeter() {
+    }
+
+    @FunctionalInterface
+    interface Operation {
+        void run() throws Exception;
+    }
+
+    static boolean isSupported() {
+        return THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled();
+    }
+
+    // Runs the operation until the JIT has settled, then reports the mean allocation of the measured runs
+    static long bytesPerOperation(int warmupIterations, int measuredIterations, Operation operation) throws Exception {
+        for (int i = 0; i < warmupIterations; i++) {
+            operation.run();
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = THREADS.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < measuredIterations; i++) {
+            operation.run();
+        }
+        return (THREADS.getThreadAllocatedBytes(threadId) - before) / measuredIterations;
+    }
+}
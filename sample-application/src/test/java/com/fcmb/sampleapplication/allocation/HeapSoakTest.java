@@ -0,0 +1,100 @@
+package com.fcmb.sampleapplication.allocation;
+
+import com.fcmb.security.JwtAuthenticationEntryPoint;
+import com.fcmb.security.filter.JwtAuthenticationFilter;
+import com.fcmb.security.handler.JwtAccessDeniedHandler;
+import com.fcmb.security.jwt.JwtUtil;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.InsufficientAuthenticationException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+// Long-running check that the request path does not retain memory. Excluded from the default build;
+// run with: mvn -pl sample-application test -Psoak [-Dsoak.requests=5000000]
+@Tag("soak")
+@SpringBootTest
+@TestPropertySource(properties = {
+        "security.jwt.enable-logging=false",
+        "logging.level.com.fcmb.security.JwtAuthenticationEntryPoint=OFF",
+        "logging.level.com.fcmb.security.handler.JwtAccessDeniedHandler=OFF"
+})
+@DisplayName("Heap Soak Tests")
+class HeapSoakTest {
+
+    private static final int CHECKPOINTS = 10;
+    private static final long MAX_HEAP_GROWTH_BYTES = 16L * 1024 * 1024;
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @Autowired
+    private JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
+
+    @Autowired
+    private JwtAccessDeniedHandler jwtAccessDeniedHandler;
+
+    @Test
+    @DisplayName("Heap in use after GC stays flat over millions of requests")
+    void heapStaysFlatUnderSustainedTraffic() throws Exception {
+        // Arrange
+        long requests = Long.getLong("soak.requests", 2_000_000L);
+        List<SimpleGrantedAuthority> roles = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        MockHttpServletRequest authenticated = new MockHttpServletRequest("GET", "/api/users/me");
+        authenticated.addHeader("Authorization", "Bearer " + jwtUtil.generateToken(1L, "testuser", roles));
+        MockHttpServletRequest anonymous = new MockHttpServletRequest("GET", "/api/admin/users");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        InsufficientAuthenticationException unauthorized =
+                new InsufficientAuthenticationException("Full authentication is required to access this resource");
+        AccessDeniedException forbidden = new AccessDeniedException("Access Denied");
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        List<Long> heapAfterGc = new ArrayList<>();
+        long perCheckpoint = Math.max(1, requests / CHECKPOINTS);
+
+        // Act
+        for (long i = 0; i < requests; i++) {
+            // 8 in 10 requests authenticate, the rest are rejected with 401 or 403
+            int kind = (int) (i % 10);
+            response.reset();
+            if (kind < 8) {
+                jwtAuthenticationFilter.doFilter(authenticated, response, NO_OP_CHAIN);
+                SecurityContextHolder.clearContext();
+            } else if (kind == 8) {
+                jwtAuthenticationEntryPoint.commence(anonymous, response, unauthorized);
+            } else {
+                jwtAccessDeniedHandler.handle(anonymous, response, forbidden);
+            }
+
+            if ((i + 1) % perCheckpoint == 0) {
+                System.gc();
+                heapAfterGc.add(memory.getHeapMemoryUsage().getUsed());
+            }
+        }
+
+        // Assert
+        // The first checkpoint is the baseline: by then lazy caches and JIT data are in place
+        long baseline = heapAfterGc.get(0);
+        long peak = heapAfterGc.stream().mapToLong(Long::longValue).max().orElse(baseline);
+        assert peak - baseline <= MAX_HEAP_GROWTH_BYTES : "Heap after GC grew by " + (peak - baseline)
+                + " bytes over " + requests + " requests: " + heapAfterGc;
+    }
+}
@@ -1,9 +1,13 @@
 package com.fcmb.sampleapplication.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fcmb.sampleapplication.dto.request.BulkCreateUsersRequest;
+import com.fcmb.sampleapplication.dto.request.CreateUserRequest;
 import com.fcmb.sampleapplication.entity.User;
 import com.fcmb.sampleapplication.repository.UserRepository;
 import com.fcmb.security.jwt.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,21 +17,30 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
 @AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:partner-issuer.properties")
 @DisplayName("Admin Controller Integration Tests")
 class AdminControllerIntegrationTest {
 
+    private static final String PARTNER_SECRET = "PartnerServiceSigningKeyForSampleApplication2024!";
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -295,4 +308,263 @@ class AdminControllerIntegrationTest {
         // Responses should be identical for consistency
         assert response1.equals(response2) : "Responses should be consistent";
     }
+
+    @Test
+    @DisplayName("Should return 304 when the user table has not changed since the ETag")
+    void testGetAllUsers_WithMatchingEtag_Returns304() throws Exception {
+        // Arrange
+        String etag = mockMvc.perform(get("/api/admin/users")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().string("Cache-Control", containsString("no-cache")))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/users")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .header("If-None-Match", etag))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("Should issue a new ETag after users are created")
+    void testGetAllUsers_AfterUserCreated_EtagChanges() throws Exception {
+        // Arrange
+        String etag = mockMvc.perform(get("/api/admin/users")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        userRepository.save(User.builder()
+                .username("newcomer")
+                .password(passwordEncoder.encode("pass"))
+                .email("newcomer@example.com")
+                .roles(Set.of("ROLE_USER"))
+                .build());
+
+        // Act & Assert
+        String newEtag = mockMvc.perform(get("/api/admin/users")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(5)))
+                .andExpect(jsonPath("$[*].username", hasItem("newcomer")))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        assert !etag.equals(newEtag) : "ETag should change after a write";
+    }
+
+    @Test
+    @DisplayName("Should issue a new ETag after only a user's roles change")
+    void testGetAllUsers_AfterRoleChange_EtagChanges() throws Exception {
+        // Arrange
+        String etag = mockMvc.perform(get("/api/admin/users")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        User promoted = userRepository.findByUsername("user2").orElseThrow();
+        promoted.setRoles(new HashSet<>(Set.of("ROLE_USER", "ROLE_ADMIN")));
+        userRepository.save(promoted);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/users")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$[?(@.username == 'user2')].roles[*]", hasItem("ROLE_ADMIN")));
+    }
+
+    @Test
+    @DisplayName("Should provision users in bulk and report per-row errors")
+    void testCreateUsers_WithMixedRows_ReportsPerRowErrors() throws Exception {
+        BulkCreateUsersRequest request = BulkCreateUsersRequest.builder()
+                .users(List.of(
+                        CreateUserRequest.builder().username("bulk1").password("pass1").email("bulk1@example.com").build(),
+                        CreateUserRequest.builder().username("regularuser").password("pass").email("new@example.com").build(),
+                        CreateUserRequest.builder().username("bulk2").password("pass2").email("bulk2@example.com")
+                                .roles(Set.of("ROLE_USER", "ROLE_ADMIN")).build(),
+                        CreateUserRequest.builder().username("bulk1").password("pass").email("other@example.com").build(),
+                        CreateUserRequest.builder().username("bulk3").email("bulk3@example.com").build(),
+                        CreateUserRequest.builder().username("bulk4").password("pass4").email("user2@example.com").build()
+                ))
+                .build();
+
+        mockMvc.perform(post("/api/admin/users/bulk")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(6))
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.failed").value(4))
+                .andExpect(jsonPath("$.errors[*].index", contains(1, 3, 4, 5)))
+                .andExpect(jsonPath("$.errors[0].reason").value("Username already exists"))
+                .andExpect(jsonPath("$.errors[1].reason").value("Duplicate username in batch"))
+                .andExpect(jsonPath("$.errors[2].reason").value("Password is required"))
+                .andExpect(jsonPath("$.errors[3].reason").value("Email already exists"));
+
+        User bulk1 = userRepository.findByUsername("bulk1").orElseThrow();
+        assert passwordEncoder.matches("pass1", bulk1.getPassword()) : "Password should be stored hashed";
+        assert bulk1.getRoles().equals(Set.of("ROLE_USER")) : "Default role should be applied";
+        assert userRepository.findByUsername("bulk2").orElseThrow().getRoles().contains("ROLE_ADMIN");
+    }
+
+    @Test
+    @DisplayName("Should provision a batch spanning several JDBC batches")
+    void testCreateUsers_LargeBatch_CreatesAllUsers() throws Exception {
+        List<CreateUserRequest> users = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            users.add(CreateUserRequest.builder()
+                    .username("load" + i)
+                    .password("pass")
+                    .email("load" + i + "@example.com")
+                    .build());
+        }
+
+        mockMvc.perform(post("/api/admin/users/bulk")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkCreateUsersRequest(users))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(250))
+                .andExpect(jsonPath("$.failed").value(0));
+
+        assert userRepository.count() == 254 : "All provisioned users should be persisted";
+    }
+
+    @Test
+    @DisplayName("Should reject existing identities in every insert chunk of a large batch")
+    void testCreateUsers_LargeBatch_RejectsExistingIdentitiesPerChunk() throws Exception {
+        List<CreateUserRequest> users = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            users.add(CreateUserRequest.builder()
+                    .username(i == 150 ? "regularuser" : "chunk" + i)
+                    .password("pass")
+                    .email(i == 230 ? "admin@example.com" : "chunk" + i + "@example.com")
+                    .build());
+        }
+
+        mockMvc.perform(post("/api/admin/users/bulk")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkCreateUsersRequest(users))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(248))
+                .andExpect(jsonPath("$.errors[*].index", contains(150, 230)))
+                .andExpect(jsonPath("$.errors[0].reason").value("Username already exists"))
+                .andExpect(jsonPath("$.errors[1].reason").value("Email already exists"));
+
+        assert userRepository.count() == 252 : "Only the new identities should be persisted";
+    }
+
+    @Test
+    @DisplayName("Should return 403 when regular user tries to provision users")
+    void testCreateUsers_WithUserToken_Returns403() throws Exception {
+        BulkCreateUsersRequest request = BulkCreateUsersRequest.builder()
+                .users(List.of(CreateUserRequest.builder()
+                        .username("sneaky").password("pass").email("sneaky@example.com").build()))
+                .build();
+
+        mockMvc.perform(post("/api/admin/users/bulk")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isForbidden());
+
+        assert userRepository.findByUsername("sneaky").isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an empty bulk request")
+    void testCreateUsers_WithEmptyBatch_Returns400() throws Exception {
+        mockMvc.perform(post("/api/admin/users/bulk")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"users\": []}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation Failed"));
+    }
+
+    @Test
+    @DisplayName("Should accept a token from a trusted partner issuer with its own claim mapping")
+    void testGetAllUsers_WithPartnerIssuerToken_ReturnsUsers() throws Exception {
+        String partnerToken = partnerToken("partner-service", PARTNER_SECRET, new Date());
+
+        mockMvc.perform(get("/api/admin/users")
+                        .header("Authorization", "Bearer " + partnerToken))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(4)));
+    }
+
+    @Test
+    @DisplayName("Should return 401 for a token from an unknown issuer")
+    void testGetAllUsers_WithUnknownIssuer_Returns401() throws Exception {
+        String unknownToken = partnerToken("unknown-service", PARTNER_SECRET, new Date());
+
+        mockMvc.perform(get("/api/admin/users")
+                        .header("Authorization", "Bearer " + unknownToken))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should return 401 for a partner token signed with another issuer's key")
+    void testGetAllUsers_WithPartnerIssuerSignedByWrongKey_Returns401() throws Exception {
+        String forgedToken = partnerToken("partner-service",
+                "MySecretKeyForJWTTokenSigningAndValidation2024!@#$%^&*()", new Date());
+
+        mockMvc.perform(get("/api/admin/users")
+                        .header("Authorization", "Bearer " + forgedToken))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should return 401 for a partner token older than the issuer's maximum age")
+    void testGetAllUsers_WithPartnerTokenPastMaxAge_Returns401() throws Exception {
+        Date twoHoursAgo = new Date(System.currentTimeMillis() - 2 * 60 * 60 * 1000);
+        String staleToken = partnerToken("partner-service", PARTNER_SECRET, twoHoursAgo);
+
+        mockMvc.perform(get("/api/admin/users")
+                        .header("Authorization", "Bearer " + staleToken))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should return 401 for a token signed with the primary key but a different issuer")
+    void testGetAllUsers_WithPrimaryKeyButWrongIssuer_Returns401() throws Exception {
+        JwtUtil otherIssuer = new JwtUtil("MySecretKeyForJWTTokenSigningAndValidation2024!@#$%^&*()",
+                60_000, "partner-service");
+        String token = otherIssuer.generateToken(testAdmin.getId(), testAdmin.getUsername(),
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+        mockMvc.perform(get("/api/admin/users")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private String partnerToken(String issuer, String secret, Date issuedAt) {
+        return Jwts.builder()
+                .issuer(issuer)
+                .subject("partner-admin")
+                .claim("uid", 9001)
+                .claim("preferred_username", "partner-admin")
+                .claim("groups", List.of("ROLE_USER", "ROLE_ADMIN"))
+                .issuedAt(issuedAt)
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
 }
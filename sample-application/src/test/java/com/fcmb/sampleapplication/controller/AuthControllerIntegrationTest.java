@@ -87,7 +87,8 @@ class AuthControllerIntegrationTest {
                 .andExpect(jsonPath("$.userId").isNumber())
                 .andExpect(jsonPath("$.username").value("testuser"))
                 .andExpect(jsonPath("$.roles").isArray())
-                .andExpect(jsonPath("$.roles", hasItem("ROLE_USER")));
+                .andExpect(jsonPath("$.roles", hasItem("ROLE_USER")))
+                .andExpect(header().doesNotExist("Server-Timing"));
     }
 
     @Test
@@ -0,0 +1,172 @@
+package com.fcmb.sampleapplication.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fcmb.sampleapplication.dto.request.LoginRequest;
+import com.fcmb.sampleapplication.entity.User;
+import com.fcmb.sampleapplication.repository.UserRepository;
+import com.fcmb.security.jwt.JwtUtil;
+import io.micrometer.observation.tck.TestObservationRegistry;
+import io.micrometer.observation.tck.TestObservationRegistryAssert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "security.jwt.observation.enabled=true",
+        "security.jwt.observation.server-timing=true"
+})
+@Import(AuthObservationIntegrationTest.InMemoryObservationConfiguration.class)
+@DisplayName("Authentication Observation Integration Tests")
+class AuthObservationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TestObservationRegistry observationRegistry;
+
+    private String userToken;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+
+        User user = userRepository.save(User.builder()
+                .username("traceuser")
+                .password(passwordEncoder.encode("tracepass"))
+                .email("trace@example.com")
+                .roles(Set.of("ROLE_USER"))
+                .enabled(true)
+                .build());
+
+        userToken = jwtUtil.generateToken(user.getId(), user.getUsername(),
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        observationRegistry.clear();
+    }
+
+    @Test
+    @DisplayName("Should observe each token authentication phase")
+    void testAuthenticatedRequest_ObservesTokenPhases() throws Exception {
+        // Act
+        mockMvc.perform(get("/api/users/me")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk());
+
+        // Assert
+        for (String name : List.of("security.jwt.header", "security.jwt.signature",
+                "security.jwt.claims", "security.jwt.authorities")) {
+            TestObservationRegistryAssert.assertThat(observationRegistry)
+                    .hasObservationWithNameEqualTo(name)
+                    .that()
+                    .hasBeenStarted()
+                    .hasBeenStopped();
+        }
+    }
+
+    @Test
+    @DisplayName("Should report token phases in the Server-Timing header")
+    void testAuthenticatedRequest_ReturnsServerTimingHeader() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/users/me")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", allOf(
+                        containsString("jwt-header;dur="),
+                        containsString("jwt-signature;dur="),
+                        containsString("jwt-claims;dur="),
+                        containsString("jwt-authorities;dur="))));
+    }
+
+    @Test
+    @DisplayName("Should report user lookup and password check separately on login")
+    void testLogin_ReturnsLoginPhasesInServerTiming() throws Exception {
+        // Arrange
+        LoginRequest loginRequest = LoginRequest.builder()
+                .username("traceuser")
+                .password("tracepass")
+                .build();
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", allOf(
+                        containsString("login-authenticate;dur="),
+                        containsString("login-user-lookup;dur="),
+                        containsString("login-password;dur="),
+                        containsString("login-token;dur="))));
+
+        TestObservationRegistryAssert.assertThat(observationRegistry)
+                .hasObservationWithNameEqualTo("security.login.password")
+                .that()
+                .hasBeenStopped();
+    }
+
+    @Test
+    @DisplayName("Should record the error on the signature phase for a tampered token")
+    void testTamperedToken_RecordsSignatureError() throws Exception {
+        // Arrange
+        String tampered = userToken.substring(0, userToken.length() - 2)
+                + (userToken.endsWith("AA") ? "BB" : "AA");
+
+        // Act
+        mockMvc.perform(get("/api/users/me")
+                        .header("Authorization", "Bearer " + tampered))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string("Server-Timing", containsString("jwt-signature;dur=")));
+
+        // Assert
+        TestObservationRegistryAssert.assertThat(observationRegistry)
+                .hasObservationWithNameEqualTo("security.jwt.signature")
+                .that()
+                .assertThatError()
+                .isNotNull();
+        TestObservationRegistryAssert.assertThat(observationRegistry)
+                .hasNumberOfObservationsWithNameEqualTo("security.jwt.claims", 0);
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class InMemoryObservationConfiguration {
+
+        @Bean
+        TestObservationRegistry observationRegistry() {
+            return TestObservationRegistry.create();
+        }
+    }
+}
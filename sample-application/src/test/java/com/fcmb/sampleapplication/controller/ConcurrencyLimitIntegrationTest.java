@@ -0,0 +1,223 @@
+package com.fcmb.sampleapplication.controller;
+
+import com.fcmb.security.json.JsonWriters;
+import com.fcmb.security.jwt.JwtUtil;
+import com.fcmb.security.limit.AimdLimit;
+import com.fcmb.security.limit.ConcurrencyLimitFilter;
+import com.fcmb.security.limit.ConcurrencyLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.SocketTimeoutException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "security.jwt.concurrency-limit.enabled=true",
+        "security.jwt.concurrency-limit.initial-limit=2",
+        "security.jwt.concurrency-limit.min-limit=2",
+        "security.jwt.concurrency-limit.max-limit=2",
+        "security.jwt.concurrency-limit.latency-threshold-ms=60000",
+        "security.jwt.concurrency-limit.partitions.[ROLE_ADMIN]=0.5"
+})
+@Import(ConcurrencyLimitIntegrationTest.BlockingController.class)
+@DisplayName("Concurrency Limit Integration Tests")
+class ConcurrencyLimitIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ConcurrencyLimiter concurrencyLimiter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private BlockingController blockingController;
+
+    @Autowired
+    private JsonWriters jsonWriters;
+
+    private String userToken;
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() {
+        userToken = jwtUtil.generateToken(1L, "limituser", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        adminToken = jwtUtil.generateToken(2L, "limitadmin",
+                List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN")));
+    }
+
+    @Test
+    @DisplayName("Should shed user requests with 503 while keeping reserved capacity for admins")
+    void testSaturatedLimit_ShedsUsersAndAdmitsAdmins() throws Exception {
+        // Arrange
+        double rejectedBefore = rejected("default");
+        CountDownLatch release = new CountDownLatch(1);
+        blockingController.release = release;
+        CompletableFuture<Void> slowRequest = CompletableFuture.runAsync(() -> {
+            try {
+                mockMvc.perform(get("/api/test/slow").header("Authorization", "Bearer " + userToken))
+                        .andExpect(status().isOk());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        awaitInflight(1);
+
+        // Act & Assert
+        try {
+            mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"))
+                    .andExpect(jsonPath("$.status").value(503))
+                    .andExpect(jsonPath("$.path").value("/api/users/me"));
+
+            mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.username").value("limitadmin"));
+        } finally {
+            release.countDown();
+            slowRequest.get(10, TimeUnit.SECONDS);
+        }
+
+        mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk());
+        assert rejected("default") - rejectedBefore == 1;
+        assert concurrencyLimiter.getInflight() == 0;
+        assert meterRegistry.find("security.concurrency.limit").gauge().value() == 2;
+    }
+
+    @Test
+    @DisplayName("Should grow the limit by about one per limit's worth of samples and back off once per window")
+    void testAimdLimit_AdaptsToSamples() {
+        // Arrange
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(new AimdLimit(10, 2, 20, 0.5, 100), Map.of());
+        ConcurrencyLimiter.Partition partition = limiter.partition(ConcurrencyLimiter.DEFAULT_PARTITION);
+        for (int i = 0; i < 5; i++) {
+            assert limiter.acquire(partition) > 0;
+        }
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            limiter.release(partition, System.nanoTime(), limiter.acquire(partition), false);
+        }
+        int afterTen = limiter.getLimit();
+        limiter.release(partition, System.nanoTime(), limiter.acquire(partition), false);
+        int grown = limiter.getLimit();
+
+        long slowStart = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(500);
+        int first = limiter.acquire(partition);
+        int second = limiter.acquire(partition);
+        limiter.release(partition, slowStart, first, false);
+        limiter.release(partition, slowStart, second, false);
+        int slowed = limiter.getLimit();
+
+        for (int i = 0; i < 4; i++) {
+            limiter.release(partition, System.nanoTime(), 1, false);
+        }
+        limiter.release(partition, System.nanoTime(), limiter.acquire(partition), true);
+        int dropped = limiter.getLimit();
+
+        // Assert
+        assert afterTen == 10 && grown == 11 : "Fast samples under load should add 1 / limit each";
+        assert slowed == 5 : "Slow samples from one window should halve the limit once, not twice";
+        assert dropped == 2 : "A drop after the decrease should back off again, down to the minimum";
+        assert limiter.getInflight() == 1;
+    }
+
+    @Test
+    @DisplayName("Should count only timeouts thrown down the chain as drops")
+    void testFilter_WhenChainThrows_BacksOffOnlyOnTimeouts() throws Exception {
+        // Arrange
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(new AimdLimit(10, 2, 20, 0.5, 60_000), Map.of());
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limiter, List.of(), 1, jsonWriters);
+        FilterChain failing = (request, response) -> {
+            throw new IllegalStateException("Application error");
+        };
+        FilterChain timingOut = (request, response) -> {
+            throw new ServletException("Downstream call failed", new SocketTimeoutException("Read timed out"));
+        };
+
+        // Act
+        try {
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/users/me"), new MockHttpServletResponse(), failing);
+            assert false : "The application error should propagate";
+        } catch (IllegalStateException expected) {
+            // Rethrown after the sample was recorded
+        }
+        int afterError = limiter.getLimit();
+        try {
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/users/me"), new MockHttpServletResponse(), timingOut);
+            assert false : "The timeout should propagate";
+        } catch (ServletException expected) {
+            // Rethrown after the sample was recorded
+        }
+        int afterTimeout = limiter.getLimit();
+
+        // Assert
+        assert afterError == 10 : "An application error should not shrink the limit";
+        assert afterTimeout == 5 : "A timeout should back off";
+        assert limiter.getInflight() == 0;
+    }
+
+    private double rejected(String partition) {
+        FunctionCounter counter = meterRegistry.find("security.concurrency.rejected")
+                .tag("partition", partition)
+                .functionCounter();
+        assert counter != null;
+        return counter.count();
+    }
+
+    private void awaitInflight(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (concurrencyLimiter.getInflight() < expected) {
+            assert System.nanoTime() < deadline : "Slow request was never admitted";
+            Thread.sleep(10);
+        }
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    @RestController
+    static class BlockingController {
+
+        private volatile CountDownLatch release = new CountDownLatch(0);
+
+        @GetMapping("/api/test/slow")
+        String slow() throws InterruptedException {
+            release.await(10, TimeUnit.SECONDS);
+            return "done";
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.fcmb.sampleapplication.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fcmb.sampleapplication.dto.request.LoginRequest;
+import com.fcmb.sampleapplication.entity.User;
+import com.fcmb.sampleapplication.repository.UserRepository;
+import com.fcmb.security.credential.CredentialVerificationCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "security.jwt.credential-cache.enabled=true")
+@Import(CredentialCacheIntegrationTest.CountingEncoderConfiguration.class)
+@DisplayName("Credential Cache Integration Tests")
+class CredentialCacheIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CountingPasswordEncoder countingPasswordEncoder;
+
+    @Autowired
+    private CredentialVerificationCache credentialVerificationCache;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+
+        userRepository.save(User.builder()
+                .username("svc-reports")
+                .password(passwordEncoder.encode("svc-secret"))
+                .email("svc-reports@example.com")
+                .roles(Set.of("ROLE_USER"))
+                .enabled(true)
+                .machineAccount(true)
+                .build());
+
+        userRepository.save(User.builder()
+                .username("testuser")
+                .password(passwordEncoder.encode("testpass"))
+                .email("test@example.com")
+                .roles(Set.of("ROLE_USER"))
+                .enabled(true)
+                .build());
+
+        countingPasswordEncoder.matches.set(0);
+    }
+
+    @Test
+    @DisplayName("Should skip the password check for repeat machine account logins")
+    void testMachineAccount_RepeatLogin_SkipsPasswordCheck() throws Exception {
+        // Act
+        login("svc-reports", "svc-secret", status().isOk());
+        login("svc-reports", "svc-secret", status().isOk());
+        login("svc-reports", "svc-secret", status().isOk());
+
+        // Assert
+        assert countingPasswordEncoder.matches.get() == 1 : "Only the first login should run BCrypt";
+    }
+
+    @Test
+    @DisplayName("Should still reject a wrong password for a cached machine account")
+    void testMachineAccount_WrongPassword_Returns401() throws Exception {
+        // Arrange
+        login("svc-reports", "svc-secret", status().isOk());
+
+        // Act & Assert
+        login("svc-reports", "not-the-secret", status().isUnauthorized());
+        assert countingPasswordEncoder.matches.get() == 2 : "A digest mismatch should fall back to BCrypt";
+    }
+
+    @Test
+    @DisplayName("Should never cache logins of accounts that are not machine accounts")
+    void testRegularAccount_IsNeverCached() throws Exception {
+        // Act
+        login("testuser", "testpass", status().isOk());
+        login("testuser", "testpass", status().isOk());
+
+        // Assert
+        assert countingPasswordEncoder.matches.get() == 2;
+        assert !credentialVerificationCache.isVerified("testuser", "testpass", 0);
+    }
+
+    @Test
+    @DisplayName("Should drop the cached entry when the password changes")
+    void testMachineAccount_PasswordChange_InvalidatesEntry() throws Exception {
+        // Arrange
+        login("svc-reports", "svc-secret", status().isOk());
+        User account = userRepository.findByUsername("svc-reports").orElseThrow();
+        account.setPassword(passwordEncoder.encode("rotated-secret"));
+        userRepository.save(account);
+
+        // Act & Assert
+        login("svc-reports", "svc-secret", status().isUnauthorized());
+        login("svc-reports", "rotated-secret", status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should reject a cached machine account once it is disabled")
+    void testMachineAccount_Disabled_Returns401() throws Exception {
+        // Arrange
+        login("svc-reports", "svc-secret", status().isOk());
+        User account = userRepository.findByUsername("svc-reports").orElseThrow();
+        account.setEnabled(false);
+        userRepository.save(account);
+
+        // Act & Assert
+        login("svc-reports", "svc-secret", status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should keep the cache within its size limit")
+    void testCache_EvictsLeastRecentlyUsedEntries() {
+        // Arrange
+        CredentialVerificationCache cache = new CredentialVerificationCache(new byte[32], 60_000, 2);
+
+        // Act
+        cache.recordVerified("a", "pa", 1);
+        cache.recordVerified("b", "pb", 1);
+        assert cache.isVerified("a", "pa", 1);
+        cache.recordVerified("c", "pc", 1);
+
+        // Assert
+        assert cache.size() == 2;
+        assert cache.isVerified("a", "pa", 1) : "Recently used entry should be kept";
+        assert !cache.isVerified("b", "pb", 1) : "Least recently used entry should be evicted";
+        assert !cache.isVerified("c", "pc", 2) : "A changed stamp should miss";
+    }
+
+    private void login(String username, String password, ResultMatcher expectedStatus) throws Exception {
+        LoginRequest loginRequest = LoginRequest.builder()
+                .username(username)
+                .password(password)
+                .build();
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(expectedStatus);
+    }
+
+    static class CountingPasswordEncoder extends BCryptPasswordEncoder {
+
+        private final AtomicInteger matches = new AtomicInteger();
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            matches.incrementAndGet();
+            return super.matches(rawPassword, encodedPassword);
+        }
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class CountingEncoderConfiguration {
+
+        @Bean
+        CountingPasswordEncoder passwordEncoder() {
+            return new CountingPasswordEncoder();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.fcmb.sampleapplication.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fcmb.sampleapplication.dto.request.LoginRequest;
+import com.fcmb.sampleapplication.entity.User;
+import com.fcmb.sampleapplication.repository.UserRepository;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.ValueDescriptor;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("JFR Event Integration Tests")
+class JfrEventsIntegrationTest {
+
+    // The profile shipped at the repository root; tests run from the sample-application directory
+    private static final Path SETTINGS = Path.of("..", "jfr", "security.jfc");
+
+    private static final String USERNAME = "jfr-recorded-user";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @TempDir
+    Path recordingDir;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        userRepository.save(User.builder()
+                .username(USERNAME)
+                .password(passwordEncoder.encode("jfr-pass"))
+                .email(USERNAME + "@example.com")
+                .roles(Set.of("ROLE_USER"))
+                .enabled(true)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should record token, login and rejection events without personal data")
+    void testSecurityEvents_AreRecorded() throws Exception {
+        // Arrange
+        Path dump = recordingDir.resolve("security.jfr");
+
+        // Act
+        try (Recording recording = new Recording(Configuration.create(SETTINGS))) {
+            recording.start();
+
+            String token = login("jfr-pass");
+            mockMvc.perform(post("/api/auth/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(loginBody("wrong-pass")))
+                    .andExpect(status().isUnauthorized());
+            mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk());
+            mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer not.a.token"))
+                    .andExpect(status().isUnauthorized());
+            mockMvc.perform(get("/api/admin/users").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isForbidden());
+
+            recording.stop();
+            recording.dump(dump);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump).stream()
+                .filter(event -> event.getEventType().getName().startsWith("com.fcmb.security."))
+                .toList();
+
+        // Assert
+        List<RecordedEvent> issued = ofType(events, "TokenIssuance");
+        assert !issued.isEmpty() : "No token issuance recorded";
+        assert "jwt".equals(issued.get(0).getString("tokenType"));
+        assert issued.get(0).getInt("roleCount") == 1;
+
+        List<String> verifications = ofType(events, "TokenVerification").stream()
+                .map(event -> event.getString("outcome"))
+                .toList();
+        assert verifications.contains("ACTIVE") : "Verification outcomes: " + verifications;
+        assert verifications.contains("MALFORMED") : "Verification outcomes: " + verifications;
+
+        List<RecordedEvent> logins = ofType(events, "Login");
+        List<String> loginOutcomes = logins.stream().map(event -> event.getString("outcome")).toList();
+        assert loginOutcomes.contains("SUCCESS") : "Login outcomes: " + loginOutcomes;
+        assert loginOutcomes.contains("BadCredentialsException") : "Login outcomes: " + loginOutcomes;
+        RecordedEvent success = logins.get(loginOutcomes.indexOf("SUCCESS"));
+        assert !success.getDuration("userLookup").isZero();
+        assert !success.getDuration("passwordCheck").isZero();
+        assert !success.getDuration("tokenIssue").isZero();
+
+        List<String> rejections = ofType(events, "AccessRejection").stream()
+                .map(event -> event.getInt("status") + " " + event.getString("method"))
+                .toList();
+        assert rejections.contains("401 GET") : "Rejections: " + rejections;
+        assert rejections.contains("403 GET") : "Rejections: " + rejections;
+
+        for (RecordedEvent event : events) {
+            for (ValueDescriptor field : event.getFields()) {
+                Object value = event.getValue(field.getName());
+                assert !(value instanceof String text && text.contains(USERNAME))
+                        : event.getEventType().getName() + "." + field.getName() + " carries the username";
+            }
+        }
+    }
+
+    private List<RecordedEvent> ofType(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.fcmb.security." + name))
+                .toList();
+    }
+
+    private String login(String password) throws Exception {
+        String response = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(loginBody(password)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("token").asText();
+    }
+
+    private String loginBody(String password) throws Exception {
+        return objectMapper.writeValueAsString(LoginRequest.builder()
+                .username(USERNAME)
+                .password(password)
+                .build());
+    }
+}
@@ -0,0 +1,232 @@
+package com.fcmb.sampleapplication.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fcmb.sampleapplication.dto.request.LoginRequest;
+import com.fcmb.sampleapplication.entity.User;
+import com.fcmb.sampleapplication.repository.UserRepository;
+import com.fcmb.sampleapplication.service.auth.LoginTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "app.login-tracking.max-failed-attempts=3",
+        "app.login-tracking.lock-duration=10m",
+        // Flushed explicitly by the tests
+        "app.login-tracking.flush-interval-ms=3600000"
+})
+@DisplayName("Login Tracking Integration Tests")
+class LoginTrackingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private LoginTracker loginTracker;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        loginTracker.flush();
+
+        user = userRepository.save(User.builder()
+                .username("trackeduser")
+                .password(passwordEncoder.encode("trackedpass"))
+                .email("tracked@example.com")
+                .roles(Set.of("ROLE_USER"))
+                .enabled(true)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should collapse repeated logins into one buffered update")
+    void testRepeatedLogins_AreWrittenOnceOnFlush() throws Exception {
+        // Act
+        login("trackedpass", status().isOk());
+        login("trackedpass", status().isOk());
+        login("trackedpass", status().isOk());
+
+        // Assert
+        assert loginTracker.pendingCount() == 1;
+        assert row().get("last_login_at") == null : "Nothing should be written before the flush";
+
+        loginTracker.flush();
+        assert loginTracker.pendingCount() == 0;
+        assert row().get("last_login_at") != null;
+        assert ((Number) row().get("failed_attempts")).intValue() == 0;
+    }
+
+    @Test
+    @DisplayName("Should lock the account from in-memory state before it is flushed")
+    void testFailedLogins_LockAccountBeforeFlush() throws Exception {
+        // Act
+        login("wrong-1", status().isUnauthorized());
+        login("wrong-2", status().isUnauthorized());
+        login("wrong-3", status().isUnauthorized());
+
+        // Assert
+        login("trackedpass", status().isUnauthorized());
+        assert row().get("locked_until") == null : "Lockout should not need a database write";
+
+        loginTracker.flush();
+        assert row().get("locked_until") != null;
+        assert ((Timestamp) row().get("locked_until")).toLocalDateTime().isAfter(LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("Should admit no more concurrent attempts than the lockout allows")
+    void testConcurrentAttempts_AreReservedBeforePasswordCheck() throws Exception {
+        // Arrange
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        List<Callable<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            attempts.add(() -> loginTracker.tryBeginAttempt(user));
+        }
+
+        // Act
+        int admitted = 0;
+        for (Future<Boolean> result : callers.invokeAll(attempts)) {
+            admitted += result.get() ? 1 : 0;
+        }
+        callers.shutdown();
+        loginTracker.recordFailure(user);
+
+        // Assert
+        assert admitted == 3 : "Admitted " + admitted + " attempts in flight";
+        login("trackedpass", status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should give back an attempt that ends without a password check")
+    void testCancelledAttempt_DoesNotCountAsFailure() throws Exception {
+        // Arrange
+        login("wrong-1", status().isUnauthorized());
+        login("wrong-2", status().isUnauthorized());
+
+        // Act
+        assert loginTracker.tryBeginAttempt(user);
+        loginTracker.cancelAttempt(user);
+        loginTracker.flush();
+
+        // Assert
+        assert ((Number) row().get("failed_attempts")).intValue() == 2;
+        login("trackedpass", status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should expire failed attempts after the window and then drop the record")
+    void testFailedAttempts_ExpireAndAreEvicted() throws Exception {
+        // Arrange
+        LoginTracker tracker = new LoginTracker(jdbcTemplate, 3, Duration.ofMinutes(10), Duration.ofMillis(200), 100);
+        for (int i = 0; i < 2; i++) {
+            assert tracker.tryBeginAttempt(user);
+            tracker.recordFailure(user);
+        }
+        tracker.flush();
+        assert ((Number) row().get("failed_attempts")).intValue() == 2;
+
+        // Act
+        Thread.sleep(300);
+        tracker.flush();
+        int afterExpiry = ((Number) row().get("failed_attempts")).intValue();
+        tracker.flush();
+        tracker.flush();
+
+        // Assert
+        assert afterExpiry == 0 : "Expired attempts should be written back as cleared";
+        assert tracker.trackedCount() == 0 : "Record stayed after its attempts expired";
+    }
+
+    @Test
+    @DisplayName("Should reset failed attempts after a successful login")
+    void testSuccessfulLogin_ResetsFailedAttempts() throws Exception {
+        // Arrange
+        login("wrong-1", status().isUnauthorized());
+        login("wrong-2", status().isUnauthorized());
+        loginTracker.flush();
+        assert ((Number) row().get("failed_attempts")).intValue() == 2;
+
+        // Act
+        login("trackedpass", status().isOk());
+        login("wrong-3", status().isUnauthorized());
+        login("trackedpass", status().isOk());
+        loginTracker.flush();
+
+        // Assert
+        assert ((Number) row().get("failed_attempts")).intValue() == 0;
+    }
+
+    @Test
+    @DisplayName("Should not let entity saves overwrite tracked login columns")
+    void testEntitySave_KeepsLoginColumns() throws Exception {
+        // Arrange
+        User loadedBeforeLogin = userRepository.findById(user.getId()).orElseThrow();
+        login("trackedpass", status().isOk());
+        loginTracker.flush();
+
+        // Act
+        loadedBeforeLogin.setEmail("changed@example.com");
+        userRepository.save(loadedBeforeLogin);
+
+        // Assert
+        assert "changed@example.com".equals(row().get("email"));
+        assert row().get("last_login_at") != null;
+    }
+
+    private Map<String, Object> row() {
+        return jdbcTemplate.queryForMap(
+                "SELECT email, last_login_at, failed_attempts, locked_until FROM users WHERE id = ?", user.getId());
+    }
+
+    private void login(String password, ResultMatcher expectedStatus) throws Exception {
+        LoginRequest loginRequest = LoginRequest.builder()
+                .username("trackeduser")
+                .password(password)
+                .build();
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(expectedStatus);
+    }
+}
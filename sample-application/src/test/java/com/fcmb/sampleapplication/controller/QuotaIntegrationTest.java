@@ -0,0 +1,171 @@
+package com.fcmb.sampleapplication.controller;
+
+import com.fcmb.security.jwt.JwtUtil;
+import com.fcmb.security.quota.QuotaBucket;
+import com.fcmb.security.quota.QuotaRegistry;
+import com.fcmb.security.quota.QuotaTier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "security.jwt.quota.enabled=true",
+        "security.jwt.quota.default-tier.capacity=3",
+        "security.jwt.quota.default-tier.period=1h",
+        "security.jwt.quota.tiers.[ROLE_ADMIN].capacity=5",
+        "security.jwt.quota.tiers.[ROLE_ADMIN].period=1h"
+})
+@DisplayName("Request Quota Integration Tests")
+class QuotaIntegrationTest {
+
+    private static final String ISSUER = "sample-application";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    @DisplayName("Should count down RateLimit headers and return 429 once the quota is used up")
+    void testQuota_ExhaustedReturns429() throws Exception {
+        // Arrange
+        String token = jwtUtil.generateToken(101L, "quotauser", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+        // Act & Assert
+        for (int remaining = 2; remaining >= 0; remaining--) {
+            mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("RateLimit-Limit", "3"))
+                    .andExpect(header().string("RateLimit-Remaining", String.valueOf(remaining)));
+        }
+
+        mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("RateLimit-Remaining", "0"))
+                .andExpect(header().string("Retry-After", "1200"))
+                .andExpect(jsonPath("$.status").value(429))
+                .andExpect(jsonPath("$.path").value("/api/users/me"));
+    }
+
+    @Test
+    @DisplayName("Should size the quota by role and keep users independent")
+    void testQuota_TierByRoleAndIsolatedPerUser() throws Exception {
+        // Arrange
+        String adminToken = jwtUtil.generateToken(102L, "quotaadmin",
+                List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN")));
+        String otherToken = jwtUtil.generateToken(103L, "quotaother",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string("RateLimit-Limit", "5"))
+                .andExpect(header().string("RateLimit-Remaining", "4"));
+
+        mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + otherToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string("RateLimit-Limit", "3"))
+                .andExpect(header().string("RateLimit-Remaining", "2"));
+    }
+
+    @Test
+    @DisplayName("Should not charge anonymous requests")
+    void testQuota_AnonymousRequestsAreNotCounted() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/public/health"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("RateLimit-Limit"));
+    }
+
+    @Test
+    @DisplayName("Should refill lazily and keep the key space bounded")
+    void testQuotaRegistry_RefillsAndStaysBounded() {
+        // Arrange
+        QuotaTier tier = new QuotaTier("default", 2, Duration.ofSeconds(2));
+        QuotaRegistry registry = new QuotaRegistry(2, 4, tier, Map.of());
+        long now = 0;
+        QuotaBucket bucket = registry.bucket(ISSUER, 1L, now);
+
+        // Act
+        long first = bucket.tryAcquire(tier, now);
+        long second = bucket.tryAcquire(tier, now);
+        long third = bucket.tryAcquire(tier, now);
+        long afterRefill = bucket.tryAcquire(tier, now + TimeUnit.SECONDS.toNanos(1));
+        for (long userId = 2; userId < 100; userId++) {
+            registry.bucket(ISSUER, userId, now + TimeUnit.SECONDS.toNanos(10));
+        }
+
+        // Assert
+        assert first == 1 && second == 0 : "A full bucket should admit its capacity";
+        assert third == -1 : "An empty bucket should reject";
+        assert afterRefill == 0 : "One token should be back after half the period";
+        assert registry.size() <= 4 : "Registry grew to " + registry.size();
+    }
+
+    @Test
+    @DisplayName("Should never evict a bucket that is still refilling when the key space is full")
+    void testQuotaRegistry_KeepsBusyBucketsUnderKeyPressure() {
+        // Arrange
+        QuotaTier tier = new QuotaTier("default", 2, Duration.ofHours(1));
+        QuotaRegistry registry = new QuotaRegistry(1, 4, tier, Map.of());
+        long now = 0;
+        QuotaBucket exhausted = registry.bucket(ISSUER, 1L, now);
+        exhausted.tryAcquire(tier, now);
+        exhausted.tryAcquire(tier, now);
+
+        // Act
+        long newcomers = 0;
+        for (long userId = 2; userId < 100; userId++) {
+            newcomers += registry.bucket(ISSUER, userId, now).tryAcquire(tier, now) >= 0 ? 1 : 0;
+        }
+        long afterPressure = registry.bucket(ISSUER, 1L, now).tryAcquire(tier, now);
+
+        // Assert
+        assert afterPressure == -1 : "An over-quota user came back with a fresh allowance";
+        assert newcomers == 98 : "Callers without room should still be admitted";
+        assert registry.size() == 4 : "Registry size " + registry.size();
+    }
+
+    @Test
+    @DisplayName("Should keep issuers apart and carry a caller's usage across tier changes")
+    void testQuotaRegistry_KeyedOnIssuerAndKeptAcrossTiers() {
+        // Arrange
+        QuotaTier user = new QuotaTier("default", 2, Duration.ofHours(1));
+        QuotaTier admin = new QuotaTier("ROLE_ADMIN", 3, Duration.ofHours(1));
+        QuotaRegistry registry = new QuotaRegistry(2, 8, user, Map.of("ROLE_ADMIN", admin));
+        long now = 0;
+
+        // Act
+        long local = registry.bucket(ISSUER, 42L, now).tryAcquire(user, now);
+        long partner = registry.bucket("partner-service", 42L, now).tryAcquire(user, now);
+        List<Long> alternating = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            QuotaTier tier = i % 2 == 0 ? admin : user;
+            alternating.add(registry.bucket(ISSUER, 42L, now).tryAcquire(tier, now));
+        }
+
+        // Assert
+        assert local == 1 && partner == 1 : "The same user id from another issuer should have its own bucket";
+        assert alternating.equals(List.of(0L, -1L, -1L, -1L, -1L, -1L))
+                : "Switching tokens should not refill the bucket: " + alternating;
+    }
+}
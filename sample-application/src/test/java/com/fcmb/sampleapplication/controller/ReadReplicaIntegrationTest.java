@@ -0,0 +1,202 @@
+package com.fcmb.sampleapplication.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fcmb.sampleapplication.dto.request.LoginRequest;
+import com.fcmb.sampleapplication.entity.User;
+import com.fcmb.sampleapplication.repository.UserRepository;
+import com.fcmb.sampleapplication.service.ReplicaReads;
+import com.fcmb.security.jwt.JwtUtil;
+import com.fcmb.security.replica.ReadYourWrites;
+import com.fcmb.security.replica.ReplicaRouter;
+import com.fcmb.security.replica.ReplicaRoutingDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "security.jwt.read-replica.enabled=true",
+        "security.jwt.read-replica.read-your-writes-window=3s",
+        "security.jwt.read-replica.replicas[0].url=" + ReadReplicaIntegrationTest.REPLICA_URL,
+        "security.jwt.read-replica.replicas[0].username=sa"
+})
+@DisplayName("Read Replica Routing Integration Tests")
+class ReadReplicaIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica-routing;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
+    @Autowired
+    private JdbcTemplate primary;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should serve login lookups from the replica once the write window has passed")
+    void testLogin_ReadsReplica() throws Exception {
+        // Arrange
+        createUser("replica-reader", "primary-pass");
+        awaitWriteWindow("replica-reader");
+        replicate();
+        replica.update("UPDATE users SET password = ? WHERE username = ?",
+                passwordEncoder.encode("replica-pass"), "replica-reader");
+
+        // Act & Assert
+        login("replica-reader", "replica-pass", status().isOk());
+        login("replica-reader", "primary-pass", status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should read a user's own update from the primary while the replica lags")
+    void testLoginAfterUpdate_ReadsPrimary() throws Exception {
+        // Arrange
+        User user = createUser("replica-writer", "old-pass");
+        awaitWriteWindow("replica-writer");
+        replicate();
+
+        // Act
+        user.setPassword(passwordEncoder.encode("new-pass"));
+        userRepository.save(user);
+
+        // Assert
+        assert readYourWrites.isRecent(ReplicaReads.userKey("replica-writer"));
+        login("replica-writer", "new-pass", status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should list a newly created user right away")
+    void testListingAfterCreate_ReadsPrimary() throws Exception {
+        // Arrange
+        replicate();
+        createUser("replica-newcomer", "newcomer-pass");
+        String adminToken = jwtUtil.generateToken(1L, "replica-admin", List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/users").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].username", hasItem("replica-newcomer")));
+    }
+
+    @Test
+    @DisplayName("Should skip unavailable replicas and fall back to the primary when none is left")
+    void testReplicaRouter_FallsBackToPrimary() {
+        // Arrange
+        DataSource primaryDb = new DriverManagerDataSource("jdbc:h2:mem:router-primary;DB_CLOSE_DELAY=-1", "sa", "");
+        DataSource healthy = new DriverManagerDataSource("jdbc:h2:mem:router-replica;DB_CLOSE_DELAY=-1", "sa", "");
+        DataSource missing = new DriverManagerDataSource("jdbc:h2:mem:router-missing;IFEXISTS=TRUE", "sa", "");
+        ReplicaRouter router = new ReplicaRouter(primaryDb, List.of(missing, healthy), Duration.ofMinutes(1));
+        ReplicaRouter allDown = new ReplicaRouter(primaryDb, List.of(missing), Duration.ofMinutes(1));
+
+        // Act
+        String firstRead = databaseName(router, true, false);
+        String secondRead = databaseName(router, true, false);
+        String pinnedRead = databaseName(router, true, true);
+        String write = databaseName(router, false, false);
+        String fallbackRead = databaseName(allDown, true, false);
+
+        // Assert
+        assert "ROUTER-REPLICA".equalsIgnoreCase(firstRead) : "First read went to " + firstRead;
+        assert "ROUTER-REPLICA".equalsIgnoreCase(secondRead) : "Second read went to " + secondRead;
+        assert router.availableReplicas() == 1 : "The missing replica should be marked down";
+        assert "ROUTER-PRIMARY".equalsIgnoreCase(pinnedRead) : "Pinned read went to " + pinnedRead;
+        assert "ROUTER-PRIMARY".equalsIgnoreCase(write) : "Write went to " + write;
+        assert "ROUTER-PRIMARY".equalsIgnoreCase(fallbackRead) : "Fallback read went to " + fallbackRead;
+        assert allDown.primaryFallbacks() == 1;
+    }
+
+    private String databaseName(ReplicaRouter router, boolean readOnly, boolean pinned) {
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(router);
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> {
+            if (pinned) {
+                ReadYourWrites.pinToPrimary();
+            }
+            return new JdbcTemplate(dataSource).queryForObject("SELECT DATABASE()", String.class);
+        });
+    }
+
+    // Stands in for replication: copies the primary's schema and rows into the replica
+    private void replicate() {
+        List<String> script = primary.queryForList("SCRIPT NOPASSWORDS NOSETTINGS", String.class);
+        replica.execute("DROP ALL OBJECTS");
+        script.stream()
+                .filter(statement -> !statement.startsWith("--") && !statement.startsWith("CREATE USER"))
+                .forEach(replica::execute);
+    }
+
+    private void awaitWriteWindow(String username) throws InterruptedException {
+        while (readYourWrites.isRecent(ReplicaReads.userKey(username))) {
+            Thread.sleep(50);
+        }
+    }
+
+    private User createUser(String username, String password) {
+        return userRepository.save(User.builder()
+                .username(username)
+                .password(passwordEncoder.encode(password))
+                .email(username + "@example.com")
+                .roles(Set.of("ROLE_USER"))
+                .enabled(true)
+                .build());
+    }
+
+    private void login(String username, String password, ResultMatcher expectedStatus) throws Exception {
+        LoginRequest loginRequest = LoginRequest.builder()
+                .username(username)
+                .password(password)
+                .build();
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(expectedStatus);
+    }
+}
@@ -0,0 +1,205 @@
+package com.fcmb.sampleapplication.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fcmb.sampleapplication.dto.request.LoginRequest;
+import com.fcmb.sampleapplication.dto.request.RegisterRequest;
+import com.fcmb.sampleapplication.entity.User;
+import com.fcmb.sampleapplication.repository.UserRepository;
+import com.fcmb.sampleapplication.service.registration.BloomFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Set;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Registration Integration Tests")
+class RegistrationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        userRepository.save(User.builder()
+                .username("existinguser")
+                .password(passwordEncoder.encode("existingpass"))
+                .email("existing@example.com")
+                .roles(Set.of("ROLE_USER"))
+                .enabled(true)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should register a new user as ROLE_USER without querying for its identity")
+    void testRegister_NewIdentity_Returns201() throws Exception {
+        // Arrange
+        double skippedBefore = checks("username", "skipped") + checks("email", "skipped");
+
+        // Act
+        register("first-signup", "first-signup@example.com", "first-signuppass")
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.username").value("first-signup"))
+                .andExpect(jsonPath("$.email").value("first-signup@example.com"))
+                .andExpect(jsonPath("$.roles", contains("ROLE_USER")))
+                .andExpect(jsonPath("$.password").doesNotExist());
+
+        // Assert
+        assert checks("username", "skipped") + checks("email", "skipped") - skippedBefore == 2
+                : "A new identity should be ruled out by the filters alone";
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest("first-signup", "first-signuppass"))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should return the same 409 for a username or email that already exists")
+    void testRegister_ExistingIdentity_Returns409() throws Exception {
+        // Arrange
+        double takenBefore = checks("username", "taken") + checks("email", "taken");
+
+        // Act & Assert
+        register("existinguser", "other@example.com", "otherpass1")
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409))
+                .andExpect(jsonPath("$.message").value("Username or email already exists"))
+                .andExpect(jsonPath("$.path").value("/api/auth/register"));
+
+        register("otheruser", "existing@example.com", "otherpass1")
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Username or email already exists"));
+
+        assert checks("username", "taken") + checks("email", "taken") - takenBefore == 2;
+    }
+
+    @Test
+    @DisplayName("Should reject invalid requests before any uniqueness check")
+    void testRegister_InvalidRequest_Returns400() throws Exception {
+        // Arrange
+        double checksBefore = allChecks();
+
+        // Act & Assert
+        register("ab", "not-an-email", "short")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details.length()").value(3));
+
+        assert allChecks() == checksBefore;
+    }
+
+    @Test
+    @DisplayName("Should reject passwords over 72 UTF-8 bytes even when under 72 characters")
+    void testRegister_MultiBytePasswordOverBcryptLimit_Returns400() throws Exception {
+        // Arrange
+        String password = "\u00e9".repeat(40);
+        double checksBefore = allChecks();
+
+        // Act & Assert
+        register("multibyte-user", "multibyte-user@example.com", password)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details[0]").value("passwordWithinBcryptLimit: Password must be at most 72 bytes"));
+
+        register("multibyte-user", "multibyte-user@example.com", "\u00e9".repeat(36))
+                .andExpect(status().isCreated());
+
+        assert password.length() == 40 && allChecks() - checksBefore == 2;
+    }
+
+    @Test
+    @DisplayName("Should see users written outside registration and free deleted identities")
+    void testFilters_FollowEntityWrites() throws Exception {
+        // Arrange
+        User created = userRepository.save(User.builder()
+                .username("provisioned")
+                .password(passwordEncoder.encode("provisionedpass"))
+                .email("provisioned@example.com")
+                .roles(Set.of("ROLE_USER"))
+                .build());
+
+        // Act & Assert
+        register("provisioned", "fresh@example.com", "freshpass1")
+                .andExpect(status().isConflict());
+
+        double falsePositivesBefore = checks("username", "false-positive");
+        userRepository.delete(created);
+        register("provisioned", "fresh@example.com", "freshpass1")
+                .andExpect(status().isCreated());
+        assert checks("username", "false-positive") - falsePositivesBefore == 1
+                : "A deleted identity stays in the filter until the next rebuild and is confirmed by a query";
+    }
+
+    @Test
+    @DisplayName("Should have no false negatives and stay near the configured false positive rate")
+    void testBloomFilter_ErrorRates() {
+        // Arrange
+        BloomFilter filter = BloomFilter.create(100_000, 0.01);
+        for (int i = 0; i < 100_000; i++) {
+            filter.put("member-" + i);
+        }
+
+        // Act
+        int falseNegatives = 0;
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (!filter.mightContain("member-" + i)) {
+                falseNegatives++;
+            }
+            if (filter.mightContain("stranger-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        assert falseNegatives == 0;
+        assert falsePositives < 2_000 : "False positive rate was " + falsePositives / 1_000.0 + "%";
+    }
+
+    private ResultActions register(String username, String email, String password) throws Exception {
+        RegisterRequest request = RegisterRequest.builder()
+                .username(username)
+                .email(email)
+                .password(password)
+                .build();
+
+        return mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+    }
+
+    private double checks(String field, String outcome) {
+        return meterRegistry.counter("registration.identity.checks", "field", field, "outcome", outcome).count();
+    }
+
+    private double allChecks() {
+        return meterRegistry.find("registration.identity.checks").counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+}
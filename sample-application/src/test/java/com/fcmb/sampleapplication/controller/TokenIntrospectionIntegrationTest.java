@@ -0,0 +1,166 @@
+package com.fcmb.sampleapplication.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fcmb.security.dto.TokenIntrospectionRequest;
+import com.fcmb.security.jwt.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:partner-issuer.properties")
+@DisplayName("Token Introspection Integration Tests")
+class TokenIntrospectionIntegrationTest {
+
+    private static final String PATH = "/api/security/introspect";
+    private static final String PARTNER_SECRET = "PartnerServiceSigningKeyForSampleApplication2024!";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Value("${security.jwt.secret-key}")
+    private String secretKey;
+
+    @Value("${security.jwt.issuer}")
+    private String issuer;
+
+    private String adminToken;
+    private String userToken;
+
+    @BeforeEach
+    void setUp() {
+        adminToken = jwtUtil.generateToken(1L, "gateway-admin",
+                List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN")));
+        userToken = jwtUtil.generateToken(2L, "plain-user", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    @Test
+    @DisplayName("Should report status and principal for each token in order")
+    void testIntrospect_MixedBatch_ReturnsStatusPerToken() throws Exception {
+        // Arrange
+        String expired = new JwtUtil(secretKey, -60_000, issuer)
+                .generateToken(3L, "expired-user", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        String tampered = userToken.substring(0, userToken.length() - 4) + "AAAA";
+        String untrusted = Jwts.builder()
+                .issuer("unknown-service")
+                .subject("intruder")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(PARTNER_SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+        TokenIntrospectionRequest request = TokenIntrospectionRequest.builder()
+                .tokens(List.of(userToken, expired, tampered, untrusted, "not-a-token", userToken))
+                .build();
+
+        // Act & Assert
+        mockMvc.perform(post(PATH)
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(6))
+                .andExpect(jsonPath("$.unique").value(5))
+                .andExpect(jsonPath("$.results[0].status").value("ACTIVE"))
+                .andExpect(jsonPath("$.results[0].username").value("plain-user"))
+                .andExpect(jsonPath("$.results[0].userId").value(2))
+                .andExpect(jsonPath("$.results[0].issuer").value(issuer))
+                .andExpect(jsonPath("$.results[0].roles", contains("ROLE_USER")))
+                .andExpect(jsonPath("$.results[0].expiresAt").isNumber())
+                .andExpect(jsonPath("$.results[1].status").value("EXPIRED"))
+                .andExpect(jsonPath("$.results[1].username").doesNotExist())
+                .andExpect(jsonPath("$.results[2].status").value("INVALID_SIGNATURE"))
+                .andExpect(jsonPath("$.results[3].status").value("UNTRUSTED_ISSUER"))
+                .andExpect(jsonPath("$.results[4].status").value("MALFORMED"))
+                .andExpect(jsonPath("$.results[5].status").value("ACTIVE"))
+                .andExpect(jsonPath("$.results[5].username").value("plain-user"));
+    }
+
+    @Test
+    @DisplayName("Should verify large batches in parallel and dedupe repeated tokens")
+    void testIntrospect_LargeBatch_DedupesTokens() throws Exception {
+        // Arrange
+        List<String> distinct = new ArrayList<>();
+        for (long i = 0; i < 40; i++) {
+            distinct.add(jwtUtil.generateToken(100 + i, "batch-user-" + i,
+                    List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+        }
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            tokens.add(distinct.get(i % distinct.size()));
+        }
+
+        // Act & Assert
+        mockMvc.perform(post(PATH)
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TokenIntrospectionRequest(tokens))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(200))
+                .andExpect(jsonPath("$.unique").value(40))
+                .andExpect(jsonPath("$.results", hasSize(200)))
+                .andExpect(jsonPath("$.results[*].status", everyItem(is("ACTIVE"))))
+                .andExpect(jsonPath("$.results[41].username").value("batch-user-1"))
+                .andExpect(jsonPath("$.results[199].username").value("batch-user-39"));
+    }
+
+    @Test
+    @DisplayName("Should return 403 when caller lacks the introspection authority")
+    void testIntrospect_AsRegularUser_Returns403() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post(PATH)
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TokenIntrospectionRequest(List.of(adminToken)))))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Should return 401 without a caller token")
+    void testIntrospect_WithoutToken_Returns401() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post(PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TokenIntrospectionRequest(List.of(adminToken)))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an empty batch")
+    void testIntrospect_EmptyBatch_Returns400() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post(PATH)
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tokens\":[]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("At least one token is required"));
+    }
+}
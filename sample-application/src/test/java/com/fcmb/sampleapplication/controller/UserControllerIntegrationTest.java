@@ -0,0 +1,95 @@
+package com.fcmb.sampleapplication.controller;
+
+import com.fcmb.sampleapplication.entity.User;
+import com.fcmb.sampleapplication.repository.UserRepository;
+import com.fcmb.security.jwt.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("User Controller Integration Tests")
+class UserControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private User testUser;
+    private String userToken;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+
+        testUser = userRepository.save(User.builder()
+                .username("meuser")
+                .password(passwordEncoder.encode("mepass"))
+                .email("me@example.com")
+                .roles(Set.of("ROLE_USER"))
+                .enabled(true)
+                .build());
+
+        userToken = jwtUtil.generateToken(testUser.getId(), testUser.getUsername(),
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    @Test
+    @DisplayName("Should return the current user from token claims")
+    void testMe_WithValidToken_ReturnsClaims() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/users/me")
+                        .header("Authorization", "Bearer " + userToken))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(testUser.getId()))
+                .andExpect(jsonPath("$.username").value("meuser"))
+                .andExpect(jsonPath("$.roles", contains("ROLE_USER")))
+                .andExpect(jsonPath("$.issuer").value("sample-application"))
+                .andExpect(jsonPath("$.tokenExpiresAt").exists());
+    }
+
+    @Test
+    @DisplayName("Should not touch the database to resolve the current user")
+    void testMe_WhenUserRowIsGone_StillServedFromToken() throws Exception {
+        // Arrange - the endpoint must not depend on the users table
+        userRepository.deleteAll();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/me")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("meuser"));
+    }
+
+    @Test
+    @DisplayName("Should return 401 without a token")
+    void testMe_WithoutToken_Returns401() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/users/me"))
+                .andExpect(status().isUnauthorized());
+    }
+}
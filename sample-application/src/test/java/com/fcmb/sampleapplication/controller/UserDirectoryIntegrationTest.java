@@ -0,0 +1,195 @@
+package com.fcmb.sampleapplication.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fcmb.sampleapplication.dto.request.LoginRequest;
+import com.fcmb.sampleapplication.entity.User;
+import com.fcmb.sampleapplication.repository.UserRepository;
+import com.fcmb.security.directory.DirectoryEntry;
+import com.fcmb.security.directory.MappedUserDirectory;
+import com.fcmb.security.directory.UserDirectoryRefresher;
+import com.fcmb.security.directory.UserDirectorySnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "security.jwt.user-directory.enabled=true",
+        "security.jwt.user-directory.path=${java.io.tmpdir}/sample-application-test/${random.uuid}.snapshot"
+})
+@DisplayName("User Directory Integration Tests")
+class UserDirectoryIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MappedUserDirectory directory;
+
+    @Autowired
+    private UserDirectoryRefresher refresher;
+
+    @TempDir
+    private Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        userRepository.save(User.builder()
+                .username("diruser")
+                .password(passwordEncoder.encode("dirpass"))
+                .email("dir@example.com")
+                .roles(Set.of("ROLE_USER", "ROLE_ADMIN"))
+                .enabled(true)
+                .build());
+        refresher.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should log in from the snapshot without reading the users table")
+    void testLogin_IsServedFromSnapshot() throws Exception {
+        // Arrange: a write that bypasses the entity lifecycle is invisible until the next rebuild
+        jdbcTemplate.update("UPDATE users SET password = ? WHERE username = ?",
+                passwordEncoder.encode("changed-in-sql"), "diruser");
+
+        // Act & Assert
+        assert directory.pendingChanges() == 0 : "A rebuild should absorb the changes it contains";
+        login("dirpass", status().isOk())
+                .andExpect(jsonPath("$.roles.length()").value(2));
+
+        refresher.rebuild();
+        login("dirpass", status().isUnauthorized());
+        login("changed-in-sql", status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should apply committed entity changes before the next rebuild")
+    void testEntityChanges_AreVisibleImmediately() throws Exception {
+        // Arrange
+        User user = userRepository.findByUsername("diruser").orElseThrow();
+        user.setPassword(passwordEncoder.encode("rotated"));
+        userRepository.save(user);
+
+        // Act & Assert
+        login("dirpass", status().isUnauthorized());
+        login("rotated", status().isOk());
+
+        User reloaded = userRepository.findByUsername("diruser").orElseThrow();
+        reloaded.setEnabled(false);
+        User disabled = userRepository.save(reloaded);
+        login("rotated", status().isUnauthorized());
+
+        userRepository.delete(disabled);
+        assert directory.find("diruser").isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reopen a snapshot file with the same entries and index")
+    void testSnapshot_RoundTripsThroughFile() throws Exception {
+        // Arrange
+        Path path = tempDir.resolve("users.snapshot");
+        Instant lockedUntil = Instant.ofEpochMilli(1_700_000_000_000L);
+
+        // Act
+        UserDirectorySnapshot.build(path, sink -> IntStream.range(0, 5000).forEach(i -> sink.accept(
+                entry(i, "user-" + i, i % 2 == 0 ? List.of("ROLE_USER") : List.of("ROLE_USER", "ROLE_ADMIN"))
+                        .toBuilder().lockedUntil(i == 42 ? lockedUntil : null).build())));
+        UserDirectorySnapshot reopened = UserDirectorySnapshot.open(path);
+
+        // Assert
+        assert reopened.size() == 5000;
+        DirectoryEntry found = reopened.find("user-42");
+        assert found != null && found.getUserId() == 42 && "hash-42".equals(found.getPassword());
+        assert lockedUntil.equals(found.getLockedUntil());
+        assert reopened.find("user-43").getRoles().equals(List.of("ROLE_USER", "ROLE_ADMIN"));
+        assert reopened.find("user-5000") == null;
+        try {
+            UserDirectorySnapshot.build(tempDir.resolve("duplicates.snapshot"), sink -> {
+                sink.accept(entry(1, "same", List.of()));
+                sink.accept(entry(2, "same", List.of()));
+            });
+            assert false : "Duplicate usernames should be rejected";
+        } catch (IllegalArgumentException expected) {
+            // The previous snapshot file, if any, is left in place
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep changes recorded while a rebuild is running")
+    void testRebuild_KeepsNewerChanges() throws Exception {
+        // Arrange
+        MappedUserDirectory local = MappedUserDirectory.open(tempDir.resolve("directory.snapshot"));
+        local.put(entry(1, "alice", List.of("ROLE_USER")));
+
+        // Act
+        local.rebuild(sink -> {
+            sink.accept(entry(1, "alice", List.of("ROLE_USER")));
+            sink.accept(entry(2, "bob", List.of("ROLE_USER")));
+            // Committed after the rebuild started reading
+            local.put(entry(2, "bob", List.of("ROLE_USER", "ROLE_ADMIN")));
+        });
+
+        // Assert
+        assert local.pendingChanges() == 1;
+        assert local.find("alice").isPresent();
+        assert local.find("bob").orElseThrow().getRoles().contains("ROLE_ADMIN");
+    }
+
+    private static DirectoryEntry entry(long id, String username, List<String> roles) {
+        return DirectoryEntry.builder()
+                .userId(id)
+                .version(1)
+                .username(username)
+                .password("hash-" + id)
+                .enabled(true)
+                .roles(roles)
+                .build();
+    }
+
+    private ResultActions login(String password, ResultMatcher expectedStatus)
+            throws Exception {
+        LoginRequest loginRequest = LoginRequest.builder()
+                .username("diruser")
+                .password(password)
+                .build();
+
+        return mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(expectedStatus);
+    }
+}
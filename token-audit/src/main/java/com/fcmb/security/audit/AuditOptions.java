@@ -0,0 +1,70 @@
+package com.fcmb.security.audit;
+
+import lombok.Data;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class AuditOptions {
+
+    // application.properties (or any file) holding the service's security.jwt.* keys
+    private Path config;
+    private Path output = Path.of("token-audit.col");
+    // Prints an existing report as CSV instead of scanning
+    private Path read;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private long chunkBytes = 64L << 20;
+    private int cacheSize = 65536;
+    private List<Path> logs = new ArrayList<>();
+
+    public static AuditOptions parse(String[] args) {
+        AuditOptions options = new AuditOptions();
+
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            if (!arg.startsWith("--")) {
+                options.logs.add(Path.of(arg));
+                continue;
+            }
+            if (!arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+            }
+
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+
+            switch (key) {
+                case "config" -> options.config = Path.of(value);
+                case "output" -> options.output = Path.of(value);
+                case "read" -> options.read = Path.of(value);
+                case "threads" -> options.threads = Integer.parseInt(value);
+                case "chunk-size" -> options.chunkBytes = parseSize(value);
+                case "cache-size" -> options.cacheSize = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Unknown option: --" + key);
+            }
+        }
+
+        if (options.read == null && (options.config == null || options.logs.isEmpty())) {
+            throw new IllegalArgumentException("Usage: --config=application.properties [--output=report.col] log-file...");
+        }
+        if (options.threads < 1 || options.cacheSize < 0) {
+            throw new IllegalArgumentException("threads must be positive and cache-size must not be negative");
+        }
+        return options;
+    }
+
+    static long parseSize(String value) {
+        String text = value.trim().toLowerCase();
+        long unit = switch (text.charAt(text.length() - 1)) {
+            case 'k' -> 1L << 10;
+            case 'm' -> 1L << 20;
+            case 'g' -> 1L << 30;
+            default -> 1;
+        };
+        return Long.parseLong(unit == 1 ? text : text.substring(0, text.length() - 1)) * unit;
+    }
+}
@@ -0,0 +1,94 @@
+package com.fcmb.security.audit;
+
+import com.fcmb.security.jwt.core.JwtClaims;
+import com.fcmb.security.jwt.core.TokenStatus;
+import com.fcmb.security.jwt.core.TokenVerification;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Occurrence counts per (status, issuer, user). Each worker fills its own tally and they are merged
+// once at the end, so counting needs no synchronization.
+public final class AuditTally {
+
+    private static final Comparator<Row> ROW_ORDER = Comparator
+            .comparing(Row::status)
+            .thenComparing(Row::issuer, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Row::username, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Row::userId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    // Issuer and user are only known for tokens whose signature verified: active and expired ones
+    public record Row(TokenStatus status, String issuer, Long userId, String username) {
+
+        public static Row of(TokenVerification verification) {
+            JwtClaims claims = verification.getClaims();
+            if (claims == null) {
+                return new Row(verification.getStatus(), null, null, null);
+            }
+            return new Row(verification.getStatus(), claims.getIssuer(), claims.getUserId(), claims.getUsername());
+        }
+    }
+
+    public record Entry(Row row, long occurrences) {
+    }
+
+    private final Map<Row, long[]> counts = new HashMap<>();
+    private long bytesScanned;
+    private long tokens;
+    private long verifications;
+
+    // The cell a row's occurrences are counted in; callers may keep it to count repeats cheaply
+    long[] counter(Row row) {
+        return counts.computeIfAbsent(row, key -> new long[1]);
+    }
+
+    void count(long[] counter) {
+        counter[0]++;
+        tokens++;
+    }
+
+    void verified() {
+        verifications++;
+    }
+
+    void scanned(long bytes) {
+        bytesScanned += bytes;
+    }
+
+    void merge(AuditTally other) {
+        other.counts.forEach((row, count) -> counts.computeIfAbsent(row, key -> new long[1])[0] += count[0]);
+        bytesScanned += other.bytesScanned;
+        tokens += other.tokens;
+        verifications += other.verifications;
+    }
+
+    public long bytesScanned() {
+        return bytesScanned;
+    }
+
+    public long tokens() {
+        return tokens;
+    }
+
+    // Signature checks actually run; repeats of a recently seen token reuse its result
+    public long verifications() {
+        return verifications;
+    }
+
+    public Map<TokenStatus, Long> byStatus() {
+        Map<TokenStatus, Long> totals = new EnumMap<>(TokenStatus.class);
+        counts.forEach((row, count) -> totals.merge(row.status(), count[0], Long::sum));
+        return totals;
+    }
+
+    public List<Entry> entries() {
+        List<Entry> entries = new ArrayList<>(counts.size());
+        counts.forEach((row, count) -> entries.add(new Entry(row, count[0])));
+        entries.sort(Comparator.comparing(Entry::row, ROW_ORDER));
+        return entries;
+    }
+}
@@ -0,0 +1,156 @@
+package com.fcmb.security.audit;
+
+import com.fcmb.security.jwt.core.TokenStatus;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Stores the tally column by column: status, issuer and username as dictionary indexes, user id and
+// occurrences as varints. Rows are sorted, so each column is runs of small repeated values and a report
+// of millions of tokens stays in the kilobytes to low megabytes.
+//
+// Layout: magic, version, row count, then per column its name and values. A string column is its
+// dictionary (count, then UTF entries) followed by one varint index per row, 0 meaning null. The user id
+// column is one varint per row, 0 for null and zigzag(id) + 1 otherwise.
+public final class ColumnarReport {
+
+    private static final int MAGIC = 0x544B4155; // "TKAU"
+    private static final int VERSION = 1;
+
+    private ColumnarReport() {
+    }
+
+    public static void write(Path file, List<AuditTally.Entry> entries) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            writeVarLong(out, entries.size());
+
+            List<String> statuses = new ArrayList<>(entries.size());
+            List<String> issuers = new ArrayList<>(entries.size());
+            List<String> usernames = new ArrayList<>(entries.size());
+            for (AuditTally.Entry entry : entries) {
+                statuses.add(entry.row().status().name());
+                issuers.add(entry.row().issuer());
+                usernames.add(entry.row().username());
+            }
+            writeStrings(out, "status", statuses);
+            writeStrings(out, "issuer", issuers);
+            writeStrings(out, "username", usernames);
+
+            out.writeUTF("user_id");
+            for (AuditTally.Entry entry : entries) {
+                Long userId = entry.row().userId();
+                writeVarLong(out, userId == null ? 0 : zigzag(userId) + 1);
+            }
+
+            out.writeUTF("occurrences");
+            for (AuditTally.Entry entry : entries) {
+                writeVarLong(out, entry.occurrences());
+            }
+        }
+    }
+
+    public static List<AuditTally.Entry> read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                throw new IOException(file + " is not a token audit report");
+            }
+            int rows = Math.toIntExact(readVarLong(in));
+
+            String[] statuses = readStrings(in, "status", rows);
+            String[] issuers = readStrings(in, "issuer", rows);
+            String[] usernames = readStrings(in, "username", rows);
+
+            expectColumn(in, "user_id");
+            Long[] userIds = new Long[rows];
+            for (int i = 0; i < rows; i++) {
+                long value = readVarLong(in);
+                userIds[i] = value == 0 ? null : unzigzag(value - 1);
+            }
+
+            expectColumn(in, "occurrences");
+            List<AuditTally.Entry> entries = new ArrayList<>(rows);
+            for (int i = 0; i < rows; i++) {
+                AuditTally.Row row = new AuditTally.Row(TokenStatus.valueOf(statuses[i]), issuers[i], userIds[i], usernames[i]);
+                entries.add(new AuditTally.Entry(row, readVarLong(in)));
+            }
+            return entries;
+        }
+    }
+
+    private static void writeStrings(DataOutputStream out, String column, List<String> values) throws IOException {
+        out.writeUTF(column);
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> ordered = new ArrayList<>();
+        for (String value : values) {
+            if (value != null && dictionary.putIfAbsent(value, ordered.size() + 1) == null) {
+                ordered.add(value);
+            }
+        }
+        writeVarLong(out, ordered.size());
+        for (String value : ordered) {
+            out.writeUTF(value);
+        }
+        for (String value : values) {
+            writeVarLong(out, value == null ? 0 : dictionary.get(value));
+        }
+    }
+
+    private static String[] readStrings(DataInputStream in, String column, int rows) throws IOException {
+        expectColumn(in, column);
+        String[] dictionary = new String[Math.toIntExact(readVarLong(in)) + 1];
+        for (int i = 1; i < dictionary.length; i++) {
+            dictionary[i] = in.readUTF();
+        }
+        String[] values = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            values[i] = dictionary[Math.toIntExact(readVarLong(in))];
+        }
+        return values;
+    }
+
+    private static void expectColumn(DataInputStream in, String column) throws IOException {
+        String name = in.readUTF();
+        if (!column.equals(name)) {
+            throw new IOException("Expected column " + column + " but found " + name);
+        }
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
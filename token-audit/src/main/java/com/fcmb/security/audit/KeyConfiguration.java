@@ -0,0 +1,81 @@
+package com.fcmb.security.audit;
+
+import com.fcmb.security.jwt.core.JwtCodec;
+import com.fcmb.security.jwt.core.JwtIssuerDefinition;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+// Reads the security.jwt.* keys of an application.properties file and builds the same issuers the
+// starter's JwtUtil is configured with, so the audit accepts exactly the tokens the service would
+public final class KeyConfiguration {
+
+    private static final String PREFIX = "security.jwt.";
+
+    private KeyConfiguration() {
+    }
+
+    public static JwtCodec load(Path propertiesFile) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(propertiesFile, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return codec(properties);
+    }
+
+    static JwtCodec codec(Properties properties) {
+        JwtIssuerDefinition primary = JwtIssuerDefinition.builder()
+                .issuer(value(properties, "issuer"))
+                .secretKey(required(properties, "secret-key"))
+                .build();
+
+        List<JwtIssuerDefinition> trustedIssuers = new ArrayList<>();
+        for (int i = 0; properties.containsKey(PREFIX + "issuers[" + i + "].secret-key"); i++) {
+            String prefix = "issuers[" + i + "].";
+            JwtIssuerDefinition.JwtIssuerDefinitionBuilder issuer = JwtIssuerDefinition.builder()
+                    .issuer(value(properties, prefix + "issuer"))
+                    .secretKey(value(properties, prefix + "secret-key"))
+                    .clockSkewSeconds(number(properties, prefix + "clock-skew-seconds"))
+                    .maxTokenAgeMs(number(properties, prefix + "max-token-age-ms"));
+            // Unset claim names keep the builder's defaults, as they do in SecurityProperties
+            String userIdClaim = value(properties, prefix + "user-id-claim");
+            if (userIdClaim != null) {
+                issuer.userIdClaim(userIdClaim);
+            }
+            String usernameClaim = value(properties, prefix + "username-claim");
+            if (usernameClaim != null) {
+                issuer.usernameClaim(usernameClaim);
+            }
+            String rolesClaim = value(properties, prefix + "roles-claim");
+            if (rolesClaim != null) {
+                issuer.rolesClaim(rolesClaim);
+            }
+            trustedIssuers.add(issuer.build());
+        }
+        return new JwtCodec(primary, trustedIssuers);
+    }
+
+    private static String required(Properties properties, String key) {
+        String value = value(properties, key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing " + PREFIX + key + " in the key configuration");
+        }
+        return value;
+    }
+
+    private static long number(Properties properties, String key) {
+        String value = value(properties, key);
+        return value == null ? 0 : Long.parseLong(value.trim());
+    }
+
+    private static String value(Properties properties, String key) {
+        String value = properties.getProperty(PREFIX + key);
+        return value == null || value.isBlank() ? null : value;
+    }
+}
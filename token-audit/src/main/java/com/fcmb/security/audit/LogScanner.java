@@ -0,0 +1,123 @@
+package com.fcmb.security.audit;
+
+import com.fcmb.security.jwt.core.JwtCodec;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Splits the log files into fixed-size chunks and lets one worker per thread map, scan and verify them.
+// Each chunk is mapped with one byte in front, to see what precedes a token at the chunk start, and
+// with the longest token size behind, so a token crossing into the next chunk is still read whole.
+final class LogScanner {
+
+    private final JwtCodec codec;
+    private final int threads;
+    private final long chunkBytes;
+    private final int cacheSize;
+
+    LogScanner(JwtCodec codec, int threads, long chunkBytes, int cacheSize) {
+        if (chunkBytes < 1 || chunkBytes > Integer.MAX_VALUE - TokenScanner.MAX_TOKEN_BYTES - 2) {
+            throw new IllegalArgumentException("Chunk size must be between 1 byte and 2 GB");
+        }
+        this.codec = codec;
+        this.threads = threads;
+        this.chunkBytes = chunkBytes;
+        this.cacheSize = cacheSize;
+    }
+
+    AuditTally scan(List<Path> files) throws IOException, InterruptedException {
+        List<Chunk> chunks = new ArrayList<>();
+        for (Path file : files) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long size = channel.size();
+                for (long start = 0; start < size; start += chunkBytes) {
+                    chunks.add(new Chunk(file, size, start, Math.min(size, start + chunkBytes)));
+                }
+            }
+        }
+
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<AuditTally>> workers = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> new Worker().run(chunks, next)));
+            }
+
+            AuditTally total = new AuditTally();
+            for (Future<AuditTally> worker : workers) {
+                total.merge(worker.get());
+            }
+            return total;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw new IllegalStateException("Token audit worker failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private record Chunk(Path file, long fileSize, long start, long end) {
+    }
+
+    private final class Worker {
+
+        private final AuditTally tally = new AuditTally();
+        private final byte[] tokenBytes = new byte[TokenScanner.MAX_TOKEN_BYTES];
+
+        private final TokenCache recent = cacheSize > 0 ? new TokenCache(cacheSize) : null;
+
+        AuditTally run(List<Chunk> chunks, AtomicInteger next) {
+            for (int index = next.getAndIncrement(); index < chunks.size(); index = next.getAndIncrement()) {
+                try {
+                    scan(chunks.get(index));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return tally;
+        }
+
+        private void scan(Chunk chunk) throws IOException {
+            long mapStart = Math.max(0, chunk.start() - 1);
+            long mapEnd = Math.min(chunk.fileSize(), chunk.end() + TokenScanner.MAX_TOKEN_BYTES + 1);
+            MappedByteBuffer region;
+            try (FileChannel channel = FileChannel.open(chunk.file(), StandardOpenOption.READ)) {
+                region = channel.map(FileChannel.MapMode.READ_ONLY, mapStart, mapEnd - mapStart);
+            }
+            TokenScanner.scan(region, (int) (chunk.start() - mapStart), (int) (chunk.end() - mapStart),
+                    mapEnd == chunk.fileSize(), this::token);
+            tally.scanned(chunk.end() - chunk.start());
+        }
+
+        private void token(ByteBuffer region, int offset, int length) {
+            region.get(offset, tokenBytes, 0, length);
+            long[] counter = recent != null ? recent.get(tokenBytes, length) : null;
+            if (counter == null) {
+                // Tokens are base64url and dots, so Latin-1 is a straight copy into the string
+                String token = new String(tokenBytes, 0, length, StandardCharsets.ISO_8859_1);
+                counter = tally.counter(AuditTally.Row.of(codec.audit(token)));
+                tally.verified();
+                if (recent != null) {
+                    recent.put(tokenBytes, length, counter);
+                }
+            }
+            tally.count(counter);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.fcmb.security.audit;
+
+import com.fcmb.security.jwt.core.JwtCodec;
+import com.fcmb.security.jwt.core.TokenStatus;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+// Scans access logs for bearer tokens, verifies each against the service's keys and writes how often
+// every (status, issuer, user) combination was seen. Statuses are as of the audit run, not of the log line.
+public final class TokenAudit {
+
+    private TokenAudit() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        AuditOptions options = AuditOptions.parse(args);
+        if (options.getRead() != null) {
+            printCsv(ColumnarReport.read(options.getRead()), System.out);
+            return;
+        }
+
+        AuditTally tally = run(options);
+        ColumnarReport.write(options.getOutput(), tally.entries());
+        System.out.printf("Report written to %s%n", options.getOutput());
+    }
+
+    public static AuditTally run(AuditOptions options) throws IOException, InterruptedException {
+        JwtCodec codec = KeyConfiguration.load(options.getConfig());
+        LogScanner scanner = new LogScanner(codec, options.getThreads(), options.getChunkBytes(), options.getCacheSize());
+
+        System.out.printf("Scanning %d file(s) with %d thread(s)...%n", options.getLogs().size(), options.getThreads());
+        long start = System.nanoTime();
+        AuditTally tally = scanner.scan(options.getLogs());
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Scanned %.1f MB in %.2fs (%.0f MB/s)%n",
+                tally.bytesScanned() / 1e6, seconds, tally.bytesScanned() / 1e6 / seconds);
+        System.out.printf("Tokens found: %d, signature checks: %d%n", tally.tokens(), tally.verifications());
+        for (Map.Entry<TokenStatus, Long> status : tally.byStatus().entrySet()) {
+            System.out.printf("  %-18s %d%n", status.getKey(), status.getValue());
+        }
+        return tally;
+    }
+
+    static void printCsv(List<AuditTally.Entry> entries, PrintStream out) {
+        out.println("status,issuer,user_id,username,occurrences");
+        for (AuditTally.Entry entry : entries) {
+            AuditTally.Row row = entry.row();
+            out.printf("%s,%s,%s,%s,%d%n", row.status(), csv(row.issuer()),
+                    row.userId() == null ? "" : row.userId(), csv(row.username()), entry.occurrences());
+        }
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
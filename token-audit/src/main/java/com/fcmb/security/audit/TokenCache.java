@@ -0,0 +1,71 @@
+package com.fcmb.security.audit;
+
+import java.util.Arrays;
+
+// Tally counters of recently verified tokens, so a token repeated on every request of a session is
+// verified once and then counted without hashing its claims. Eight-way set associative over the token
+// bytes: a lookup hashes the tail of the signature, compares stored hashes before any bytes and
+// allocates nothing. A miss replaces the least recently used entry of its set.
+final class TokenCache {
+
+    private static final int WAYS = 8;
+    private static final int HASHED_BYTES = 16;
+
+    private final byte[][] tokens;
+    private final long[][] counters;
+    private final int[] hashes;
+    private final long[] lastUse;
+    private final int setShift;
+    private long clock;
+
+    TokenCache(int capacity) {
+        int sets = Integer.highestOneBit(Math.max(2, (capacity + WAYS - 1) / WAYS - 1)) << 1;
+        this.tokens = new byte[sets * WAYS][];
+        this.counters = new long[sets * WAYS][];
+        this.hashes = new int[sets * WAYS];
+        this.lastUse = new long[sets * WAYS];
+        this.setShift = Integer.numberOfLeadingZeros(sets) + 1;
+    }
+
+    long[] get(byte[] token, int length) {
+        int hash = hash(token, length);
+        int first = firstSlot(hash);
+        for (int slot = first; slot < first + WAYS; slot++) {
+            byte[] cached = tokens[slot];
+            if (cached != null && hashes[slot] == hash && Arrays.equals(cached, 0, cached.length, token, 0, length)) {
+                lastUse[slot] = ++clock;
+                return counters[slot];
+            }
+        }
+        return null;
+    }
+
+    void put(byte[] token, int length, long[] counter) {
+        int hash = hash(token, length);
+        int first = firstSlot(hash);
+        int victim = first;
+        for (int slot = first; slot < first + WAYS; slot++) {
+            if (lastUse[slot] < lastUse[victim]) {
+                victim = slot;
+            }
+        }
+        tokens[victim] = Arrays.copyOf(token, length);
+        counters[victim] = counter;
+        hashes[victim] = hash;
+        lastUse[victim] = ++clock;
+    }
+
+    // Fibonacci hashing: the top bits of the product pick the set
+    private int firstSlot(int hash) {
+        return ((hash * 0x9E3779B9) >>> setShift) * WAYS;
+    }
+
+    // The signature ends the token and is HMAC output, so its last bytes are already well spread
+    private static int hash(byte[] token, int length) {
+        int hash = 0;
+        for (int i = Math.max(0, length - HASHED_BYTES); i < length; i++) {
+            hash = 31 * hash + token[i];
+        }
+        return hash;
+    }
+}
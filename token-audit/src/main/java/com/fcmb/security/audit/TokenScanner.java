@@ -0,0 +1,110 @@
+package com.fcmb.security.audit;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+// Finds compact JWS tokens (three non-empty base64url segments, the first starting with "eyJ", i.e.
+// '{"') directly in a mapped region, without decoding it into characters or splitting it into lines.
+// The region is scanned eight bytes at a time for 'J', which is rare in log text; only the bytes of
+// an actual candidate are looked at individually.
+final class TokenScanner {
+
+    // Longest token reported; longer runs are skipped rather than cut off
+    static final int MAX_TOKEN_BYTES = 8192;
+
+    private static final long J_BYTES = 0x4A4A4A4A4A4A4A4AL;
+    private static final long LOW_BITS = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final boolean[] TOKEN_CHAR = new boolean[256];
+
+    static {
+        for (int c = 'A'; c <= 'Z'; c++) {
+            TOKEN_CHAR[c] = true;
+        }
+        for (int c = 'a'; c <= 'z'; c++) {
+            TOKEN_CHAR[c] = true;
+        }
+        for (int c = '0'; c <= '9'; c++) {
+            TOKEN_CHAR[c] = true;
+        }
+        TOKEN_CHAR['-'] = true;
+        TOKEN_CHAR['_'] = true;
+    }
+
+    interface TokenSink {
+        void token(ByteBuffer region, int offset, int length);
+    }
+
+    private TokenScanner() {
+    }
+
+    // Reports every token that starts in [from, to). Tokens may run on past 'to' up to the region's
+    // limit; a token touching the limit only counts when the limit is the end of the input.
+    static void scan(ByteBuffer region, int from, int to, boolean endOfInput, TokenSink sink) {
+        region.order(ByteOrder.LITTLE_ENDIAN);
+        int limit = region.limit();
+        // i walks over candidate positions of the 'J' in "eyJ"
+        int i = from + 2;
+        int last = Math.min(to + 2, limit);
+        while (i < last) {
+            if (i + Long.BYTES <= limit) {
+                long word = region.getLong(i) ^ J_BYTES;
+                long zeroBytes = (word - LOW_BITS) & ~word & HIGH_BITS;
+                if (zeroBytes == 0) {
+                    i += Long.BYTES;
+                    continue;
+                }
+                // The lowest flagged byte is always a real match
+                i += Long.numberOfTrailingZeros(zeroBytes) >>> 3;
+                if (i >= last) {
+                    break;
+                }
+            } else if (region.get(i) != 'J') {
+                i++;
+                continue;
+            }
+
+            int start = i - 2;
+            if (region.get(start) == 'e' && region.get(start + 1) == 'y'
+                    && (start == 0 || !isTokenChar(region.get(start - 1)))) {
+                // Bounded the same way whatever the region, so chunking never changes what is found
+                int tokenLimit = Math.min(limit, start + MAX_TOKEN_BYTES + 1);
+                int end = tokenEnd(region, start + 3, tokenLimit, endOfInput && tokenLimit == limit);
+                if (end > 0 && end - start <= MAX_TOKEN_BYTES) {
+                    sink.token(region, start, end - start);
+                    i = end + 2;
+                    continue;
+                }
+            }
+            i++;
+        }
+    }
+
+    // Index just past the third segment, or -1 when the bytes after "eyJ" are not a compact JWS
+    private static int tokenEnd(ByteBuffer region, int index, int limit, boolean endOfInput) {
+        for (int segment = 0; segment < 3; segment++) {
+            int segmentStart = index;
+            while (index < limit && isTokenChar(region.get(index))) {
+                index++;
+            }
+            if (index == segmentStart && segment > 0) {
+                return -1;
+            }
+            if (index == limit) {
+                return segment == 2 && endOfInput ? index : -1;
+            }
+            if (segment < 2) {
+                if (region.get(index) != '.') {
+                    return -1;
+                }
+                index++;
+            }
+        }
+        // A fourth segment would make it an encrypted token or something else entirely
+        return region.get(index) == '.' ? -1 : index;
+    }
+
+    private static boolean isTokenChar(byte b) {
+        return TOKEN_CHAR[b & 0xFF];
+    }
+}